@@ -0,0 +1,72 @@
+"""
+将 training_model/ 下的 PyTorch 模型导出为 ONNX，供后端进程内推理（app.inference.backend=onnx）使用
+导出文件与原模型同目录同名，例如 training_model/CNN_LSTM/model_127.model -> model_127.onnx
+
+用法:
+    python export_onnx.py                      # 导出全部模型
+    python export_onnx.py CNN_LSTM/model_127.model
+"""
+import os
+import sys
+
+import torch
+import model_list
+
+MODEL_DIR = os.path.join(os.path.dirname(os.path.abspath(__file__)), 'training_model')
+SEQUENCE_LENGTH = 30
+FEATURE_COUNT = 31
+
+
+def export(model_type, model_path):
+    # 导出在CPU上进行，位置编码中的张量也需要在CPU上
+    model_list.config.device = torch.device('cpu')
+    model = model_list.CNN_LSTM() if model_type == "CNN_LSTM" else model_list.CNN_Transformer()
+    model.load_state_dict(torch.load(model_path, map_location='cpu'))
+    model.eval()
+
+    onnx_path = os.path.splitext(model_path)[0] + '.onnx'
+    dummy = torch.randn(1, SEQUENCE_LENGTH, FEATURE_COUNT)
+    torch.onnx.export(
+        model,
+        dummy,
+        onnx_path,
+        input_names=['window'],
+        output_names=['feature', 'rul'],
+        dynamic_axes={'window': {0: 'batch'}, 'feature': {0: 'batch'}, 'rul': {0: 'batch'}},
+        opset_version=17,
+    )
+
+    # 校验导出结果与 PyTorch 输出一致
+    try:
+        import onnxruntime
+        session = onnxruntime.InferenceSession(onnx_path, providers=['CPUExecutionProvider'])
+        with torch.no_grad():
+            _, expected = model(dummy)
+        actual = session.run(['rul'], {'window': dummy.numpy()})[0]
+        diff = abs(float(expected.numpy().flatten()[0]) - float(actual.flatten()[0]))
+        print(f"{onnx_path}: 导出完成，与PyTorch输出差异 {diff:.6f}")
+    except ImportError:
+        print(f"{onnx_path}: 导出完成（未安装onnxruntime，跳过校验）")
+
+
+def main():
+    if len(sys.argv) > 1:
+        targets = [os.path.join(MODEL_DIR, arg) for arg in sys.argv[1:]]
+    else:
+        targets = []
+        for model_type in ["CNN_LSTM", "CNN_Transformer"]:
+            type_dir = os.path.join(MODEL_DIR, model_type)
+            if os.path.isdir(type_dir):
+                targets += [os.path.join(type_dir, name) for name in sorted(os.listdir(type_dir))
+                            if name.endswith('.model')]
+
+    for model_path in targets:
+        model_type = os.path.basename(os.path.dirname(model_path))
+        if model_type not in ["CNN_LSTM", "CNN_Transformer"]:
+            print(f"跳过 {model_path}: 无法从目录判断模型类型")
+            continue
+        export(model_type, model_path)
+
+
+if __name__ == '__main__':
+    main()
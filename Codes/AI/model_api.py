@@ -10,6 +10,7 @@ import tempfile
 import h5py
 import warnings
 import random
+from functools import lru_cache
 
 
 app = Flask(__name__)
@@ -376,12 +377,81 @@ def predict_rul():
         return jsonify({"status": "error", "message": str(e)}), 500
 
 
+MODEL_DIR = os.path.join(os.path.dirname(os.path.abspath(__file__)), 'training_model')
+FEATURE_COLUMNS = list(FEATURE_MEANS.keys())
+
+
+@lru_cache(maxsize=4)
+def load_model(model_type, model_path, mtime):
+    """加载模型并缓存，模型文件修改时间作为缓存键的一部分，文件替换后重新加载"""
+    model = model_list.CNN_LSTM() if model_type == "CNN_LSTM" else model_list.CNN_Transformer()
+    model.load_state_dict(torch.load(model_path, map_location=device))
+    model.to(device)
+    model.eval()
+    return model
+
+
+@app.route('/predict_window', methods=['POST'])
+def predict_window():
+    """
+    使用后端已解析的输入窗口预测剩余寿命，不需要与后端共享数据文件
+    请求体: sequence_length * 31 个小端 float32 原始特征值，按 [行][特征] 排列，特征顺序同 FEATURE_MEANS
+    查询参数: model_type, model_file（training_model/<model_type>/ 下的模型文件名）, sequence_length
+    """
+    try:
+        model_type = request.args.get('model_type', 'CNN_LSTM')
+        model_file = secure_filename(request.args.get('model_file', ''))
+        sequence_length = int(request.args.get('sequence_length', 30))
+
+        if model_type not in ["CNN_LSTM", "CNN_Transformer"]:
+            return jsonify({"status": "error", "message": "不支持的模型类型"}), 400
+        model_path = os.path.join(MODEL_DIR, model_type, model_file)
+        if not model_file or not os.path.exists(model_path):
+            return jsonify({"status": "error", "message": f"模型文件不存在: {model_type}/{model_file}"}), 400
+
+        values = np.frombuffer(request.get_data(), dtype='<f4')
+        if sequence_length <= 0 or values.size != sequence_length * len(FEATURE_COLUMNS):
+            return jsonify({"status": "error",
+                            "message": f"数据预处理失败: 输入窗口应包含 {sequence_length} x {len(FEATURE_COLUMNS)} 个数值，"
+                                       f"实际为 {values.size} 个"}), 400
+        if not np.isfinite(values).all():
+            return jsonify({"status": "error", "message": "数据预处理失败: 输入窗口存在空值或无法解析的数值"}), 400
+
+        raw = values.reshape(sequence_length, len(FEATURE_COLUMNS)).astype(np.float64)
+        means = np.array([FEATURE_MEANS[col] for col in FEATURE_COLUMNS])
+        stds = np.array([FEATURE_STDS[col] for col in FEATURE_COLUMNS])
+        window = torch.tensor((raw - means) / stds, dtype=torch.float32).unsqueeze(0).to(device)
+
+        model = load_model(model_type, model_path, os.path.getmtime(model_path))
+        with torch.no_grad():
+            _, outputs = model(window)
+            prediction = outputs.cpu().numpy().flatten()[0]
+
+        damage_location = determine_damage_location(pd.DataFrame(raw, columns=FEATURE_COLUMNS))
+        max_rul = 70
+        health_index = min(100, max(0, (prediction / max_rul) * 100))
+
+        return jsonify({
+            "status": "success",
+            "predicted_rul": float(prediction),
+            "model_used": model_type,
+            "sequence_length": sequence_length,
+            "damage_location": damage_location,
+            "health_index": int(health_index),
+            "message": "预测成功"
+        })
+
+    except Exception as e:
+        return jsonify({"status": "error", "message": str(e)}), 500
+
+
 @app.route('/')
 def home():
     return jsonify({
         "message": "设备剩余寿命预测服务",
         "endpoints": {
-            "/predict": "POST方法，接收预测请求"
+            "/predict": "POST方法，接收预测请求",
+            "/predict_window": "POST方法，接收二进制输入窗口（小端float32）的预测请求"
         },
         "data_requirements": {
             "required_columns": [
@@ -0,0 +1,46 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Model.Component;
+import lombok.Getter;
+
+/**
+ * 缓存的设备信息和解析后的图片URL
+ * 缓存中保存字段快照，每次通过 newComponent() 取得新的实例，避免多个请求共享同一个可变实体
+ */
+public class ComponentMetadata {
+
+    private final Component snapshot;
+    @Getter
+    private final String imageUrl;
+
+    public ComponentMetadata(Component component, String imageUrl) {
+        this.snapshot = copy(component);
+        this.imageUrl = imageUrl;
+    }
+
+    public Integer getId() {
+        return snapshot.getId();
+    }
+
+    /**
+     * 设备所属用户的ID，用于校验设备是否属于当前用户
+     */
+    public Integer getUserId() {
+        return snapshot.getUser() == null ? null : snapshot.getUser().getId();
+    }
+
+    public Component newComponent() {
+        return copy(snapshot);
+    }
+
+    private static Component copy(Component source) {
+        Component component = new Component();
+        component.setId(source.getId());
+        component.setName(source.getName());
+        component.setStatus(source.getStatus());
+        component.setPic(source.getPic());
+        component.setWarningTime(source.getWarningTime());
+        component.setUser(source.getUser());
+        return component;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Model.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 组件最新的一行传感器读数
+ * 8个通道值按 TelemetryChannel 顺序保存在 double 数组中，缺失值为 NaN
+ */
+public final class LatestReading {
+
+    private final LocalDateTime time;
+    private final double[] values;
+
+    private LatestReading(LocalDateTime time, double[] values) {
+        this.time = time;
+        this.values = values;
+    }
+
+    public static LatestReading of(TelemetryRow row) {
+        return new LatestReading(row.getTime(), row.getValues().clone());
+    }
+
+    public static LatestReading of(Data data) {
+        double[] values = new double[TelemetryChannel.COUNT];
+        values[TelemetryChannel.HPT_EFF_MOD.ordinal()] = valueOf(data.getHptEffMod());
+        values[TelemetryChannel.NF.ordinal()] = valueOf(data.getNf());
+        values[TelemetryChannel.SM_FAN.ordinal()] = valueOf(data.getSmFan());
+        values[TelemetryChannel.T24.ordinal()] = valueOf(data.getT24());
+        values[TelemetryChannel.WF.ordinal()] = valueOf(data.getWf());
+        values[TelemetryChannel.T48.ordinal()] = valueOf(data.getT48());
+        values[TelemetryChannel.NC.ordinal()] = valueOf(data.getNc());
+        values[TelemetryChannel.SM_HPC.ordinal()] = valueOf(data.getSmHPC());
+        return new LatestReading(data.getTime(), values);
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    /**
+     * @return 通道值，缺失时返回 null
+     */
+    public Double get(TelemetryChannel channel) {
+        double value = values[channel.ordinal()];
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * 转换为不受持久化上下文管理的 Data，用于沿用 Data 上的健康指数计算
+     */
+    public Data toData() {
+        Data data = new Data();
+        data.setTime(time);
+        data.setHptEffMod(get(TelemetryChannel.HPT_EFF_MOD));
+        data.setNf(get(TelemetryChannel.NF));
+        data.setSmFan(get(TelemetryChannel.SM_FAN));
+        data.setT24(get(TelemetryChannel.T24));
+        data.setWf(get(TelemetryChannel.WF));
+        data.setT48(get(TelemetryChannel.T48));
+        data.setNc(get(TelemetryChannel.NC));
+        data.setSmHPC(get(TelemetryChannel.SM_HPC));
+        return data;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
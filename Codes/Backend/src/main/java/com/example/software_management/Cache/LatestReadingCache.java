@@ -0,0 +1,126 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Model.Data;
+import com.example.software_management.Repository.DataRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 每个组件最新一行读数的缓存
+ * 数据导入在事务提交后写入缓存（write-through），未缓存的组件首次读取时从 device_data 加载；
+ * 条目数有上限，超出后按使用频率淘汰。
+ * telemetry.latest.age 记录每次读取到的读数距当前的时间，反映缓存和数据本身的新旧程度
+ */
+@org.springframework.stereotype.Component
+public class LatestReadingCache {
+
+    private final DataRepository dataRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.latest-reading.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<Integer, LatestReading> readings;
+    private Timer age;
+
+    @Autowired
+    public LatestReadingCache(DataRepository dataRepository, MeterRegistry meterRegistry) {
+        this.dataRepository = dataRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        readings = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, readings, "latestReading");
+        age = Timer.builder("telemetry.latest.age")
+                .description("读取到的最新读数距当前的时间")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 查询组件最新的读数
+     * @return 组件没有数据时返回空
+     */
+    public Optional<LatestReading> get(Integer componentId) {
+        LatestReading reading = readings.get(componentId, id ->
+                dataRepository.findFirstByComponentIdOrderByTimeDesc(id).map(LatestReading::of).orElse(null));
+        if (reading != null) {
+            recordAge(reading);
+        }
+        return Optional.ofNullable(reading);
+    }
+
+    /**
+     * 批量查询多个组件最新的读数，未缓存的组件一次查询取出，没有数据的组件不会出现在结果中
+     */
+    public Map<Integer, LatestReading> getAll(Collection<Integer> componentIds) {
+        Map<Integer, LatestReading> result = readings.getAll(componentIds, missing -> {
+            Map<Integer, LatestReading> loaded = new HashMap<>();
+            dataRepository.findLatestByComponentIdIn(new ArrayList<Integer>(missing))
+                    .forEach((id, data) -> loaded.put(id, LatestReading.of(data)));
+            return loaded;
+        });
+        result.values().forEach(this::recordAge);
+        return result;
+    }
+
+    /**
+     * 写入一批新导入的读数，只保留其中时间最晚的一行，且不会覆盖更新的缓存值；
+     * 在事务中调用时等事务提交后再写入
+     */
+    public void update(Integer componentId, Collection<TelemetryRow> rows) {
+        TelemetryRow latest = null;
+        for (TelemetryRow row : rows) {
+            // 时间相同时取后写入的一行，与数据库中ID较大的一行一致
+            if (latest == null || !row.getTime().isBefore(latest.getTime())) {
+                latest = row;
+            }
+        }
+        if (latest == null) {
+            return;
+        }
+        LatestReading reading = LatestReading.of(latest);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(componentId, reading);
+                }
+            });
+        } else {
+            put(componentId, reading);
+        }
+    }
+
+    private void put(Integer componentId, LatestReading reading) {
+        readings.asMap().merge(componentId, reading,
+                (current, candidate) -> candidate.getTime().isBefore(current.getTime()) ? current : candidate);
+    }
+
+    private void recordAge(LatestReading reading) {
+        Duration duration = Duration.between(reading.getTime(), LocalDateTime.now());
+        age.record(duration.isNegative() ? Duration.ZERO : duration);
+    }
+}
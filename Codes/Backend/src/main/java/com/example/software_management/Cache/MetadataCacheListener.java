@@ -0,0 +1,39 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Model.Component;
+import com.example.software_management.Model.Model;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 模型和设备记录变化时使元数据缓存失效
+ * 由 Hibernate 通过 Spring 容器创建；缓存依赖的仓库又依赖 EntityManagerFactory，这里延迟获取缓存以避免循环依赖
+ */
+@org.springframework.stereotype.Component
+public class MetadataCacheListener {
+
+    private final ObjectProvider<SimulationMetadataCache> cacheProvider;
+
+    @Autowired
+    public MetadataCacheListener(ObjectProvider<SimulationMetadataCache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        SimulationMetadataCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (entity instanceof Model model) {
+            cache.evictModel(model.getId());
+        } else if (entity instanceof Component component) {
+            cache.evictComponent(component.getId());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Model.Model;
+import lombok.Getter;
+
+/**
+ * 缓存的模型信息：模型记录、解析后的模型文件路径和文件版本
+ */
+@Getter
+public class ModelMetadata {
+
+    private final Model model;
+    private final String modelPath;
+    private final boolean modelFileExists;
+    // 模型文件最后修改时间和大小，文件不存在时为null
+    private final String modelVersion;
+
+    public ModelMetadata(Model model, String modelPath, boolean modelFileExists, String modelVersion) {
+        this.model = model;
+        this.modelPath = modelPath;
+        this.modelFileExists = modelFileExists;
+        this.modelVersion = modelVersion;
+    }
+}
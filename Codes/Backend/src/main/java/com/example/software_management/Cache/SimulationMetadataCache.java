@@ -0,0 +1,273 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Inference.PredictionCache;
+import com.example.software_management.Model.Component;
+import com.example.software_management.Model.Model;
+import com.example.software_management.Repository.ComponentRepository;
+import com.example.software_management.Repository.ModelRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 模拟前校验所需的模型、设备信息缓存
+ * 缓存模型记录、解析后的模型文件路径和版本，以及设备记录和解析后的图片URL，
+ * 常规情况下校验不再访问数据库和文件系统。
+ * 失效方式：模型目录/图片目录下的文件变化（WatchService），模型和设备记录的更新（MetadataCacheListener），
+ * 另有过期时间兜底（例如所在文件系统不支持监听时）
+ */
+@org.springframework.stereotype.Component
+public class SimulationMetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationMetadataCache.class);
+
+    private static final String DEFAULT_IMAGE_URL = "/images/default_component.png";
+
+    private final ModelRepository modelRepository;
+    private final ComponentRepository componentRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.model.dir:F:\\AAAFourthGrade\\SoftwareManagement\\TJ-Software-management\\Codes\\AI\\training_model}")
+    private String modelDir;
+
+    @Value("${app.image.dir:./image}")
+    private String imageDir;
+
+    @Value("${app.simulation.metadata.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${app.simulation.metadata.max-entries:10000}")
+    private long maxEntries;
+
+    private Cache<Integer, ModelMetadata> models;
+    private Cache<Integer, ComponentMetadata> components;
+
+    private WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private Path modelRoot;
+    private Path imageRoot;
+
+    @Autowired
+    public SimulationMetadataCache(ModelRepository modelRepository,
+                                   ComponentRepository componentRepository,
+                                   MeterRegistry meterRegistry) {
+        this.modelRepository = modelRepository;
+        this.componentRepository = componentRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        models = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        components = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, models, "simulationModelMetadata");
+        CaffeineCacheMetrics.monitor(meterRegistry, components, "simulationComponentMetadata");
+
+        modelRoot = Paths.get(modelDir).toAbsolutePath().normalize();
+        imageRoot = Paths.get(imageDir).toAbsolutePath().normalize();
+        startWatching();
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 查询模型信息
+     * @return 模型不存在时返回空
+     */
+    public Optional<ModelMetadata> getModel(int modelId) {
+        return Optional.ofNullable(models.get(modelId, this::loadModel));
+    }
+
+    /**
+     * 查询设备信息
+     * @return 设备不存在时返回空
+     */
+    public Optional<ComponentMetadata> getComponent(int componentId) {
+        return Optional.ofNullable(components.get(componentId, this::loadComponent));
+    }
+
+    /**
+     * 批量查询设备信息，未缓存的设备一次查询取出，不存在的设备不会出现在结果中
+     */
+    public Map<Integer, ComponentMetadata> getComponents(Collection<Integer> componentIds) {
+        return components.getAll(componentIds, missing -> {
+            Map<Integer, ComponentMetadata> loaded = new HashMap<>();
+            for (Component component : componentRepository.findAllById(new ArrayList<Integer>(missing))) {
+                loaded.put(component.getId(), toMetadata(component));
+            }
+            return loaded;
+        });
+    }
+
+    public void evictModel(Integer modelId) {
+        if (modelId != null) {
+            models.invalidate(modelId);
+        }
+    }
+
+    public void evictComponent(Integer componentId) {
+        if (componentId != null) {
+            components.invalidate(componentId);
+        }
+    }
+
+    private ModelMetadata loadModel(Integer modelId) {
+        Model model = modelRepository.findById(modelId).orElse(null);
+        if (model == null) {
+            return null;
+        }
+        Path modelPath = Paths.get(modelDir, model.getType(), model.getModelfile());
+        boolean exists = Files.exists(modelPath);
+        String version = null;
+        if (exists) {
+            try {
+                version = PredictionCache.modelVersion(modelPath);
+            } catch (IOException e) {
+                exists = false;
+            }
+        }
+        return new ModelMetadata(model, modelPath.toString(), exists, version);
+    }
+
+    private ComponentMetadata loadComponent(Integer componentId) {
+        return componentRepository.findById(componentId).map(this::toMetadata).orElse(null);
+    }
+
+    private ComponentMetadata toMetadata(Component component) {
+        // 获取设备图片URL
+        String imageUrl = component.getPic();
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            // 如果设备没有图片，使用默认图片
+            imageUrl = DEFAULT_IMAGE_URL;
+        } else {
+            // 检查图片文件是否存在
+            Path imagePath = Paths.get(imageDir, imageUrl);
+            if (!Files.exists(imagePath)) {
+                // 如果图片文件不存在，使用默认图片
+                imageUrl = DEFAULT_IMAGE_URL;
+            }
+        }
+        return new ComponentMetadata(component, imageUrl);
+    }
+
+    /**
+     * 监听模型目录和图片目录（含子目录），启动失败时只依赖过期时间失效
+     */
+    private void startWatching() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Files.createDirectories(modelRoot);
+            Files.createDirectories(imageRoot);
+            registerTree(modelRoot);
+            registerTree(imageRoot);
+        } catch (IOException e) {
+            log.warn("无法监听模型和图片目录，元数据缓存仅按过期时间失效: {}", e.getMessage());
+            return;
+        }
+        Thread watcher = new Thread(this::watchLoop, "metadata-cache-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void registerTree(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                register(dir);
+            }
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        WatchKey key = dir.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirs.put(key, dir);
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = watchedDirs.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                    models.invalidateAll();
+                    components.invalidateAll();
+                    continue;
+                }
+                Path changed = dir.resolve((Path) event.context());
+                onChange(changed);
+                // 新建的子目录也需要监听，例如新增的模型类型目录
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                    try {
+                        registerTree(changed);
+                    } catch (IOException e) {
+                        log.warn("无法监听新目录 {}: {}", changed, e.getMessage());
+                    }
+                }
+            }
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 文件变化时使对应类型的缓存全部失效；目录中文件数量少、变化不频繁，无需按条目精确失效
+     */
+    private void onChange(Path changed) {
+        if (changed.startsWith(modelRoot)) {
+            models.invalidateAll();
+        }
+        if (changed.startsWith(imageRoot)) {
+            components.invalidateAll();
+        }
+    }
+}
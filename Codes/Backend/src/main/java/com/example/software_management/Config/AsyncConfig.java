@@ -0,0 +1,86 @@
+package com.example.software_management.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 异步模拟任务线程池
+     * 队列有界，队列满时直接拒绝（TaskRejectedException），由接口返回429让调用方稍后重试
+     */
+    @Bean(name = "simulationJobExecutor")
+    public ThreadPoolTaskExecutor simulationJobExecutor(
+            @Value("${app.simulation.jobs.threads:4}") int threads,
+            @Value("${app.simulation.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("simulation-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 批量模拟线程池，线程数即批量请求中同时进行导入和预测的上限，所有批量请求共用
+     */
+    @Bean(name = "simulationBatchExecutor")
+    public ThreadPoolTaskExecutor simulationBatchExecutor(
+            @Value("${app.simulation.batch.parallelism:4}") int parallelism,
+            @Value("${app.simulation.batch.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("simulation-batch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 流式下载（StreamingResponseBody）使用的线程池，线程数即同时进行的流式导出上限
+     */
+    @Bean(name = "streamingResponseExecutor")
+    public ThreadPoolTaskExecutor streamingResponseExecutor(
+            @Value("${app.export.stream.threads:8}") int threads,
+            @Value("${app.export.stream.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-response-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 异步导出任务线程池，线程数即所有用户同时运行的导出任务上限；
+     * 每个用户同时运行的任务数由 ExportJobService 控制，其余任务在数据库中排队
+     */
+    @Bean(name = "exportJobExecutor")
+    public ThreadPoolTaskExecutor exportJobExecutor(
+            @Value("${app.export.jobs.threads:4}") int threads,
+            @Value("${app.export.jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.software_management.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 数据源连接参数
+ * DataBatchRepository 等 JDBC batch 写入依赖 MySQL 驱动的 rewriteBatchedStatements=true 把每个批次改写为多行 INSERT，
+ * 否则驱动仍逐条发送。application.properties 不在版本库中，这里默认为连接池加上该参数；
+ * 连接串或 spring.datasource.hikari.data-source-properties 中已显式配置时不覆盖，
+ * 也可以用 app.datasource.rewrite-batched-statements=false 关闭
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String REWRITE_BATCHED_STATEMENTS = "rewriteBatchedStatements";
+
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatementsPostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("app.datasource.rewrite-batched-statements", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof HikariDataSource dataSource
+                        && !dataSource.getDataSourceProperties().containsKey(REWRITE_BATCHED_STATEMENTS)
+                        && (dataSource.getJdbcUrl() == null || !dataSource.getJdbcUrl().contains(REWRITE_BATCHED_STATEMENTS))) {
+                    dataSource.addDataSourceProperty(REWRITE_BATCHED_STATEMENTS, "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
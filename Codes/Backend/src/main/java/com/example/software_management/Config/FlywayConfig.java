@@ -0,0 +1,18 @@
+package com.example.software_management.Config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 数据库迁移（db/migration），在 Hibernate 初始化之前执行
+ * 此前由 Hibernate 自动建表的数据库没有迁移记录：以版本1（V1__baseline_schema.sql）为基线，只执行之后的迁移
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineOnMigrateCustomizer() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("1");
+    }
+}
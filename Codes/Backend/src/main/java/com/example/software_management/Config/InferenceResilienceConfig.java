@@ -0,0 +1,110 @@
+package com.example.software_management.Config;
+
+import com.example.software_management.Inference.InvalidPredictionInputException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * 预测服务调用的熔断器和并发隔离配置
+ */
+@Configuration
+public class InferenceResilienceConfig {
+
+    public static final String PREDICTION = "prediction";
+
+    @Value("${app.flask.breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${app.flask.breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${app.flask.breaker.slow-call-duration-ms:30000}")
+    private long slowCallDurationMillis;
+
+    @Value("${app.flask.breaker.window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${app.flask.breaker.minimum-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${app.flask.breaker.open-wait-ms:30000}")
+    private long waitInOpenStateMillis;
+
+    @Value("${app.flask.breaker.half-open-calls:3}")
+    private int permittedCallsInHalfOpenState;
+
+    @Value("${app.flask.bulkhead.max-concurrent:8}")
+    private int maxConcurrentCalls;
+
+    // 并发已满时的最长等待时间，超过后直接拒绝，不占用 Tomcat 线程排队
+    @Value("${app.flask.bulkhead.max-wait-ms:200}")
+    private long maxWaitMillis;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMillis))
+                .waitDurationInOpenState(Duration.ofMillis(waitInOpenStateMillis))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 4xx、无效输入和调用参数错误说明请求本身有问题，并发隔离拒绝的调用也没有到达预测服务，都不计入失败率
+                .ignoreExceptions(HttpClientErrorException.class, InvalidPredictionInputException.class,
+                        IllegalArgumentException.class, BulkheadFullException.class)
+                .build();
+        return CircuitBreakerRegistry.of(config);
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMillis))
+                .build();
+        return BulkheadRegistry.of(config);
+    }
+
+    @Bean
+    public CircuitBreaker predictionCircuitBreaker(CircuitBreakerRegistry registry) {
+        return registry.circuitBreaker(PREDICTION);
+    }
+
+    @Bean
+    public Bulkhead predictionBulkhead(BulkheadRegistry registry) {
+        return registry.bulkhead(PREDICTION);
+    }
+
+    /**
+     * 熔断器状态、调用次数和失败率指标
+     */
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry registry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry);
+    }
+
+    /**
+     * 并发隔离的可用并发数指标
+     */
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry registry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(registry);
+    }
+}
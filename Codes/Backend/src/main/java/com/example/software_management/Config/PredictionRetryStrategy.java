@@ -0,0 +1,74 @@
+package com.example.software_management.Config;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.HttpRequestRetryStrategy;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 预测接口的重试策略
+ * 预测请求只读取模型和数据文件，重复执行没有副作用，因此 POST 也按幂等请求重试；
+ * 只重试请求尚未被服务端处理的失败（连接失败、复用的空闲连接已被关闭）以及 429/502/503/504，
+ * 响应超时不重试，避免同一个耗时预测被重复计算。
+ * 重试间隔为带全抖动的指数退避：random(0, min(maxDelay, baseDelay * 2^(n-1)))
+ */
+public class PredictionRetryStrategy implements HttpRequestRetryStrategy {
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public PredictionRetryStrategy(int maxRetries, long baseDelayMillis, long maxDelayMillis) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public boolean retryRequest(HttpRequest request, IOException exception, int execCount, HttpContext context) {
+        if (execCount > maxRetries) {
+            return false;
+        }
+        return exception instanceof ConnectException
+                || exception instanceof ConnectTimeoutException
+                || exception instanceof NoRouteToHostException
+                || exception instanceof NoHttpResponseException;
+    }
+
+    @Override
+    public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+        if (execCount > maxRetries) {
+            return false;
+        }
+        int code = response.getCode();
+        return code == HttpStatus.SC_TOO_MANY_REQUESTS
+                || code == HttpStatus.SC_BAD_GATEWAY
+                || code == HttpStatus.SC_SERVICE_UNAVAILABLE
+                || code == HttpStatus.SC_GATEWAY_TIMEOUT;
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpRequest request, IOException exception, int execCount, HttpContext context) {
+        return backoff(execCount);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpResponse response, int execCount, HttpContext context) {
+        return backoff(execCount);
+    }
+
+    private TimeValue backoff(int execCount) {
+        int shift = Math.min(Math.max(execCount - 1, 0), 20);
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << shift);
+        return TimeValue.ofMilliseconds(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
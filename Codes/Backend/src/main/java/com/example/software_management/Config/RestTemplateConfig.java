@@ -1,14 +1,169 @@
 package com.example.software_management.Config;
 
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${app.flask.api.url:http://localhost:5000/predict}")
+    private String flaskApiUrl;
+
+    @Value("${app.flask.client.max-total:50}")
+    private int maxTotal;
+
+    @Value("${app.flask.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${app.flask.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    // 从连接池获取连接的最长等待时间，池满时尽快失败而不是无限排队
+    @Value("${app.flask.client.connection-request-timeout-ms:3000}")
+    private long connectionRequestTimeoutMillis;
+
+    // 模型推理耗时较长，响应超时单独配置
+    @Value("${app.flask.client.response-timeout-ms:120000}")
+    private long responseTimeoutMillis;
+
+    @Value("${app.flask.client.keep-alive-ms:30000}")
+    private long keepAliveMillis;
+
+    @Value("${app.flask.client.idle-evict-ms:60000}")
+    private long idleEvictMillis;
+
+    @Value("${app.flask.client.max-retries:2}")
+    private int maxRetries;
+
+    @Value("${app.flask.client.retry-base-delay-ms:200}")
+    private long retryBaseDelayMillis;
+
+    @Value("${app.flask.client.retry-max-delay-ms:2000}")
+    private long retryMaxDelayMillis;
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    /**
+     * 预测服务专用的连接池
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager predictionConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                // 优先复用最近使用的连接，空闲连接可以被及时回收
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // Flask 服务是唯一的目标地址，单独为它设置路由上限
+        HttpHost flaskHost = flaskHost();
+        if (flaskHost != null) {
+            connectionManager.setMaxPerRoute(new HttpRoute(flaskHost), maxPerRoute);
+        }
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient predictionHttpClient(
+            @Qualifier("predictionConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMillis))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMillis))
+                .setRetryStrategy(new PredictionRetryStrategy(maxRetries, retryBaseDelayMillis, retryMaxDelayMillis))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMillis))
+                .build();
+    }
+
+    /**
+     * 调用 Flask 预测接口的 RestTemplate
+     * 通过 RestTemplateBuilder 构建，请求耗时会记录到 http.client.requests 指标
+     */
+    @Bean
+    public RestTemplate predictionRestTemplate(
+            RestTemplateBuilder builder,
+            @Qualifier("predictionHttpClient") CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * 连接池指标：已租用/空闲连接数、等待连接的请求数、池上限
+     */
+    @Bean
+    public MeterBinder predictionConnectionPoolMetrics(
+            @Qualifier("predictionConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "prediction");
+    }
+
+    /**
+     * 为出站请求耗时开启直方图，便于计算 P95/P99
+     */
+    @Bean
+    public MeterFilter httpClientHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().startsWith("http.client.requests")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .minimumExpectedValue((double) Duration.ofMillis(5).toNanos())
+                            .maximumExpectedValue((double) Duration.ofMillis(responseTimeoutMillis).toNanos())
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    private HttpHost flaskHost() {
+        try {
+            URI uri = new URI(flaskApiUrl);
+            return uri.getHost() == null ? null : HttpHost.create(uri);
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.software_management.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 启用定时任务（分区维护、数据保留等）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
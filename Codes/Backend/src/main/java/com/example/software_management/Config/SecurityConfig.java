@@ -42,6 +42,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/user/account/register/**",
                                 "/api/user/account/token/**",
                                 "/api/user/login",
+                                // 导出文件下载链接自带令牌
+                                "/api/exports/download/**",
                                 "/api-docs",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
@@ -0,0 +1,31 @@
+package com.example.software_management.Config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 异步响应配置：流式导出在 streamingResponseExecutor 中执行，
+ * 超时时间需覆盖大批量导出（容器默认只有30秒）
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor streamingResponseExecutor;
+
+    @Value("${app.export.stream.timeout-ms:600000}")
+    private long timeoutMs;
+
+    public WebMvcAsyncConfig(@Qualifier("streamingResponseExecutor") ThreadPoolTaskExecutor streamingResponseExecutor) {
+        this.streamingResponseExecutor = streamingResponseExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingResponseExecutor);
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
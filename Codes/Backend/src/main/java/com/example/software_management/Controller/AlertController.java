@@ -1,15 +1,17 @@
 package com.example.software_management.Controller;
 
 import com.example.software_management.DTO.AlertDTO;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
 import com.example.software_management.Service.AlertService;
 import com.example.software_management.Security.GetInfo;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +29,9 @@ public class AlertController {
 
     /**
      * 4.1 获取用户未确认的警报设备
+     * 请求体包含 cursor 字段时按游标分页（第一页传空字符串或null，之后传上一页返回的 nextCursor），
+     * 不使用 OFFSET；countMode 为 exact（默认）、estimated 或 none，控制是否以及如何统计总数。
+     * 不包含 cursor 时按 page/pageSize 分页
      * @param requestBody 包含查询参数的请求体
      * @return 未确认的警报分页结果
      */
@@ -47,6 +52,24 @@ public class AlertController {
         int pageSize = requestBody.containsKey("pageSize") ?
                 Integer.parseInt(requestBody.get("pageSize").toString()) : 10;
 
+        if (requestBody.containsKey("cursor")) {
+            Object cursor = requestBody.get("cursor");
+            Object countMode = requestBody.get("countMode");
+            try {
+                Map<String, Object> response = new HashMap<>(alertService.getUnconfirmedAlertsByCursor(
+                        userId, deviceName, startTime, endTime,
+                        cursor != null ? cursor.toString() : null, pageSize,
+                        countMode != null ? countMode.toString() : null));
+                response.put("success", true);
+                return ResponseEntity.ok(response);
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("message", e.getMessage());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+        }
+
         Page<AlertDTO> alertPage = alertService.getUnconfirmedAlerts(
                 userId, deviceName, startTime, endTime, page, pageSize);
 
@@ -90,19 +113,43 @@ public class AlertController {
 
     /**
      * 4.4 导出用户未确认的警报设备至XLSX
+     * 在异步线程中边生成边写入响应，不在内存中缓存整个文件
      * @return XLSX文件
      */
     @GetMapping("/exportAlertsToXLSX")
-    public ResponseEntity<Resource> exportAlertsToXLSX() {
+    public ResponseEntity<?> exportAlertsToXLSX() {
+
+        return exportAlerts(ExportFormat.XLSX.getExtension());
+    }
+
+    /**
+     * 4.4 导出用户未确认的警报设备，格式由 format 指定
+     * @param format 导出格式：xlsx（默认）、csv、parquet
+     * @return 导出文件
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportAlerts(
+            @RequestParam(required = false) String format) {
 
+        // 当前用户需在请求线程中获取
         int userId = GetInfo.getCurrentUserId();
-        Resource resource = alertService.exportAlertsToXLSX(userId);
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        ExportWriter writer = alertService.exportUnconfirmedAlerts(userId, exportFormat);
+        StreamingResponseBody body = writer::writeTo;
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=unconfirmed_alerts_" + userId + ".xlsx")
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(resource);
+                        "attachment; filename=unconfirmed_alerts_" + userId + "." + exportFormat.getExtension())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
     }
 
     /**
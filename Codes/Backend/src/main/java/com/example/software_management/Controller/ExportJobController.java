@@ -0,0 +1,130 @@
+package com.example.software_management.Controller;
+
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Model.ExportJob;
+import com.example.software_management.Security.GetInfo;
+import com.example.software_management.Service.ExportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/exports")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @Autowired
+    public ExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    /**
+     * 提交异步导出任务，立即返回任务ID
+     * @param type 导出内容：unconfirmed_alerts、device_attributes、device_history
+     * @param deviceId 设备ID，设备相关的导出必填
+     * @param format 导出格式：xlsx（默认）、csv、parquet
+     * @return 任务ID
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> submitExportJob(
+            @RequestParam String type,
+            @RequestParam(required = false) Integer deviceId,
+            @RequestParam(required = false) String format) {
+
+        int userId = GetInfo.getCurrentUserId();
+        try {
+            ExportJob job = exportJobService.submitJob(userId, parseType(type), deviceId,
+                    ExportFormat.fromParameter(format));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus().name());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (TaskRejectedException e) {
+            return errorResponse(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * 查询导出任务的状态，完成后包含下载链接
+     * @param id 任务ID
+     * @return 任务状态
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> getExportJob(@PathVariable String id) {
+        int userId = GetInfo.getCurrentUserId();
+        try {
+            return ResponseEntity.ok(exportJobService.getJobStatus(id, userId));
+        } catch (ResourceNotFoundException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * 查询当前用户最近的导出任务
+     * @return 任务状态列表
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getExportJobs() {
+        int userId = GetInfo.getCurrentUserId();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobs", exportJobService.getJobs(userId));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 下载导出文件，链接中的令牌即凭证，无需登录
+     * @param token 下载令牌
+     * @return 导出文件
+     */
+    @GetMapping("/download/{token}")
+    public ResponseEntity<?> download(@PathVariable String token) {
+        try {
+            ExportJob job = exportJobService.getDownload(token);
+            FileSystemResource resource = new FileSystemResource(job.getFilePath());
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFileName())
+                    .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                    .contentLength(job.getFileSize())
+                    .body(resource);
+        } catch (ResourceNotFoundException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private static ExportJob.Type parseType(String type) {
+        for (ExportJob.Type value : ExportJob.Type.values()) {
+            if (value.name().equals(type.trim().toUpperCase(Locale.ROOT))) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("不支持的导出内容: " + type
+                + "，可选 unconfirmed_alerts、device_attributes、device_history");
+    }
+
+    private ResponseEntity<Map<String, Object>> errorResponse(HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
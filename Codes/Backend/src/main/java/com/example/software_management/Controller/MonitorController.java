@@ -25,14 +25,24 @@ public class MonitorController {
     /**
      * 2.1 获取设备健康数据
      * @param deviceId 设备ID
+     * @param days 天数（含当天），默认7，也可取30、90等
      * @return 健康数据列表
      */
     @GetMapping("/{deviceId}/health")
-    public ResponseEntity<Map<String, Object>> getDeviceHealthData(@PathVariable Integer deviceId) {
+    public ResponseEntity<Map<String, Object>> getDeviceHealthData(
+            @PathVariable Integer deviceId,
+            @RequestParam(defaultValue = "7") int days) {
         // 可以在这里添加权限检查，确保当前用户有权访问此设备
         int userId = GetInfo.getCurrentUserId();
 
-        List<Double> healthData = dataService.getDeviceHealthData(deviceId);
+        if (days < 1 || days > 366) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "天数应在1到366之间");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        List<Double> healthData = dataService.getDeviceHealthData(deviceId, days);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
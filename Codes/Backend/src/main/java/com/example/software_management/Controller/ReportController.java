@@ -2,14 +2,18 @@ package com.example.software_management.Controller;
 
 import com.example.software_management.DTO.DataDTO;
 import com.example.software_management.DTO.ReportDTO;
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
 import com.example.software_management.Security.GetInfo;
 import com.example.software_management.Service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -101,22 +105,68 @@ public class ReportController {
     }
 
     /**
-     * 5.6 将设备属性值导出为excel文件
+     * 5.6 导出设备属性值
      * @param deviceId 设备ID
-     * @return Excel文件
+     * @param format 导出格式：xlsx（默认）、csv、parquet
+     * @return 导出文件
      */
     @GetMapping("/devices/exportDeviceAttributes")
-    public ResponseEntity<Resource> exportDeviceAttributes(
-            @RequestParam Integer deviceId) {
-        // 可以在这里添加权限检查，确保当前用户有权访问此设备
-        // int userId = GetInfo.getCurrentUserId();
+    public ResponseEntity<?> exportDeviceAttributes(
+            @RequestParam Integer deviceId,
+            @RequestParam(required = false) String format) {
+        // 只能导出当前用户自己的设备
+        int userId = GetInfo.getCurrentUserId();
 
-        Resource resource = reportService.exportDeviceAttributes(deviceId);
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            ExportWriter writer = reportService.exportDeviceAttributes(userId, deviceId, exportFormat);
+            return exportResponse(writer, "device_attributes_" + deviceId, exportFormat);
+        } catch (ResourceNotFoundException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 
+    /**
+     * 5.7 导出设备的全部历史数据，边查询边写入响应
+     * @param deviceId 设备ID
+     * @param format 导出格式：xlsx（默认）、csv、parquet
+     * @return 导出文件
+     */
+    @GetMapping("/devices/exportDeviceHistory")
+    public ResponseEntity<?> exportDeviceHistory(
+            @RequestParam Integer deviceId,
+            @RequestParam(required = false) String format) {
+
+        // 只能导出当前用户自己的设备
+        int userId = GetInfo.getCurrentUserId();
+
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            ExportWriter writer = reportService.exportDeviceHistory(userId, deviceId, exportFormat);
+            return exportResponse(writer, "device_history_" + deviceId, exportFormat);
+        } catch (ResourceNotFoundException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(ExportWriter writer, String fileName,
+                                                                 ExportFormat format) {
+        StreamingResponseBody body = writer::writeTo;
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=device_attributes_" + deviceId + ".xlsx")
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(resource);
+                        "attachment; filename=" + fileName + "." + format.getExtension())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
+    private ResponseEntity<Map<String, Object>> errorResponse(HttpStatus status, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
     }
-}
\ No newline at end of file
+}
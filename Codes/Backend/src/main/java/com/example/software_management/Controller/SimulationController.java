@@ -1,7 +1,15 @@
 package com.example.software_management.Controller;
 
+import com.example.software_management.Exception.InferenceUnavailableException;
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Inference.PredictionCache;
+import com.example.software_management.Inference.PredictionClient;
+import com.example.software_management.Model.SimulationJob;
+import com.example.software_management.Security.GetInfo;
+import com.example.software_management.Service.SimulationJobService;
 import com.example.software_management.Service.SimulationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,10 +25,19 @@ import java.util.Map;
 public class SimulationController {
 
     private final SimulationService simulationService;
+    private final SimulationJobService simulationJobService;
+    private final PredictionClient predictionClient;
+    private final PredictionCache predictionCache;
 
     @Autowired
-    public SimulationController(SimulationService simulationService) {
+    public SimulationController(SimulationService simulationService,
+                                SimulationJobService simulationJobService,
+                                PredictionClient predictionClient,
+                                PredictionCache predictionCache) {
         this.simulationService = simulationService;
+        this.simulationJobService = simulationJobService;
+        this.predictionClient = predictionClient;
+        this.predictionCache = predictionCache;
     }
 
 
@@ -28,17 +46,53 @@ public class SimulationController {
      * @param modelId 模型ID
      * @param deviceId 设备ID
      * @param file 上传的数据文件
+     * @param reuseData 相同数据已导入过时是否跳过重复导入
      * @return 模拟结果
      */
     @PostMapping(value = "/getSimulationResult", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, Object>> getSimulationResult(
             @RequestParam int modelId,
             @RequestParam int deviceId,
-            @RequestParam MultipartFile file) {
+            @RequestParam MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean reuseData) {
+
+        try {
+            Map<String, Object> response = simulationService.getSimulationResult(modelId, deviceId, file, reuseData);
+            return ResponseEntity.ok(response);
+        } catch (InferenceUnavailableException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * 批量获取模拟结果
+     * @param modelId 模型ID
+     * @param deviceIds 设备ID列表
+     * @param files 数据文件列表，与设备ID按顺序一一对应
+     * @return 每个设备的模拟结果，单个设备失败不影响其他设备
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> getBatchSimulationResult(
+            @RequestParam int modelId,
+            @RequestParam List<Integer> deviceIds,
+            @RequestParam List<MultipartFile> files) {
 
         try {
-            Map<String, Object> response = simulationService.getSimulationResult(modelId, deviceId, file);
+            Map<String, Object> response = simulationService.getBatchSimulationResult(modelId, deviceIds, files);
             return ResponseEntity.ok(response);
+        } catch (InferenceUnavailableException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -46,4 +100,102 @@ public class SimulationController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 使用设备最近导入的完整数据文件进行模拟，不上传文件
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     * @return 模拟结果
+     */
+    @PostMapping("/window")
+    public ResponseEntity<Map<String, Object>> getWindowSimulationResult(
+            @RequestParam int modelId,
+            @RequestParam int deviceId) {
+
+        try {
+            Map<String, Object> response = simulationService.getWindowSimulationResult(modelId, deviceId);
+            return ResponseEntity.ok(response);
+        } catch (InferenceUnavailableException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * 提交异步模拟任务，立即返回任务ID
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     * @param file 上传的数据文件
+     * @return 任务ID
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> submitSimulationJob(
+            @RequestParam int modelId,
+            @RequestParam int deviceId,
+            @RequestParam MultipartFile file) {
+
+        int userId = GetInfo.getCurrentUserId();
+        try {
+            SimulationJob job = simulationJobService.submitJob(userId, modelId, deviceId, file);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus().name());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (TaskRejectedException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "任务队列已满，请稍后重试");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+        } catch (InferenceUnavailableException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * 查询异步模拟任务的状态和结果
+     * @param id 任务ID
+     * @return 任务状态，完成后包含模拟结果
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> getSimulationJob(@PathVariable String id) {
+        int userId = GetInfo.getCurrentUserId();
+        try {
+            return ResponseEntity.ok(simulationJobService.getJobStatus(id, userId));
+        } catch (ResourceNotFoundException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    /**
+     * 查询预测服务熔断器状态、调用统计和结果缓存命中情况
+     * @return 熔断器状态（CLOSED/OPEN/HALF_OPEN）、失败率、慢调用率、并发占用情况和缓存命中统计
+     */
+    @GetMapping("/inference/status")
+    public ResponseEntity<Map<String, Object>> getInferenceStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("inference", predictionClient.getStatus());
+        response.put("cache", predictionCache.getStats());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.software_management.Controller;
+
+import com.example.software_management.Exception.IngestQueueFullException;
+import com.example.software_management.Security.GetInfo;
+import com.example.software_management.Service.TelemetryStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/telemetry")
+public class TelemetryController {
+
+    private final TelemetryStreamService telemetryStreamService;
+
+    @Autowired
+    public TelemetryController(TelemetryStreamService telemetryStreamService) {
+        this.telemetryStreamService = telemetryStreamService;
+    }
+
+    /**
+     * 持续上报传感器读数（NDJSON，每行一条，支持分块传输），可以同时包含多个组件的读数
+     * 读数进入写入队列后按微批次写入，队列已满时返回429和已接收的条数
+     * @param request 请求体为 application/x-ndjson
+     * @return 接收的读数条数
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, Object>> ingestStream(HttpServletRequest request) {
+        int userId = GetInfo.getCurrentUserId();
+        try {
+            Map<String, Object> response = telemetryStreamService.ingestStream(userId, request.getInputStream());
+            return ResponseEntity.ok(response);
+        } catch (IngestQueueFullException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("accepted", e.getAccepted());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.software_management.Exception;
+
+public class InferenceUnavailableException extends RuntimeException {
+    public InferenceUnavailableException(String message) {
+        super(message);
+    }
+}
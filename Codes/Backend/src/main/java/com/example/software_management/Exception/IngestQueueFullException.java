@@ -0,0 +1,17 @@
+package com.example.software_management.Exception;
+
+import lombok.Getter;
+
+/**
+ * 数据写入队列已满，调用方应稍后从第 accepted + 1 条读数开始重发
+ */
+@Getter
+public class IngestQueueFullException extends RuntimeException {
+    // 队列满之前已经接收的读数条数
+    private final long accepted;
+
+    public IngestQueueFullException(String message, long accepted) {
+        super(message);
+        this.accepted = accepted;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.software_management.Export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * RFC 4180 格式的 CSV，UTF-8 编码并带 BOM，Excel 打开时中文表头不会乱码
+ */
+class CsvRowWriter implements RowWriter {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    CsvRowWriter(List<ExportColumn> columns, OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        Object[] titles = new Object[columns.size()];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = columns.get(i).getTitle();
+        }
+        writeRow(titles);
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof LocalDateTime time) {
+                writer.write(TIME_FORMAT.format(time));
+            } else if (value instanceof String text) {
+                writeText(text);
+            } else {
+                writer.write(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeText(String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
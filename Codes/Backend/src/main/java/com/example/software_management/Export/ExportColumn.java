@@ -0,0 +1,50 @@
+package com.example.software_management.Export;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 导出文件中的一列
+ * key 用作 Parquet 的字段名，title 用作 XLSX 和 CSV 的表头
+ */
+@Getter
+public final class ExportColumn {
+
+    public enum Type {
+        INT,        // Integer
+        LONG,       // Long
+        DOUBLE,     // Double
+        BOOLEAN,    // Boolean
+        STRING,     // String
+        TIMESTAMP   // LocalDateTime
+    }
+
+    private final String key;
+    private final String title;
+    private final Type type;
+    // XLSX 中的列宽（字符数）
+    private final int width;
+
+    public ExportColumn(String key, String title, Type type, int width) {
+        this.key = key;
+        this.title = title;
+        this.type = type;
+        this.width = width;
+    }
+
+    /**
+     * 8个传感器通道对应的列，顺序同 TelemetryChannel
+     */
+    public static List<ExportColumn> channels() {
+        List<ExportColumn> columns = new ArrayList<>(TelemetryChannel.COUNT);
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            columns.add(new ExportColumn(channel.getColumn().toLowerCase(Locale.ROOT), channel.getTitle(),
+                    Type.DOUBLE, channel.getTitle().length() * 2 + 4));
+        }
+        return columns;
+    }
+}
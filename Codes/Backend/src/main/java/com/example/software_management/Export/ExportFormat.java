@@ -0,0 +1,39 @@
+package com.example.software_management.Export;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * 导出文件格式
+ */
+@Getter
+public enum ExportFormat {
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV("csv", "text/csv;charset=UTF-8"),
+    PARQUET("parquet", "application/vnd.apache.parquet");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * 解析请求中的 format 参数，未指定时为 XLSX
+     * @throws IllegalArgumentException 不支持的格式
+     */
+    public static ExportFormat fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return XLSX;
+        }
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("不支持的导出格式: " + value + "，可选 xlsx、csv、parquet");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.software_management.Export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 已完成校验、尚未开始写出的导出任务，可写入 HTTP 响应或文件
+ */
+@FunctionalInterface
+public interface ExportWriter {
+
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,214 @@
+package com.example.software_management.Export;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 列式 Parquet 文件，直接顺序写入输出流（不需要可定位的文件）
+ * 所有列均为可空；时间列为不带时区的毫秒时间戳，与数据库中的本地时间一致
+ */
+class ParquetRowWriter implements RowWriter {
+
+    private final ParquetWriter<Object[]> writer;
+
+    ParquetRowWriter(List<ExportColumn> columns, OutputStream outputStream,
+                     CompressionCodecName compression, long rowGroupSize) throws IOException {
+        this.writer = new Builder(new StreamOutputFile(outputStream), columns)
+                .withConf(new PlainParquetConfiguration())
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .withCompressionCodec(compression)
+                .withRowGroupSize(rowGroupSize)
+                .build();
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        writer.write(values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static MessageType schema(List<ExportColumn> columns) {
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (ExportColumn column : columns) {
+            switch (column.getType()) {
+                case INT -> builder.optional(PrimitiveTypeName.INT32).named(column.getKey());
+                case LONG -> builder.optional(PrimitiveTypeName.INT64).named(column.getKey());
+                case DOUBLE -> builder.optional(PrimitiveTypeName.DOUBLE).named(column.getKey());
+                case BOOLEAN -> builder.optional(PrimitiveTypeName.BOOLEAN).named(column.getKey());
+                case STRING -> builder.optional(PrimitiveTypeName.BINARY)
+                        .as(LogicalTypeAnnotation.stringType()).named(column.getKey());
+                case TIMESTAMP -> builder.optional(PrimitiveTypeName.INT64)
+                        .as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                        .named(column.getKey());
+            }
+        }
+        return builder.named("export");
+    }
+
+    private static final class Builder extends ParquetWriter.Builder<Object[], Builder> {
+        private final List<ExportColumn> columns;
+
+        Builder(OutputFile file, List<ExportColumn> columns) {
+            super(file);
+            this.columns = columns;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        // 父类仍把 Hadoop Configuration 版本声明为抽象方法，必须实现；
+        // 写入器配置的是 PlainParquetConfiguration，实际只会调用下面的 ParquetConfiguration 版本
+        @Override
+        @Deprecated
+        protected WriteSupport<Object[]> getWriteSupport(Configuration conf) {
+            return new RowWriteSupport(columns);
+        }
+
+        @Override
+        protected WriteSupport<Object[]> getWriteSupport(ParquetConfiguration conf) {
+            return new RowWriteSupport(columns);
+        }
+    }
+
+    /**
+     * 把一行值按列类型写入 Parquet 记录，null 值的字段跳过
+     */
+    private static final class RowWriteSupport extends WriteSupport<Object[]> {
+        private final List<ExportColumn> columns;
+        private final MessageType schema;
+        private RecordConsumer consumer;
+
+        RowWriteSupport(List<ExportColumn> columns) {
+            this.columns = columns;
+            this.schema = schema(columns);
+        }
+
+        // 同上，只为满足抽象方法声明
+        @Override
+        @Deprecated
+        public WriteContext init(Configuration configuration) {
+            return new WriteContext(schema, Map.of());
+        }
+
+        @Override
+        public WriteContext init(ParquetConfiguration configuration) {
+            return new WriteContext(schema, Map.of());
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.consumer = recordConsumer;
+        }
+
+        @Override
+        public void write(Object[] values) {
+            consumer.startMessage();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                ExportColumn column = columns.get(i);
+                consumer.startField(column.getKey(), i);
+                switch (column.getType()) {
+                    case INT -> consumer.addInteger(((Number) value).intValue());
+                    case LONG -> consumer.addLong(((Number) value).longValue());
+                    case DOUBLE -> consumer.addDouble(((Number) value).doubleValue());
+                    case BOOLEAN -> consumer.addBoolean((Boolean) value);
+                    case STRING -> consumer.addBinary(Binary.fromString(value.toString()));
+                    case TIMESTAMP -> consumer.addLong(
+                            ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli());
+                }
+                consumer.endField(column.getKey(), i);
+            }
+            consumer.endMessage();
+        }
+    }
+
+    /**
+     * 以输出流作为 Parquet 的输出文件，只记录已写入的字节数作为位置
+     */
+    private static final class StreamOutputFile implements OutputFile {
+        private final OutputStream outputStream;
+
+        StreamOutputFile(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    outputStream.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    outputStream.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    outputStream.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // 底层输出流由调用方关闭
+                    outputStream.flush();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.software_management.Export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 按行写入导出文件，每行的值与列定义一一对应，缺失值为 null
+ * close 时写出剩余内容，但不关闭底层输出流
+ */
+public interface RowWriter extends Closeable {
+
+    void writeRow(Object... values) throws IOException;
+}
@@ -0,0 +1,46 @@
+package com.example.software_management.Export;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 按导出格式创建 RowWriter
+ */
+@Component
+public class RowWriterFactory {
+
+    private final int xlsxRowWindowSize;
+    private final CompressionCodecName parquetCompression;
+    private final long parquetRowGroupSize;
+
+    @Autowired
+    public RowWriterFactory(
+            @Value("${app.export.xlsx.row-window:100}") int xlsxRowWindowSize,
+            @Value("${app.export.parquet.compression:snappy}") String parquetCompression,
+            @Value("${app.export.parquet.row-group-mb:64}") int parquetRowGroupMb) {
+        this.xlsxRowWindowSize = xlsxRowWindowSize;
+        this.parquetCompression = CompressionCodecName.valueOf(parquetCompression.toUpperCase(Locale.ROOT));
+        this.parquetRowGroupSize = parquetRowGroupMb * 1024L * 1024L;
+    }
+
+    /**
+     * @param sheetName XLSX 的工作表名称，其他格式忽略
+     * @param columns 列定义
+     * @param outputStream 写入的输出流，RowWriter 关闭时不会关闭它
+     */
+    public RowWriter open(ExportFormat format, String sheetName, List<ExportColumn> columns,
+                          OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case XLSX -> new XlsxRowWriter(sheetName, columns, outputStream, xlsxRowWindowSize);
+            case CSV -> new CsvRowWriter(columns, outputStream);
+            case PARQUET -> new ParquetRowWriter(columns, outputStream, parquetCompression, parquetRowGroupSize);
+        };
+    }
+}
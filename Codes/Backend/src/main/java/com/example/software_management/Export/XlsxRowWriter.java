@@ -0,0 +1,96 @@
+package com.example.software_management.Export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 流式 XLSX：内存中只保留最近 rowWindowSize 行，其余行写入临时文件；
+ * 列宽按列定义预设，不使用需要遍历所有行的 autoSizeColumn；
+ * 超过单个工作表的行数上限后续写到新的工作表（名称加序号）
+ */
+class XlsxRowWriter implements RowWriter {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final SXSSFWorkbook workbook;
+    private final String sheetName;
+    private final List<ExportColumn> columns;
+    private final CellStyle headerStyle;
+    private final OutputStream outputStream;
+    private Sheet sheet;
+    private int rowNum;
+
+    XlsxRowWriter(String sheetName, List<ExportColumn> columns, OutputStream outputStream, int rowWindowSize) {
+        this.workbook = new SXSSFWorkbook(rowWindowSize);
+        this.sheetName = sheetName;
+        this.columns = columns;
+        this.outputStream = outputStream;
+
+        // 标题行加粗
+        this.headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+
+        newSheet();
+    }
+
+    private void newSheet() {
+        int index = workbook.getNumberOfSheets();
+        sheet = workbook.createSheet(index == 0 ? sheetName : sheetName + " (" + (index + 1) + ")");
+        rowNum = 0;
+
+        Row headerRow = sheet.createRow(rowNum++);
+        for (int i = 0; i < columns.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(columns.get(i).getTitle());
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, columns.get(i).getWidth() * 256);
+        }
+    }
+
+    @Override
+    public void writeRow(Object... values) {
+        if (rowNum > SpreadsheetVersion.EXCEL2007.getLastRowIndex()) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.createCell(i);
+            Object value = values[i];
+            if (value == null) {
+                cell.setCellValue("N/A");
+            } else if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean flag) {
+                cell.setCellValue(flag ? "是" : "否");
+            } else if (value instanceof LocalDateTime time) {
+                cell.setCellValue(TIME_FORMAT.format(time));
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(outputStream);
+        } finally {
+            // 删除临时文件
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.software_management.Inference;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存的预测结果，同时记录首次预测时写入的设备和预测记录
+ */
+@Getter
+public class CachedPrediction {
+
+    private final Map<String, Object> prediction;
+    private final Integer componentId;
+    private final Integer forecastId;
+
+    public CachedPrediction(Map<String, Object> prediction, Integer componentId, Integer forecastId) {
+        this.prediction = Collections.unmodifiableMap(new HashMap<>(prediction));
+        this.componentId = componentId;
+        this.forecastId = forecastId;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.software_management.Inference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 根据最后一行数据判断损伤位置，移植自 Codes/AI/model_api.py 的 determine_damage_location：
+ * 各参数按正常运行数据的均值和标准差计算 Z 分数，按参数组给出损伤描述
+ */
+public final class DamageAssessment {
+
+    // 正常运行数据的均值和标准差，顺序同 RulFeatures.FEATURE_COLUMNS
+    private static final double[] NORMAL_MEANS = {
+            561.734307, 1320.850085, 1630.231993, 1104.318060,
+            11.409782, 8.780057, 11.583535, 14.234296,
+            215.225091, 219.019148, 8.548206, 1993.529530,
+            8211.029946, 2.300304, 2527.272002, 229.339422,
+            40.602641, 1794.094218, 157.625671, 157.625378,
+            18.128248, 10.876949, 147.326124, 155.995802,
+            19.497370, 8.224322, 28.382235, 38.184013,
+            -0.000920, -0.000097, -0.000077
+    };
+
+    private static final double[] NORMAL_STDS = {
+            19.197751, 57.766587, 101.321474, 52.922060,
+            2.312136, 1.916450, 2.347347, 2.792789,
+            45.830745, 46.537956, 2.034312, 141.865723,
+            192.280626, 0.581590, 146.892788, 48.730844,
+            8.721765, 314.120672, 29.337796, 29.337905,
+            3.465540, 2.079324, 28.282172, 29.895559,
+            1.727403, 1.084494, 2.149762, 2.312139,
+            0.000230, 0.000224, 0.000186
+    };
+
+    /**
+     * 参数组，顺序与 Python 端一致
+     */
+    private enum Group {
+        TEMPERATURE("热区", true, "T24", "T30", "T48", "T50", "T40"),
+        PRESSURE("压力系统", false, "P15", "P2", "P21", "P24", "Ps30", "P40", "P50", "P30", "P45"),
+        FLOW("流量通道", false, "W21", "W22", "W25", "W31", "W32", "W48", "W50"),
+        EFFICIENCY("涡轮效率", false, "HPT_eff_mod", "LPT_eff_mod", "LPT_flow_mod"),
+        SPEED("轴承或转子系统", true, "Nf", "Nc"),
+        FUEL("燃烧室", false, "Wf");
+
+        private final String description;
+        // 温度和转速异常扣分更多
+        private final boolean critical;
+        private final int[] features;
+
+        Group(String description, boolean critical, String... params) {
+            this.description = description;
+            this.critical = critical;
+            this.features = new int[params.length];
+            for (int i = 0; i < params.length; i++) {
+                features[i] = indexOf(params[i]);
+            }
+        }
+    }
+
+    private DamageAssessment() {
+    }
+
+    /**
+     * @param lastRow 最后一行各特征的原始值，顺序同 RulFeatures.FEATURE_COLUMNS；为null表示没有数据
+     */
+    public static String assess(double[] lastRow) {
+        if (lastRow == null) {
+            return "无法确定损伤位置，数据为空";
+        }
+
+        List<String> damages = new ArrayList<>();
+        int healthIndex = 100;
+
+        for (Group group : Group.values()) {
+            for (int feature : group.features) {
+                String param = RulFeatures.FEATURE_COLUMNS[feature];
+                double value = lastRow[feature];
+                double std = NORMAL_STDS[feature];
+                double zScore = std > 0 ? Math.abs((value - NORMAL_MEANS[feature]) / std) : 0;
+
+                if (zScore > 3.0) {
+                    damages.add(param + "异常（" + format(value, 1) + "），可能导致" + group.description + "严重损伤");
+                    healthIndex -= group.critical ? 25 : 20;
+                } else if (zScore > 2.0) {
+                    damages.add(param + "异常（" + format(value, 1) + "），" + group.description + "存在中度损伤");
+                    healthIndex -= group.critical ? 15 : 12;
+                } else if (zScore > 1.5) {
+                    damages.add(param + "偏离正常值（" + format(value, 1) + "），" + group.description + "存在轻微异常");
+                    healthIndex -= group.critical ? 5 : 3;
+                }
+
+                // 效率修正系数的标准差很小，另外使用更严格的标准
+                if (group == Group.EFFICIENCY) {
+                    if (zScore > 2.5) {
+                        damages.add(param + "严重偏离正常值（" + format(value, 5) + "），涡轮效率显著下降");
+                        healthIndex -= 20;
+                    } else if (zScore > 1.5) {
+                        damages.add(param + "异常（" + format(value, 5) + "），涡轮效率中度下降");
+                        healthIndex -= 15;
+                    } else if (zScore > 1.0) {
+                        damages.add(param + "偏离正常值（" + format(value, 5) + "），涡轮效率轻微下降");
+                        healthIndex -= 5;
+                    }
+                }
+            }
+        }
+
+        healthIndex = Math.max(0, Math.min(100, healthIndex));
+
+        // 没有检测到具体损伤时，根据健康指数给出综合评估
+        if (damages.isEmpty()) {
+            if (healthIndex >= 90) {
+                return "设备状态良好，未检测到明显损伤";
+            } else if (healthIndex >= 80) {
+                return "设备运行正常，部分参数略有波动";
+            } else if (healthIndex >= 70) {
+                return "设备整体状态可接受，建议定期检查";
+            } else if (healthIndex >= 60) {
+                return "设备存在轻微异常，建议关注温度和压力参数";
+            } else if (healthIndex >= 50) {
+                return "设备多个系统参数偏离正常值，建议进行维护检查";
+            } else {
+                return "设备状态异常，多处可能存在损伤，建议立即检修";
+            }
+        }
+
+        // 限制返回的损伤信息数量，避免过长
+        if (damages.size() > 3) {
+            return String.join(", ", damages.subList(0, 3)) + "等多处异常";
+        }
+        return String.join(", ", damages);
+    }
+
+    /**
+     * 由预测的剩余寿命计算健康指数，最大剩余寿命按70计
+     */
+    public static int healthIndex(double predictedRul) {
+        double maxRul = 70;
+        return (int) Math.min(100, Math.max(0, predictedRul / maxRul * 100));
+    }
+
+    private static String format(double value, int decimals) {
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    private static int indexOf(String param) {
+        for (int i = 0; i < RulFeatures.FEATURE_COLUMNS.length; i++) {
+            if (RulFeatures.FEATURE_COLUMNS[i].equals(param)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(param);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.software_management.Inference;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * 模型输入窗口：最后 sequenceLength 行的31个原始特征值，按 [行][特征] 展开
+ * 行数不足时已在前面用最后一行补齐，最后一行始终是数据中的最后一行
+ */
+public class FeatureWindow {
+
+    // 原始特征值，长度 sequenceLength * FEATURE_COUNT
+    private final double[] values;
+    @Getter
+    private final int sequenceLength;
+    // 数据文件中的有效行数
+    @Getter
+    private final long rows;
+    // 数据文件中缺少的特征列
+    @Getter
+    private final List<String> missingColumns;
+
+    FeatureWindow(double[] values, int sequenceLength, long rows, List<String> missingColumns) {
+        this.values = values;
+        this.sequenceLength = sequenceLength;
+        this.rows = rows;
+        this.missingColumns = missingColumns;
+    }
+
+    /**
+     * 检查窗口能否用于预测
+     */
+    public void validate() throws InvalidPredictionInputException {
+        if (!missingColumns.isEmpty()) {
+            throw new InvalidPredictionInputException("数据预处理失败: 缺少必要的特征列: " + missingColumns);
+        }
+        if (rows == 0) {
+            throw new InvalidPredictionInputException("数据预处理失败: 数据文件没有有效的数据行");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isNaN(values[i])) {
+                throw new InvalidPredictionInputException("数据预处理失败: 特征列 "
+                        + RulFeatures.FEATURE_COLUMNS[i % RulFeatures.FEATURE_COUNT] + " 存在空值或无法解析的数值");
+            }
+        }
+    }
+
+    /**
+     * 最后一行的原始值，用于损伤位置分析；没有数据时为null
+     */
+    public double[] getLastRow() {
+        if (rows == 0) {
+            return null;
+        }
+        double[] lastRow = new double[RulFeatures.FEATURE_COUNT];
+        System.arraycopy(values, values.length - RulFeatures.FEATURE_COUNT, lastRow, 0, RulFeatures.FEATURE_COUNT);
+        return lastRow;
+    }
+
+    /**
+     * Z-Score 归一化后的模型输入
+     */
+    public float[] normalized() {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            int feature = i % RulFeatures.FEATURE_COUNT;
+            result[i] = (float) ((values[i] - RulFeatures.MEANS[feature]) / RulFeatures.STDS[feature]);
+        }
+        return result;
+    }
+
+    /**
+     * 原始值按小端 float32 连续排列，作为 Flask /predict_window 的请求体
+     */
+    public byte[] toFloat32LittleEndian() {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (double value : values) {
+            buffer.putFloat((float) value);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.software_management.Inference;
+
+import java.util.List;
+
+/**
+ * 逐行接收特征值，只在环形缓冲区中保留最后 sequenceLength 行，解析结束后生成模型输入窗口
+ */
+public class FeatureWindowBuilder {
+
+    private final int sequenceLength;
+    private final double[][] ring;
+    private long rows;
+    private List<String> missingColumns = List.of();
+
+    public FeatureWindowBuilder(int sequenceLength) {
+        this.sequenceLength = sequenceLength;
+        this.ring = new double[sequenceLength][RulFeatures.FEATURE_COUNT];
+    }
+
+    public void setMissingColumns(List<String> missingColumns) {
+        this.missingColumns = List.copyOf(missingColumns);
+    }
+
+    /**
+     * @param features 一行的特征值，顺序同 RulFeatures.FEATURE_COLUMNS
+     */
+    public void add(double[] features) {
+        System.arraycopy(features, 0, ring[(int) (rows % sequenceLength)], 0, RulFeatures.FEATURE_COUNT);
+        rows++;
+    }
+
+    public FeatureWindow build() {
+        double[] values = new double[sequenceLength * RulFeatures.FEATURE_COUNT];
+        if (rows > 0) {
+            int available = (int) Math.min(rows, sequenceLength);
+            int padding = sequenceLength - available;
+            long firstRow = rows - available;
+            double[] lastRow = ring[(int) ((rows - 1) % sequenceLength)];
+            for (int i = 0; i < sequenceLength; i++) {
+                // 前 padding 行用最后一行补齐，其后为按时间顺序的实际数据
+                double[] row = i < padding ? lastRow : ring[(int) ((firstRow + i - padding) % sequenceLength)];
+                System.arraycopy(row, 0, values, i * RulFeatures.FEATURE_COUNT, RulFeatures.FEATURE_COUNT);
+            }
+        }
+        return new FeatureWindow(values, sequenceLength, rows, missingColumns);
+    }
+}
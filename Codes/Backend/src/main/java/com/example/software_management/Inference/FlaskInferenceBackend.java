@@ -0,0 +1,138 @@
+package com.example.software_management.Inference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 通过 HTTP 调用 Codes/AI/model_api.py 提供的 Flask 预测接口
+ * app.flask.payload-mode=file 时传递数据文件路径，Flask 服务需要能访问后端保存的文件；
+ * window 时直接发送导入时解析好的输入窗口（小端 float32），不需要共享存储，Flask 端也不再解析表格
+ */
+@Component
+public class FlaskInferenceBackend implements InferenceBackend {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+
+    @Value("${app.flask.api.url:http://localhost:5000/predict}")
+    private String flaskApiUrl;
+
+    @Value("${app.flask.window-api.url:http://localhost:5000/predict_window}")
+    private String flaskWindowApiUrl;
+
+    // file 或 window
+    @Value("${app.flask.payload-mode:file}")
+    private String payloadMode;
+
+    @Value("${app.inference.sequence-length:30}")
+    private int sequenceLength;
+
+    @Autowired
+    public FlaskInferenceBackend(@Qualifier("predictionRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String getName() {
+        return "flask";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Flask API";
+    }
+
+    @Override
+    public Map<String, Object> predict(String modelType, String modelPath, String filePath, FeatureWindow window)
+            throws Exception {
+        if (filePath == null && window == null) {
+            throw new IllegalArgumentException("数据文件路径和输入窗口不能同时为空");
+        }
+        // 没有数据文件（由内存窗口发起的预测）时只能发送窗口
+        if ("window".equalsIgnoreCase(payloadMode) || filePath == null) {
+            if (window == null) {
+                window = RulFeatures.readWindow(Paths.get(filePath), sequenceLength);
+            }
+            return predictWindow(modelType, modelPath, window);
+        }
+        return predictFile(modelType, modelPath, filePath);
+    }
+
+    /**
+     * 调用Flask API进行预测 - 使用文件路径而不是上传文件
+     */
+    private Map<String, Object> predictFile(String modelType, String modelPath, String filePath) throws Exception {
+        // 创建请求体 - 使用JSON格式
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model_type", modelType); // CNN_LSTM 或 CNN_Transformer
+        requestBody.put("model_path", modelPath);
+        requestBody.put("file_path", filePath);  // 直接传递文件路径
+        requestBody.put("sequence_length", sequenceLength);
+
+        // 设置请求头
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // 创建HTTP实体
+        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
+
+        // 发送请求到Flask API
+        ResponseEntity<Map<String, Object>> response =
+                restTemplate.exchange(flaskApiUrl, HttpMethod.POST, requestEntity, RESPONSE_TYPE);
+        return readResponse(response);
+    }
+
+    /**
+     * 发送二进制输入窗口，模型按文件名在 Flask 端的 training_model/<模型类型>/ 下查找
+     */
+    private Map<String, Object> predictWindow(String modelType, String modelPath, FeatureWindow window) throws Exception {
+        window.validate();
+
+        URI uri = UriComponentsBuilder.fromUriString(flaskWindowApiUrl)
+                .queryParam("model_type", modelType)
+                .queryParam("model_file", Paths.get(modelPath).getFileName().toString())
+                .queryParam("sequence_length", window.getSequenceLength())
+                .encode()
+                .build()
+                .toUri();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        HttpEntity<byte[]> requestEntity = new HttpEntity<>(window.toFloat32LittleEndian(), headers);
+
+        ResponseEntity<Map<String, Object>> response =
+                restTemplate.exchange(uri, HttpMethod.POST, requestEntity, RESPONSE_TYPE);
+        return readResponse(response);
+    }
+
+    private Map<String, Object> readResponse(ResponseEntity<Map<String, Object>> response) throws Exception {
+        // 检查响应状态
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            Map<String, Object> result = response.getBody();
+            if ("success".equals(result.get("status"))) {
+                return result;
+            } else {
+                throw new InvalidPredictionInputException(String.valueOf(result.getOrDefault("message", "未知错误")));
+            }
+        } else {
+            throw new Exception("调用预测API失败: " + response.getStatusCode());
+        }
+    }
+}
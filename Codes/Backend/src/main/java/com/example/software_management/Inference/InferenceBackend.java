@@ -0,0 +1,31 @@
+package com.example.software_management.Inference;
+
+import java.util.Map;
+
+/**
+ * 推理后端：根据模型和数据预测剩余寿命
+ * 返回结果与 Flask 预测接口的响应字段一致（predicted_rul、damage_location、health_index 等）
+ */
+public interface InferenceBackend {
+
+    /**
+     * 后端名称，对应配置项 app.inference.backend
+     */
+    String getName();
+
+    /**
+     * 出错时展示给用户的后端描述
+     */
+    String getDescription();
+
+    /**
+     * @param modelType 模型类型（CNN_LSTM 或 CNN_Transformer）
+     * @param modelPath 模型文件路径
+     * @param filePath 数据文件路径，只有内存窗口时为null
+     * @param window 导入时已解析的输入窗口，为null时由后端读取数据文件
+     * @throws InvalidPredictionInputException 输入数据本身有问题，不计入熔断器失败率
+     * @throws IllegalArgumentException filePath 和 window 同时为null
+     */
+    Map<String, Object> predict(String modelType, String modelPath, String filePath, FeatureWindow window)
+            throws Exception;
+}
@@ -0,0 +1,10 @@
+package com.example.software_management.Inference;
+
+/**
+ * 预测输入无效（缺少特征列、数据无法解析、模型不支持等），重试或等待都不会成功
+ */
+public class InvalidPredictionInputException extends Exception {
+    public InvalidPredictionInputException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.software_management.Inference;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.example.software_management.Model.Model;
+import com.example.software_management.Repository.ModelRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 进程内推理：使用 ONNX Runtime (CPU) 加载由 Codes/AI/export_onnx.py 导出的模型
+ * 模型文件为与 .model 同目录同名的 .onnx 文件。已加载的会话保存在有上限的缓存中重复使用，
+ * 预处理和损伤位置分析与 Python 端一致，不再需要 HTTP 调用和重复读取模型
+ */
+@Component
+public class OnnxInferenceBackend implements InferenceBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(OnnxInferenceBackend.class);
+
+    static final String INPUT_NAME = "window";
+    static final String OUTPUT_NAME = "rul";
+
+    private final ModelRepository modelRepository;
+
+    @Value("${app.inference.backend:flask}")
+    private String backendName;
+
+    @Value("${app.model.dir:F:\\AAAFourthGrade\\SoftwareManagement\\TJ-Software-management\\Codes\\AI\\training_model}")
+    private String modelDir;
+
+    // 同时保持加载的模型数量
+    @Value("${app.inference.onnx.max-sessions:4}")
+    private long maxSessions;
+
+    // 单次推理使用的线程数，0 表示由 ONNX Runtime 决定
+    @Value("${app.inference.onnx.intra-op-threads:1}")
+    private int intraOpThreads;
+
+    // 启动时预先加载数据库中登记的模型
+    @Value("${app.inference.onnx.preload:true}")
+    private boolean preload;
+
+    @Value("${app.inference.sequence-length:30}")
+    private int sequenceLength;
+
+    private OrtEnvironment environment;
+    private Cache<String, SessionHandle> sessions;
+
+    @Autowired
+    public OnnxInferenceBackend(ModelRepository modelRepository) {
+        this.modelRepository = modelRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .removalListener((String key, SessionHandle handle, RemovalCause cause) -> {
+                    if (handle != null) {
+                        handle.retire();
+                    }
+                })
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        sessions.invalidateAll();
+        sessions.cleanUp();
+    }
+
+    @Override
+    public String getName() {
+        return "onnx";
+    }
+
+    @Override
+    public String getDescription() {
+        return "本地推理引擎";
+    }
+
+    /**
+     * 启用本地推理时预先加载模型，避免首个请求承担加载耗时
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!preload || !getName().equalsIgnoreCase(backendName)) {
+            return;
+        }
+        int loaded = 0;
+        for (Model model : modelRepository.findAll()) {
+            if (loaded >= maxSessions) {
+                break;
+            }
+            Path onnxPath = onnxPath(Paths.get(modelDir, model.getType(), model.getModelfile()).toString());
+            if (!Files.exists(onnxPath)) {
+                log.warn("模型 {} 没有对应的 ONNX 文件: {}", model.getName(), onnxPath);
+                continue;
+            }
+            try {
+                acquire(onnxPath).release();
+                loaded++;
+            } catch (Exception e) {
+                log.warn("预加载模型 {} 失败: {}", onnxPath, e.getMessage());
+            }
+        }
+        log.info("已预加载 {} 个 ONNX 模型", loaded);
+    }
+
+    @Override
+    public Map<String, Object> predict(String modelType, String modelPath, String filePath, FeatureWindow window)
+            throws Exception {
+        if (filePath == null && window == null) {
+            throw new IllegalArgumentException("数据文件路径和输入窗口不能同时为空");
+        }
+        if (!"CNN_LSTM".equals(modelType) && !"CNN_Transformer".equals(modelType)) {
+            throw new InvalidPredictionInputException("不支持的模型类型");
+        }
+        Path onnxPath = onnxPath(modelPath);
+        if (!Files.exists(onnxPath)) {
+            throw new InvalidPredictionInputException("模型没有导出的 ONNX 文件: " + onnxPath);
+        }
+
+        // 数据预处理：导入时已解析过的数据不再重复读取文件
+        if (window == null) {
+            Path dataPath = Paths.get(filePath);
+            if (!Files.exists(dataPath)) {
+                throw new InvalidPredictionInputException("文件不存在: " + filePath);
+            }
+            window = RulFeatures.readWindow(dataPath, sequenceLength);
+        }
+        window.validate();
+
+        // 预测
+        float prediction;
+        SessionHandle handle = acquire(onnxPath);
+        try {
+            prediction = run(handle.session, window);
+        } finally {
+            handle.release();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "success");
+        result.put("predicted_rul", (double) prediction);
+        result.put("model_used", modelType);
+        result.put("sequence_length", window.getSequenceLength());
+        result.put("damage_location", DamageAssessment.assess(window.getLastRow()));
+        result.put("health_index", DamageAssessment.healthIndex(prediction));
+        result.put("message", "预测成功");
+        return result;
+    }
+
+    private float run(OrtSession session, FeatureWindow window) throws OrtException {
+        long[] shape = {1, window.getSequenceLength(), RulFeatures.FEATURE_COUNT};
+        try (OnnxTensor input = OnnxTensor.createTensor(environment(), FloatBuffer.wrap(window.normalized()), shape);
+             OrtSession.Result output = session.run(Map.of(INPUT_NAME, input), Set.of(OUTPUT_NAME))) {
+            OnnxValue value = output.get(OUTPUT_NAME)
+                    .orElseThrow(() -> new IllegalStateException("模型没有输出 " + OUTPUT_NAME));
+            float[][] rul = (float[][]) value.getValue();
+            return rul[0][0];
+        }
+    }
+
+    /**
+     * 取得模型会话并增加引用计数；缓存键包含文件版本，模型文件被替换后会加载新会话
+     */
+    private SessionHandle acquire(Path onnxPath) throws IOException {
+        String key = onnxPath.toAbsolutePath() + ":" + Files.getLastModifiedTime(onnxPath).toMillis();
+        while (true) {
+            SessionHandle handle = sessions.get(key, k -> load(onnxPath));
+            if (handle.tryAcquire()) {
+                return handle;
+            }
+            // 会话刚被淘汰，重新加载
+            sessions.asMap().remove(key, handle);
+        }
+    }
+
+    private SessionHandle load(Path onnxPath) {
+        long start = System.nanoTime();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            if (intraOpThreads > 0) {
+                options.setIntraOpNumThreads(intraOpThreads);
+            }
+            OrtSession session = environment().createSession(onnxPath.toString(), options);
+            log.info("加载 ONNX 模型 {}，耗时 {} ms", onnxPath, (System.nanoTime() - start) / 1_000_000);
+            return new SessionHandle(session);
+        } catch (OrtException e) {
+            throw new IllegalStateException("加载 ONNX 模型失败: " + e.getMessage(), e);
+        }
+    }
+
+    private synchronized OrtEnvironment environment() {
+        if (environment == null) {
+            environment = OrtEnvironment.getEnvironment();
+        }
+        return environment;
+    }
+
+    /**
+     * model_127.model -> model_127.onnx
+     */
+    static Path onnxPath(String modelPath) {
+        Path path = Paths.get(modelPath);
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return path.resolveSibling(baseName + ".onnx");
+    }
+
+    /**
+     * 带引用计数的会话：被缓存淘汰后，等正在进行的推理全部结束再关闭
+     */
+    private static class SessionHandle {
+        private final OrtSession session;
+        private int references;
+        private boolean retired;
+
+        SessionHandle(OrtSession session) {
+            this.session = session;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (retired) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        synchronized void release() {
+            references--;
+            closeIfUnused();
+        }
+
+        synchronized void retire() {
+            retired = true;
+            closeIfUnused();
+        }
+
+        private void closeIfUnused() {
+            if (retired && references == 0) {
+                try {
+                    session.close();
+                } catch (OrtException e) {
+                    log.warn("关闭 ONNX 会话失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.software_management.Inference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按内容寻址的预测结果缓存
+ * 键由模型ID、模型文件版本和数据文件内容的 SHA-256 组成，相同模型对相同数据只推理一次；
+ * 模型文件被替换后版本变化，旧结果不会再被命中
+ */
+@Component
+public class PredictionCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.simulation.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.simulation.cache.max-entries:1000}")
+    private long maxEntries;
+
+    @Value("${app.simulation.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private Cache<String, CachedPrediction> cache;
+
+    @Autowired
+    public PredictionCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "simulationResult");
+    }
+
+    public static String key(int modelId, String modelVersion, String contentHash) {
+        return modelId + ":" + modelVersion + ":" + contentHash;
+    }
+
+    /**
+     * 模型文件版本：最后修改时间和文件大小
+     */
+    public static String modelVersion(Path modelPath) throws IOException {
+        return Files.getLastModifiedTime(modelPath).toMillis() + "-" + Files.size(modelPath);
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前运行环境不支持 SHA-256", e);
+        }
+    }
+
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 计算已保存文件内容的 SHA-256
+     */
+    public static String hashFile(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest);
+    }
+
+    public CachedPrediction get(String key) {
+        if (!enabled || key == null) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedPrediction prediction) {
+        if (enabled && key != null) {
+            cache.put(key, prediction);
+        }
+    }
+
+    /**
+     * 命中和未命中次数
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.software_management.Inference;
+
+import com.example.software_management.Exception.InferenceUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预测入口
+ * 按 app.inference.backend 选择推理后端（flask 或 onnx），调用经过并发隔离和熔断器：
+ * 同时进行的预测数量有上限，推理后端持续失败或变慢时快速失败，等待一段时间后放行少量探测请求，成功后恢复
+ */
+@Component
+public class PredictionClient {
+
+    private final List<InferenceBackend> backends;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    @Value("${app.inference.backend:flask}")
+    private String backendName;
+
+    @Getter
+    private InferenceBackend backend;
+
+    @Autowired
+    public PredictionClient(List<InferenceBackend> backends,
+                            @Qualifier("predictionCircuitBreaker") CircuitBreaker circuitBreaker,
+                            @Qualifier("predictionBulkhead") Bulkhead bulkhead) {
+        this.backends = backends;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @PostConstruct
+    public void init() {
+        backend = backends.stream()
+                .filter(candidate -> candidate.getName().equalsIgnoreCase(backendName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("未知的推理后端: " + backendName));
+    }
+
+    /**
+     * 熔断器打开时直接拒绝，调用方可以在保存上传文件等耗时操作之前检查
+     */
+    public void checkAvailable() {
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN
+                || circuitBreaker.getState() == CircuitBreaker.State.FORCED_OPEN) {
+            throw new InferenceUnavailableException("预测服务暂时不可用，请稍后重试");
+        }
+    }
+
+    /**
+     * 使用配置的推理后端进行预测
+     */
+    public Map<String, Object> predict(String modelType, String modelPath, String filePath, FeatureWindow window)
+            throws Exception {
+        try {
+            // 熔断器在外层：并发隔离拒绝的调用不会到达推理后端，也不计入失败率
+            return circuitBreaker.executeCheckedSupplier(() -> bulkhead.executeCheckedSupplier(
+                    () -> backend.predict(modelType, modelPath, filePath, window)));
+        } catch (CallNotPermittedException e) {
+            throw new InferenceUnavailableException("预测服务暂时不可用，请稍后重试");
+        } catch (BulkheadFullException e) {
+            throw new InferenceUnavailableException("预测服务繁忙，请稍后重试");
+        } catch (InvalidPredictionInputException e) {
+            throw new Exception("预测失败: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new Exception("调用" + backend.getDescription() + "出错: " + e.getMessage(), e);
+        } catch (Error e) {
+            // OutOfMemoryError 等错误不包装成业务异常
+            throw e;
+        } catch (Throwable e) {
+            // executeCheckedSupplier 声明抛出 Throwable，除 Exception 和 Error 外的情况保留原因
+            throw new Exception("调用" + backend.getDescription() + "出错: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 熔断器状态和调用统计
+     */
+    public Map<String, Object> getStatus() {
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        Bulkhead.Metrics bulkheadMetrics = bulkhead.getMetrics();
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("backend", backend.getName());
+        status.put("state", circuitBreaker.getState().name());
+        status.put("failureRate", metrics.getFailureRate());
+        status.put("slowCallRate", metrics.getSlowCallRate());
+        status.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+        status.put("successfulCalls", metrics.getNumberOfSuccessfulCalls());
+        status.put("failedCalls", metrics.getNumberOfFailedCalls());
+        status.put("slowCalls", metrics.getNumberOfSlowCalls());
+        status.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+        status.put("availableConcurrentCalls", bulkheadMetrics.getAvailableConcurrentCalls());
+        status.put("maxConcurrentCalls", bulkheadMetrics.getMaxAllowedConcurrentCalls());
+        return status;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.software_management.Inference;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryCsvParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 剩余寿命模型的输入特征，与 Codes/AI/model_api.py 中的预处理保持一致：
+ * 31个特征列按固定顺序排列，使用训练数据的均值和标准差做 Z-Score 归一化，
+ * 取最后 sequenceLength 行作为输入窗口，行数不足时在前面重复最后一行补齐
+ */
+public final class RulFeatures {
+
+    public static final String[] FEATURE_COLUMNS = {
+            "T24", "T30", "T48", "T50", "P15", "P2", "P21", "P24",
+            "Ps30", "P40", "P50", "Nf", "Nc", "Wf", "T40", "P30",
+            "P45", "W21", "W22", "W25", "W31", "W32", "W48", "W50",
+            "SmFan", "SmLPC", "SmHPC", "phi", "HPT_eff_mod",
+            "LPT_eff_mod", "LPT_flow_mod"
+    };
+
+    public static final int FEATURE_COUNT = FEATURE_COLUMNS.length;
+
+    // 训练数据的均值和标准差，顺序同 FEATURE_COLUMNS
+    static final double[] MEANS = {
+            563.024898, 1323.801706, 1642.810916, 1113.662715,
+            11.520329, 8.851444, 11.695766, 14.386256,
+            217.774155, 221.550853, 8.651160, 1998.137013,
+            8218.573059, 2.345737, 2542.433162, 231.990422,
+            41.184797, 1808.173724, 158.947076, 158.946923,
+            18.284355, 10.970613, 148.620510, 157.362797,
+            19.331695, 8.085485, 28.067971, 38.495293,
+            -0.003271, -0.001792, -0.002024
+    };
+
+    static final double[] STDS = {
+            18.303730, 55.677034, 99.883238, 52.041587,
+            2.299463, 1.916357, 2.334480, 2.775538,
+            45.544128, 46.230581, 2.038587, 142.164579,
+            184.868923, 0.584898, 144.017769, 48.408985,
+            8.696471, 311.812302, 28.975486, 28.975412,
+            3.422720, 2.053632, 27.942588, 29.536117,
+            1.428708, 0.917600, 2.070840, 2.295575,
+            0.003450, 0.003149, 0.003206
+    };
+
+    // 各传感器通道在 FEATURE_COLUMNS 中的位置，下标为 TelemetryChannel.ordinal()
+    public static final int[] CHANNEL_FEATURES = channelFeatures();
+
+    private RulFeatures() {
+    }
+
+    private static int[] channelFeatures() {
+        int[] result = new int[TelemetryChannel.COUNT];
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            result[channel.ordinal()] = -1;
+            for (int i = 0; i < FEATURE_COLUMNS.length; i++) {
+                if (FEATURE_COLUMNS[i].equalsIgnoreCase(channel.getHeader())) {
+                    result[channel.ordinal()] = i;
+                    break;
+                }
+            }
+            if (result[channel.ordinal()] < 0) {
+                throw new IllegalStateException("传感器通道不在模型特征列中: " + channel.getHeader());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 读取数据文件并构造输入窗口，只保留最后 sequenceLength 行
+     */
+    public static FeatureWindow readWindow(Path file, int sequenceLength) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return readWindow(reader, sequenceLength);
+        }
+    }
+
+    public static FeatureWindow readWindow(Reader reader, int sequenceLength) throws IOException {
+        TelemetryCsvParser parser = new TelemetryCsvParser(reader, FEATURE_COLUMNS);
+        parser.readHeader();
+        FeatureWindowBuilder builder = new FeatureWindowBuilder(sequenceLength);
+        builder.setMissingColumns(parser.getMissingColumns());
+        double[] row = new double[FEATURE_COUNT];
+        while (parser.nextRow(row)) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+}
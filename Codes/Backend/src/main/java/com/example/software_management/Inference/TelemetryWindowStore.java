@@ -0,0 +1,75 @@
+package com.example.software_management.Inference;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 每个组件最近 sequenceLength 个周期的模型输入窗口，包含全部31个特征
+ * 模型只使用最后 sequenceLength 个周期，预测时直接使用窗口，不需要重新上传或读取数据文件。
+ * device_data 和实时上报只有8个传感器通道，无法还原其余特征，因此窗口只来自导入时包含全部特征列的数据文件；
+ * 组件之后收到只有传感器通道的数据时窗口失效，启动后也为空，直到再次导入完整的数据文件
+ */
+@Component
+public class TelemetryWindowStore {
+
+    private final Map<Integer, FeatureWindow> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TelemetryWindowStore(MeterRegistry registry) {
+        Gauge.builder("telemetry.window.components", windows, Map::size)
+                .description("内存中保存了最近数据窗口的组件数")
+                .register(registry);
+    }
+
+    /**
+     * 保存数据文件导入时解析出的窗口；在事务中调用时等事务提交后再保存，回滚的数据不会进入窗口
+     * 文件缺少特征列或没有有效数据时，组件最新的数据不完整，原有窗口同样失效
+     */
+    public void put(Integer componentId, FeatureWindow window) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putNow(componentId, window);
+                }
+            });
+        } else {
+            putNow(componentId, window);
+        }
+    }
+
+    private void putNow(Integer componentId, FeatureWindow window) {
+        if (window.getMissingColumns().isEmpty() && window.getRows() > 0) {
+            windows.put(componentId, window);
+        } else {
+            windows.remove(componentId);
+        }
+    }
+
+    /**
+     * 组件写入了只有传感器通道的数据，窗口不再是最近的周期，使其失效
+     */
+    public void evict(Integer componentId) {
+        windows.remove(componentId);
+    }
+
+    /**
+     * 组件最近的完整窗口
+     * @throws InvalidPredictionInputException 组件最近的数据没有包含全部特征的窗口
+     */
+    public FeatureWindow getWindow(Integer componentId) throws InvalidPredictionInputException {
+        FeatureWindow window = windows.get(componentId);
+        if (window == null) {
+            throw new InvalidPredictionInputException(
+                    "设备最近的数据没有包含全部特征列的窗口，请先导入完整的数据文件或上传文件进行模拟");
+        }
+        return window;
+    }
+}
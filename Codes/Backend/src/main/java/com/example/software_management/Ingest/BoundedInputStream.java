@@ -0,0 +1,56 @@
+package com.example.software_management.Ingest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 限制最大读取字节数的输入流，超过限制时抛出异常，不需要预先缓存整个文件
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    public BoundedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            checkLimit(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            checkLimit(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        checkLimit(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void checkLimit(long n) throws IOException {
+        count += n;
+        if (count > maxBytes) {
+            throw new IOException("上传文件超过大小限制: " + maxBytes + " 字节");
+        }
+    }
+}
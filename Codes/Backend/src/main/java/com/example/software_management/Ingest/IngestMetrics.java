@@ -0,0 +1,71 @@
+package com.example.software_management.Ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据导入指标，通过 /actuator/metrics 查看
+ */
+@Component
+public class IngestMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter rowsParsed;
+    private final Counter rowsSkipped;
+    private final Counter parseFailures;
+    private final Counter bytesRead;
+
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.rowsParsed = Counter.builder("telemetry.ingest.rows.parsed")
+                .description("解析成功的数据行数")
+                .register(registry);
+        this.rowsSkipped = Counter.builder("telemetry.ingest.rows.skipped")
+                .description("因列数不足被跳过的数据行数")
+                .register(registry);
+        this.parseFailures = Counter.builder("telemetry.ingest.parse.failures")
+                .description("无法解析为数值的单元格数")
+                .register(registry);
+        this.bytesRead = Counter.builder("telemetry.ingest.bytes.read")
+                .description("读取的表格字节数")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * 记录一次解析的统计
+     */
+    public void recordParse(TelemetryCsvParser parser, long bytes) {
+        rowsParsed.increment(parser.getRowsParsed());
+        rowsSkipped.increment(parser.getRowsSkipped());
+        parseFailures.increment(parser.getParseFailures());
+        bytesRead.increment(bytes);
+    }
+
+    /**
+     * 记录表头中缺失的列
+     */
+    public void recordMissingColumns(List<String> columns) {
+        for (String column : columns) {
+            registry.counter("telemetry.ingest.columns.missing", "column", column).increment();
+        }
+    }
+
+    /**
+     * 记录某一阶段的耗时
+     * @param stage 阶段名称，如 parse、insert
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordStage(String stage, long nanos) {
+        Timer.builder("telemetry.ingest.stage.duration")
+                .description("数据导入各阶段耗时")
+                .tag("stage", stage)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
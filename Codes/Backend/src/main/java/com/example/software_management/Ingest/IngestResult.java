@@ -0,0 +1,25 @@
+package com.example.software_management.Ingest;
+
+import com.example.software_management.Inference.FeatureWindow;
+import lombok.Getter;
+
+/**
+ * 一次数据导入的结果统计
+ */
+@Getter
+public class IngestResult {
+    private final long insertedRows;
+    private final long skippedRows;
+    // 导入时顺带解析出的模型输入窗口，没有解析时为null
+    private final FeatureWindow window;
+
+    public IngestResult(long insertedRows, long skippedRows) {
+        this(insertedRows, skippedRows, null);
+    }
+
+    public IngestResult(long insertedRows, long skippedRows, FeatureWindow window) {
+        this.insertedRows = insertedRows;
+        this.skippedRows = skippedRows;
+        this.window = window;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.software_management.Ingest;
+
+import lombok.Getter;
+
+/**
+ * device_data 中存储的8个传感器通道
+ * 顺序即为批量写入、缓存等处使用的数组下标
+ */
+@Getter
+public enum TelemetryChannel {
+    HPT_EFF_MOD("hpt_eff_mod", "HPT_eff_mod", "高压涡轮效率"),
+    NF("nf", "Nf", "风扇转速"),
+    SM_FAN("smfan", "sm_fan", "风扇裕度"),
+    T24("t24", "T24", "风扇出口温度"),
+    WF("wf", "Wf", "燃油流量"),
+    T48("t48", "T48", "HPT出口温度"),
+    NC("nc", "Nc", "高压压气机转速"),
+    SM_HPC("smhpc", "SmHPC", "高压压气机裕度");
+
+    public static final int COUNT = values().length;
+
+    // 上传表格中的列名（小写）
+    private final String header;
+    // device_data 表中的列名
+    private final String column;
+    // 页面和导出文件中显示的名称
+    private final String title;
+
+    TelemetryChannel(String header, String column, String title) {
+        this.header = header;
+        this.column = column;
+        this.title = title;
+    }
+}
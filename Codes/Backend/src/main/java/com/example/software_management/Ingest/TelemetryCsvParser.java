@@ -0,0 +1,374 @@
+package com.example.software_management.Ingest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 流式解析遥测表格（CSV）
+ * 表头只解析一次，得到每一列对应的目标槽位；数据行直接在字符缓冲区上解析数值，
+ * 不再为每行创建字符串数组。支持双引号包裹的字段以及 \n、\r\n、\r 换行。
+ */
+public class TelemetryCsvParser {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    // 10的整数次幂，double 可以精确表示到 1e22
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader reader;
+    private final String[] columns;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    // 当前记录中各个分隔逗号相对于 position 的偏移，扫描换行时一并记录，避免二次扫描
+    private int[] separators = new int[64];
+    private int separatorCount;
+
+    // 表头第i列对应的目标槽位，-1表示不需要的列
+    private int[] slotOfColumn;
+    private int headerColumnCount;
+
+    @Getter
+    private long rowsParsed;
+    @Getter
+    private long rowsSkipped;
+    @Getter
+    private long parseFailures;
+    @Getter
+    private long charsRead;
+
+    /**
+     * @param reader 表格内容
+     * @param columns 需要提取的列名（不区分大小写），解析结果按此顺序存放
+     */
+    public TelemetryCsvParser(Reader reader, String... columns) {
+        this(reader, DEFAULT_BUFFER_SIZE, columns);
+    }
+
+    public TelemetryCsvParser(Reader reader, int bufferSize, String... columns) {
+        this.reader = reader;
+        this.columns = columns;
+        this.buffer = new char[Math.max(bufferSize, 256)];
+    }
+
+    /**
+     * 按 TelemetryChannel 顺序提取8个传感器通道
+     */
+    public static TelemetryCsvParser forChannels(Reader reader) {
+        String[] headers = new String[TelemetryChannel.COUNT];
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            headers[channel.ordinal()] = channel.getHeader();
+        }
+        return new TelemetryCsvParser(reader, headers);
+    }
+
+    /**
+     * 读取并解析表头
+     * @return 表头中的列名（已去除引号和首尾空白）
+     */
+    public List<String> readHeader() throws IOException {
+        int recordEnd = nextRecord();
+        if (recordEnd < 0) {
+            throw new IOException("表格文件为空");
+        }
+
+        List<String> headers = new ArrayList<>();
+        int start = position;
+        // 去掉UTF-8 BOM
+        if (start < recordEnd && buffer[start] == '\uFEFF') {
+            start++;
+        }
+        for (int field = 0; field <= separatorCount; field++) {
+            int end = field < separatorCount ? position + separators[field] : recordEnd;
+            headers.add(unquote(start, end).trim());
+            start = end + 1;
+        }
+        consumeRecord(recordEnd);
+
+        headerColumnCount = headers.size();
+        slotOfColumn = new int[headerColumnCount];
+        Arrays.fill(slotOfColumn, -1);
+        for (int i = 0; i < headerColumnCount; i++) {
+            String header = headers.get(i).toLowerCase(Locale.ROOT);
+            for (int slot = 0; slot < columns.length; slot++) {
+                if (columns[slot].toLowerCase(Locale.ROOT).equals(header)) {
+                    slotOfColumn[i] = slot;
+                    break;
+                }
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * 表头中缺失的目标列
+     */
+    public List<String> getMissingColumns() {
+        boolean[] found = new boolean[columns.length];
+        for (int slot : slotOfColumn) {
+            if (slot >= 0) {
+                found[slot] = true;
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (int slot = 0; slot < columns.length; slot++) {
+            if (!found[slot]) {
+                missing.add(columns[slot]);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 解析下一条完整的数据行，列数少于表头的行会被跳过
+     * @param values 输出数组，长度不小于目标列数；缺失或无法解析的值为 NaN
+     * @return 读到数据行返回 true，文件结束返回 false
+     */
+    public boolean nextRow(double[] values) throws IOException {
+        if (slotOfColumn == null) {
+            readHeader();
+        }
+        while (true) {
+            int recordEnd = nextRecord();
+            if (recordEnd < 0) {
+                return false;
+            }
+
+            int fieldCount = separatorCount + 1;
+            if (fieldCount < headerColumnCount) {
+                consumeRecord(recordEnd);
+                rowsSkipped++;
+                continue;
+            }
+
+            Arrays.fill(values, 0, columns.length, Double.NaN);
+            int start = position;
+            for (int column = 0; column < headerColumnCount; column++) {
+                int end = column < separatorCount ? position + separators[column] : recordEnd;
+                int slot = slotOfColumn[column];
+                if (slot >= 0) {
+                    values[slot] = parseField(start, end);
+                }
+                start = end + 1;
+            }
+            consumeRecord(recordEnd);
+
+            rowsParsed++;
+            return true;
+        }
+    }
+
+    /**
+     * 保证缓冲区中从 position 开始有一条完整的记录
+     * @return 记录结束位置（不含换行符），没有更多记录时返回 -1
+     */
+    private int nextRecord() throws IOException {
+        int scan = position;
+        boolean inQuotes = false;
+        separatorCount = 0;
+        while (true) {
+            char[] buf = buffer;
+            int end = limit;
+            while (scan < end) {
+                char c = buf[scan];
+                if (c == ',') {
+                    if (!inQuotes) {
+                        addSeparator(scan - position);
+                    }
+                } else if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if ((c == '\n' || c == '\r') && !inQuotes) {
+                    return scan;
+                }
+                scan++;
+            }
+            if (eof) {
+                // 文件末尾没有换行符的最后一行
+                return position < limit ? limit : -1;
+            }
+            scan -= position;
+            fill();
+        }
+    }
+
+    /**
+     * 跳过记录及其后的换行符（\r\n 视为一个换行）
+     */
+    private void consumeRecord(int recordEnd) throws IOException {
+        position = recordEnd;
+        if (position < limit && buffer[position] == '\r') {
+            position++;
+            if (position >= limit && !eof) {
+                fill();
+            }
+        }
+        if (position < limit && buffer[position] == '\n') {
+            position++;
+        }
+    }
+
+    /**
+     * 将未处理的内容移到缓冲区头部并继续读取，单条记录超过缓冲区时扩容
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        } else if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        position = 0;
+        limit = remaining;
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+            charsRead += read;
+        }
+    }
+
+    private void addSeparator(int offset) {
+        if (separatorCount == separators.length) {
+            separators = Arrays.copyOf(separators, separators.length * 2);
+        }
+        separators[separatorCount++] = offset;
+    }
+
+    private String unquote(int start, int end) {
+        String raw = new String(buffer, start, end - start).trim();
+        if (raw.length() >= 2 && raw.charAt(0) == '"' && raw.charAt(raw.length() - 1) == '"') {
+            return raw.substring(1, raw.length() - 1).replace("\"\"", "\"");
+        }
+        return raw;
+    }
+
+    /**
+     * 直接从缓冲区解析数值字段，空字段返回 NaN
+     */
+    private double parseField(int start, int end) {
+        while (start < end && buffer[start] <= ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        if (end - start >= 2 && buffer[start] == '"' && buffer[end - 1] == '"') {
+            start++;
+            end--;
+            while (start < end && buffer[start] <= ' ') {
+                start++;
+            }
+            while (end > start && buffer[end - 1] <= ' ') {
+                end--;
+            }
+        }
+        if (start >= end) {
+            return Double.NaN;
+        }
+
+        double value = parseFast(start, end);
+        if (!Double.isNaN(value)) {
+            return value;
+        }
+        // 快速路径无法精确处理的格式交给 Double.parseDouble
+        try {
+            value = Double.parseDouble(new String(buffer, start, end - start));
+            if (Double.isFinite(value)) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // 按解析失败处理
+        }
+        parseFailures++;
+        return Double.NaN;
+    }
+
+    /**
+     * 十进制数快速解析：有效数字不超过15位且指数在 ±22 以内时，两个操作数都能被 double 精确表示，
+     * 一次乘除法的结果即为正确舍入值；
+     * 其他情况返回 NaN 交给调用方回退
+     */
+    private double parseFast(int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (buffer[i] == '-' || buffer[i] == '+') {
+            negative = buffer[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+
+        while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+            anyDigit = true;
+            if (mantissa != 0 || buffer[i] != '0') {
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+                digits++;
+            }
+            i++;
+        }
+        if (i < end && buffer[i] == '.') {
+            i++;
+            while (i < end && buffer[i] >= '0' && buffer[i] <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || buffer[i] != '0') {
+                    mantissa = mantissa * 10 + (buffer[i] - '0');
+                    digits++;
+                }
+                exponent--;
+                i++;
+            }
+        }
+        if (!anyDigit || digits > 15) {
+            return Double.NaN;
+        }
+        if (i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+                negativeExponent = buffer[i] == '-';
+                i++;
+            }
+            int exp = 0;
+            int expStart = i;
+            while (i < end && buffer[i] >= '0' && buffer[i] <= '9' && exp < 1000) {
+                exp = exp * 10 + (buffer[i] - '0');
+                i++;
+            }
+            if (i == expStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -exp : exp;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        } else if (exponent >= 0 && exponent < POW10.length) {
+            value = mantissa * POW10[exponent];
+        } else if (exponent < 0 && -exponent < POW10.length) {
+            value = mantissa / POW10[-exponent];
+        } else {
+            return Double.NaN;
+        }
+        return negative ? -value : value;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.software_management.Ingest;
+
+import com.example.software_management.Cache.LatestReadingCache;
+import com.example.software_management.Inference.TelemetryWindowStore;
+import com.example.software_management.Repository.DataBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 持续上报的传感器读数先进入有界队列，由后台线程按微批次写入 device_data：
+ * 攒满 flush-max-rows 行或距批次第一条读数超过 flush-interval-ms 即写入。
+ * 队列满时 offer 返回 false，由接口返回429，内存占用不会随上报速度无限增长。
+ * 每个组件的一批读数在一个事务中写入，失败时整批回滚后重试，最多 flush-max-attempts 次，仍失败才丢弃
+ */
+@Component
+public class TelemetryIngestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryIngestQueue.class);
+
+    private final DataBatchRepository dataBatchRepository;
+    private final TelemetryWindowStore windowStore;
+    private final LatestReadingCache latestReadingCache;
+    private final MeterRegistry registry;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.ingest.stream.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ingest.stream.flush-max-rows:1000}")
+    private int flushMaxRows;
+
+    @Value("${app.ingest.stream.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    // 一批读数写入失败时的最多尝试次数，包括第一次
+    @Value("${app.ingest.stream.flush-max-attempts:3}")
+    private int flushMaxAttempts;
+
+    // 重试前等待的时间，第 n 次重试等待 n 倍
+    @Value("${app.ingest.stream.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    private BlockingQueue<QueuedReading> queue;
+    private Counter accepted;
+    private Counter rejected;
+    private Counter written;
+    private Counter retried;
+    private Counter failed;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public TelemetryIngestQueue(DataBatchRepository dataBatchRepository, TelemetryWindowStore windowStore,
+                                LatestReadingCache latestReadingCache, MeterRegistry registry,
+                                PlatformTransactionManager transactionManager) {
+        this.dataBatchRepository = dataBatchRepository;
+        this.windowStore = windowStore;
+        this.latestReadingCache = latestReadingCache;
+        this.registry = registry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("telemetry.stream.queue.size", queue, BlockingQueue::size)
+                .description("等待写入的读数条数")
+                .register(registry);
+        accepted = Counter.builder("telemetry.stream.readings.accepted")
+                .description("进入写入队列的读数条数")
+                .register(registry);
+        rejected = Counter.builder("telemetry.stream.readings.rejected")
+                .description("队列已满被拒绝的读数条数")
+                .register(registry);
+        written = Counter.builder("telemetry.stream.readings.written")
+                .description("已写入 device_data 的读数条数")
+                .register(registry);
+        retried = Counter.builder("telemetry.stream.readings.retried")
+                .description("写入失败后重试的读数条数")
+                .register(registry);
+        failed = Counter.builder("telemetry.stream.readings.failed")
+                .description("重试后仍写入失败被丢弃的读数条数")
+                .register(registry);
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "telemetry-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * 停止接收后写完队列中剩余的读数
+     */
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * @return 队列已满或正在停止时返回 false
+     */
+    public boolean offer(int componentId, TelemetryRow row) {
+        if (running && queue.offer(new QueuedReading(componentId, row))) {
+            accepted.increment();
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void flushLoop() {
+        List<QueuedReading> pending = new ArrayList<>(flushMaxRows);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedReading first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (pending.size() < flushMaxRows) {
+                    queue.drainTo(pending, flushMaxRows - pending.size());
+                    if (pending.size() >= flushMaxRows) {
+                        break;
+                    }
+                    QueuedReading next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    pending.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            flush(pending);
+            pending.clear();
+        }
+    }
+
+    /**
+     * 按组件分组写入，每个组件一次 JDBC batch
+     * 重试在写入线程中等待，期间队列继续积压，队列满后接口返回429，由上报端放慢速度
+     */
+    private void flush(List<QueuedReading> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<TelemetryRow>> byComponent = new LinkedHashMap<>();
+        for (QueuedReading reading : pending) {
+            byComponent.computeIfAbsent(reading.componentId, id -> new ArrayList<>()).add(reading.row);
+        }
+        for (Map.Entry<Integer, List<TelemetryRow>> entry : byComponent.entrySet()) {
+            List<TelemetryRow> rows = entry.getValue();
+            if (write(entry.getKey(), rows)) {
+                written.increment(rows.size());
+                // 实时上报只有传感器通道，组件的模型输入窗口不再是最近的周期
+                windowStore.evict(entry.getKey());
+                latestReadingCache.update(entry.getKey(), rows);
+            } else {
+                failed.increment(rows.size());
+            }
+        }
+    }
+
+    /**
+     * 在一个事务中写入数据和汇总，失败时整批回滚，重试不会重复写入
+     * @return 是否写入成功
+     */
+    private boolean write(Integer componentId, List<TelemetryRow> rows) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        dataBatchRepository.insertBatch(componentId, null, rows, flushMaxRows));
+                return true;
+            } catch (Exception e) {
+                if (attempt >= flushMaxAttempts) {
+                    log.error("写入组件 {} 的 {} 条读数失败，已尝试 {} 次，丢弃: {}",
+                            componentId, rows.size(), attempt, e.getMessage());
+                    return false;
+                }
+                log.warn("写入组件 {} 的 {} 条读数失败，第 {} 次重试: {}",
+                        componentId, rows.size(), attempt, e.getMessage());
+                retried.increment(rows.size());
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    // 正在停止，不再等待，直接做最后一次尝试
+                    Thread.currentThread().interrupt();
+                    running = false;
+                    attempt = Math.max(attempt, flushMaxAttempts - 1);
+                }
+            }
+        }
+    }
+
+    private static final class QueuedReading {
+        private final int componentId;
+        private final TelemetryRow row;
+
+        QueuedReading(int componentId, TelemetryRow row) {
+            this.componentId = componentId;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.software_management.Ingest;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 一行待写入 device_data 的传感器读数
+ * values 按 TelemetryChannel 顺序排列，缺失值为 NaN
+ */
+@Getter
+public final class TelemetryRow {
+    private final LocalDateTime time;
+    private final double[] values;
+
+    public TelemetryRow(LocalDateTime time, double[] values) {
+        this.time = time;
+        this.values = values;
+    }
+
+    public double get(TelemetryChannel channel) {
+        return values[channel.ordinal()];
+    }
+}
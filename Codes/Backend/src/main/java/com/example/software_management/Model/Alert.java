@@ -10,7 +10,12 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "alert")
+@Table(name = "alert", indexes = {
+        // 未确认告警列表和各类告警统计，索引覆盖 status
+        @Index(name = "idx_alert_component_confirmed_time", columnList = "component_id, is_confirmed, alert_time, status"),
+        // 未确认警报按时间范围筛选，按报警时间顺序扫描取一页
+        @Index(name = "idx_alert_confirmed_time", columnList = "is_confirmed, alert_time")
+})
 @Getter
 @Setter
 public class Alert implements Serializable {
@@ -1,5 +1,6 @@
 package com.example.software_management.Model;
 
+import com.example.software_management.Cache.MetadataCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +13,13 @@ import java.util.List;
 import java.util.Optional;
 
 @Entity
-@Table(name = "component")
+@EntityListeners(MetadataCacheListener.class)
+@Table(name = "component", indexes = {
+        // 用户的组件列表和状态统计
+        @Index(name = "idx_component_user_status", columnList = "user_id, status"),
+        // 未确认警报按设备名称筛选
+        @Index(name = "idx_component_user_name", columnList = "user_id, name")
+})
 @Getter
 @Setter
 public class Component {
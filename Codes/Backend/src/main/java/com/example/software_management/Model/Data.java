@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "device_data")
+@Table(name = "device_data", indexes = {
+        // 按组件查询最新数据、分页和按时间范围导出
+        @Index(name = "idx_device_data_component_time", columnList = "component_id, time")
+})
 @Getter
 @Setter
 public class Data {
@@ -0,0 +1,98 @@
+package com.example.software_management.Model;
+
+import com.example.software_management.Export.ExportFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "export_job", indexes = {
+        // 按用户统计运行中的任务数、取下一个排队任务
+        @Index(name = "idx_export_job_user_status_created", columnList = "user_id, status, created_time"),
+        // 启动时按状态恢复排队中的任务
+        @Index(name = "idx_export_job_status_created", columnList = "status, created_time"),
+        // 清理过期文件
+        @Index(name = "idx_export_job_status_expires", columnList = "status, expires_time"),
+        @Index(name = "uk_export_job_download_token", columnList = "download_token", unique = true)
+})
+@Getter
+@Setter
+public class ExportJob {
+
+    public enum Type {
+        UNCONFIRMED_ALERTS, // 用户未确认的警报
+        DEVICE_ATTRIBUTES,  // 设备属性值
+        DEVICE_HISTORY      // 设备全部历史数据
+    }
+
+    public enum Status {
+        QUEUED,     // 排队中
+        RUNNING,    // 运行中
+        SUCCEEDED,  // 已完成，可下载
+        FAILED,     // 失败
+        EXPIRED     // 文件已过期删除
+    }
+
+    @Id
+    @Column(name = "id", length = 36, nullable = false)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 32, nullable = false)
+    private Type type;
+
+    // 设备相关导出的设备ID
+    @Column(name = "device_id")
+    private Integer deviceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", length = 16, nullable = false)
+    private ExportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    // 下载文件名（不含路径）
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    // 暂存文件的路径
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // 下载链接中的令牌，任务完成时生成
+    @Column(name = "download_token", length = 64)
+    private String downloadToken;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_time", nullable = false)
+    private LocalDateTime createdTime;
+
+    @Column(name = "started_time")
+    private LocalDateTime startedTime;
+
+    @Column(name = "finished_time")
+    private LocalDateTime finishedTime;
+
+    // 文件过期时间，过期后删除文件、下载链接失效
+    @Column(name = "expires_time")
+    private LocalDateTime expiresTime;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdTime == null) {
+            this.createdTime = LocalDateTime.now();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.software_management.Model;
 
+import com.example.software_management.Storage.ForecastHealthListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
@@ -7,7 +8,11 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "forecast")
+@Table(name = "forecast", indexes = {
+        // 按组件查询最近的预测及健康指数，索引覆盖 health_index
+        @Index(name = "idx_forecast_component_time", columnList = "component_id, forecast_time, health_index")
+})
+@EntityListeners(ForecastHealthListener.class)
 @Getter
 @Setter
 public class Forecast {
@@ -59,9 +64,26 @@ public class Forecast {
      */
     @PostPersist
     public void createAlertIfNeeded() {
+        Alert newAlert = buildAlert();
+        if (newAlert == null) {
+            return;
+        }
+
+        // 双向关联设置
+        this.alert = newAlert;
+
+        // 更新组件状态
+        updateComponentStatus();
+    }
+
+    /**
+     * 按健康指数生成告警（未保存），不需要告警时返回null
+     * 实体回调和 ForecastBatchRepository 的批量写入共用这一规则
+     */
+    public Alert buildAlert() {
         // 如果healthIndex为空或大于等于80，不创建告警
         if (healthIndex == null || healthIndex >= 80) {
-            return;
+            return null;
         }
 
         // 创建新的告警对象
@@ -93,12 +115,7 @@ public class Forecast {
             // 一般告警
             newAlert.setStatus(Alert.Status.NORMAL);
         }
-
-        // 双向关联设置
-        this.alert = newAlert;
-
-        // 更新组件状态
-        updateComponentStatus();
+        return newAlert;
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.example.software_management.Model;
 
+import com.example.software_management.Cache.MetadataCacheListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +10,7 @@ import lombok.Setter;
 import java.util.List;
 
 @Entity
+@EntityListeners(MetadataCacheListener.class)
 @Table(name = "model")
 @Getter
 @Setter
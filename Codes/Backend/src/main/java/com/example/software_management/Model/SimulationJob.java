@@ -0,0 +1,67 @@
+package com.example.software_management.Model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "simulation_job", indexes = {
+        // 启动时按状态恢复排队中的任务
+        @Index(name = "idx_simulation_job_status_created", columnList = "status, created_time")
+})
+@Getter
+@Setter
+public class SimulationJob {
+
+    public enum Status {
+        QUEUED,     // 排队中
+        RUNNING,    // 运行中
+        SUCCEEDED,  // 已完成
+        FAILED      // 失败
+    }
+
+    @Id
+    @Column(name = "id", length = 36, nullable = false)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "model_id", nullable = false)
+    private Integer modelId;
+
+    @Column(name = "device_id", nullable = false)
+    private Integer deviceId;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    // 模拟结果（JSON）
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_time", nullable = false)
+    private LocalDateTime createdTime;
+
+    @Column(name = "started_time")
+    private LocalDateTime startedTime;
+
+    @Column(name = "finished_time")
+    private LocalDateTime finishedTime;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdTime == null) {
+            this.createdTime = LocalDateTime.now();
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.example.software_management.Repository;
 
 import com.example.software_management.Model.Alert;
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, Integer> {
+public interface AlertRepository extends JpaRepository<Alert, Integer>, JpaSpecificationExecutor<Alert>,
+        AlertRepositoryCustom {
 
     // 删除警报
     @Modifying
@@ -23,25 +24,33 @@ public interface AlertRepository extends JpaRepository<Alert, Integer> {
     int deleteByIdIn(@Param("ids") List<Integer> ids);
 
     /**
-     * 查询用户未确认的警报设备
+     * 导出用的键集分页：第一页，按报警时间和ID倒序
      * @param userId 用户ID
-     * @param deviceName 设备名称（可选，模糊匹配）
-     * @param startTime 开始时间（可选）
-     * @param endTime 结束时间（可选）
-     * @param pageable 分页参数
-     * @return 警报分页结果
+     * @param pageable 只使用每页条数
+     * @return 警报列表（组件随警报一次查出）
      */
-    @Query("SELECT a FROM Alert a JOIN a.component c WHERE c.user.id = :userId " +
-            "AND a.isConfirmed = false " +
-            "AND (:deviceName IS NULL OR c.name LIKE CONCAT('%', :deviceName, '%')) " +
-            "AND (:startTime IS NULL OR a.alertTime >= :startTime) " +
-            "AND (:endTime IS NULL OR a.alertTime <= :endTime) " +
-            "ORDER BY a.alertTime DESC")
-    Page<Alert> findUnconfirmedAlerts(
+    @Query("SELECT a FROM Alert a JOIN FETCH a.component c " +
+            "WHERE c.user.id = :userId AND a.isConfirmed = false " +
+            "ORDER BY a.alertTime DESC, a.id DESC")
+    List<Alert> findUnconfirmedAlertsForExport(@Param("userId") Integer userId, Pageable pageable);
+
+    /**
+     * 导出用的键集分页：从上一页最后一条 (alertTime, id) 之后继续，不使用 OFFSET
+     * @param userId 用户ID
+     * @param alertTime 上一页最后一条的报警时间
+     * @param alertId 上一页最后一条的ID
+     * @param pageable 只使用每页条数
+     * @return 警报列表（组件随警报一次查出）
+     */
+    @Query("SELECT a FROM Alert a JOIN FETCH a.component c " +
+            "WHERE c.user.id = :userId AND a.isConfirmed = false " +
+            "AND a.alertTime <= :alertTime " +
+            "AND (a.alertTime < :alertTime OR a.id < :alertId) " +
+            "ORDER BY a.alertTime DESC, a.id DESC")
+    List<Alert> findUnconfirmedAlertsForExportAfter(
             @Param("userId") Integer userId,
-            @Param("deviceName") String deviceName,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
+            @Param("alertTime") LocalDateTime alertTime,
+            @Param("alertId") Integer alertId,
             Pageable pageable);
 
     /**
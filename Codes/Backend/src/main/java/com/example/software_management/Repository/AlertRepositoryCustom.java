@@ -0,0 +1,19 @@
+package com.example.software_management.Repository;
+
+import java.time.LocalDateTime;
+
+public interface AlertRepositoryCustom {
+
+    /**
+     * 统计用户未确认的警报数，数到 limit 条即停止扫描
+     * 筛选条件与 AlertSpecifications 中的同名条件一致，为 null 或空时不筛选
+     * @param userId 用户ID
+     * @param deviceName 设备名称包含的关键字
+     * @param startTime 报警时间不早于
+     * @param endTime 报警时间不晚于
+     * @param limit 计数上限
+     * @return 警报数，不超过 limit
+     */
+    long countUnconfirmedUpTo(Integer userId, String deviceName, LocalDateTime startTime, LocalDateTime endTime,
+                              int limit);
+}
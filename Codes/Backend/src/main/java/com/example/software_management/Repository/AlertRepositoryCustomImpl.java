@@ -0,0 +1,53 @@
+package com.example.software_management.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+
+/**
+ * AlertRepository 中 Specification 无法直接表达的查询
+ */
+public class AlertRepositoryCustomImpl implements AlertRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public AlertRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public long countUnconfirmedUpTo(Integer userId, String deviceName, LocalDateTime startTime,
+                                     LocalDateTime endTime, int limit) {
+        // 派生表中的 LIMIT 让数据库数到 limit 行即停止扫描，只返回一个计数，不把行取回应用
+        // JPQL 和 Criteria 不支持 FROM 子查询，因此按实际提供的条件拼接原生 SQL
+        boolean byName = deviceName != null && !deviceName.isEmpty();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (SELECT 1 FROM alert a")
+                .append(" JOIN component c ON c.id = a.component_id")
+                .append(" WHERE c.user_id = :userId AND a.is_confirmed = false");
+        if (byName) {
+            sql.append(" AND c.name LIKE :deviceName");
+        }
+        if (startTime != null) {
+            sql.append(" AND a.alert_time >= :startTime");
+        }
+        if (endTime != null) {
+            sql.append(" AND a.alert_time <= :endTime");
+        }
+        sql.append(" LIMIT :limit) counted");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("userId", userId)
+                .setParameter("limit", limit);
+        if (byName) {
+            query.setParameter("deviceName", "%" + deviceName + "%");
+        }
+        if (startTime != null) {
+            query.setParameter("startTime", startTime);
+        }
+        if (endTime != null) {
+            query.setParameter("endTime", endTime);
+        }
+        return ((Number) query.getSingleResult()).longValue();
+    }
+}
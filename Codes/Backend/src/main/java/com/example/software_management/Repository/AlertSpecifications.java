@@ -0,0 +1,96 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.Alert;
+import com.example.software_management.Model.Component;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 未确认警报列表的查询条件，由调用方只组合实际提供的筛选条件，
+ * 不再使用 (:param IS NULL OR ...) 的写法，MySQL 可按实际条件选择索引
+ */
+public final class AlertSpecifications {
+
+    // 列表和游标分页的排序：报警时间倒序，相同时间按ID倒序
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "alertTime")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private AlertSpecifications() {
+    }
+
+    /**
+     * 用户未确认的警报；查询警报实体时组件、预测和确认人随警报一次查出，计数查询只做普通连接
+     * @param userId 用户ID
+     */
+    public static Specification<Alert> unconfirmedOf(Integer userId) {
+        return (root, query, cb) -> {
+            if (query.getResultType() == Alert.class) {
+                root.fetch("component", JoinType.INNER);
+                root.fetch("forecast", JoinType.LEFT);
+                root.fetch("confirmedBy", JoinType.LEFT);
+            }
+            return cb.and(
+                    cb.equal(component(root).get("user").get("id"), userId),
+                    cb.isFalse(root.get("isConfirmed")));
+        };
+    }
+
+    /**
+     * 设备名称包含 deviceName
+     * @param deviceName 设备名称
+     */
+    public static Specification<Alert> deviceNameContains(String deviceName) {
+        return (root, query, cb) -> cb.like(component(root).get("name"), "%" + deviceName + "%");
+    }
+
+    /**
+     * 报警时间不早于 startTime
+     * @param startTime 开始时间
+     */
+    public static Specification<Alert> alertTimeFrom(LocalDateTime startTime) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("alertTime"), startTime);
+    }
+
+    /**
+     * 报警时间不晚于 endTime
+     * @param endTime 结束时间
+     */
+    public static Specification<Alert> alertTimeTo(LocalDateTime endTime) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("alertTime"), endTime);
+    }
+
+    /**
+     * 按 NEWEST_FIRST 排序时位于 (alertTime, alertId) 之后的警报，用于游标分页
+     * @param alertTime 上一页最后一条的报警时间
+     * @param alertId 上一页最后一条的ID
+     */
+    public static Specification<Alert> after(LocalDateTime alertTime, Integer alertId) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("alertTime"), alertTime),
+                cb.or(cb.lessThan(root.get("alertTime"), alertTime), cb.lessThan(root.get("id"), alertId)));
+    }
+
+    /**
+     * 复用已有的组件连接（fetch 或 join），避免每个条件各连接一次 component
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Alert, Component> component(Root<Alert> root) {
+        for (Fetch<Alert, ?> fetch : root.getFetches()) {
+            if ("component".equals(fetch.getAttribute().getName()) && fetch instanceof Join) {
+                return (Join<Alert, Component>) fetch;
+            }
+        }
+        for (Join<Alert, ?> join : root.getJoins()) {
+            if ("component".equals(join.getAttribute().getName())) {
+                return (Join<Alert, Component>) join;
+            }
+        }
+        return root.join("component", JoinType.INNER);
+    }
+}
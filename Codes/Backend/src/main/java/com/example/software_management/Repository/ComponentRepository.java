@@ -24,6 +24,15 @@ public interface ComponentRepository extends JpaRepository<Component, Integer> {
      */
     long countByUserId(Integer userId);
 
+    /**
+     * 判断组件是否属于指定用户
+     * @param id 组件ID
+     * @param userId 用户ID
+     * @return 组件存在且属于该用户时为 true
+     */
+    @Query("SELECT COUNT(c) > 0 FROM Component c WHERE c.id = :id AND c.user.id = :userId")
+    boolean existsByIdAndUserId(@Param("id") Integer id, @Param("userId") Integer userId);
+
     @Query("SELECT c FROM Component c WHERE c.user.id = :userId")
     Page<Component> findByUserId(@Param("userId") Integer userId, Pageable pageable);
 
@@ -52,46 +61,37 @@ public interface ComponentRepository extends JpaRepository<Component, Integer> {
 
 
     /**
-     * 查询组件的健康指数趋势（最近7天），包含日期
+     * 查询组件最近若干天（含当天）的健康指数趋势，包含日期
+     * 读取 forecast_health_daily 中的天汇总，按主键范围最多读取 days 行
      * @param componentId 组件ID
+     * @param days 天数
      * @return 日期和健康指数趋势数据
      */
     @Query(nativeQuery = true,
-            value = "SELECT DATE(f.forecast_time) as date, AVG(f.health_index) as health_index " +
-                    "FROM forecast f " +
-                    "WHERE f.component_id = :componentId " +
-                    "AND f.forecast_time >= DATE_SUB(CURRENT_DATE(), INTERVAL 7 DAY) " +
-                    "GROUP BY DATE(f.forecast_time) " +
-                    "ORDER BY DATE(f.forecast_time)")
-    List<Object[]> getComponentHealthTrendWithDates(@Param("componentId") Integer componentId);
+            value = "SELECT h.day as date, h.health_sum / h.health_count as health_index " +
+                    "FROM forecast_health_daily h " +
+                    "WHERE h.component_id = :componentId " +
+                    "AND h.day > DATE_SUB(CURRENT_DATE(), INTERVAL :days DAY) " +
+                    "AND h.health_count > 0 " +
+                    "ORDER BY h.day")
+    List<Object[]> getComponentHealthTrendWithDates(@Param("componentId") Integer componentId,
+                                                    @Param("days") int days);
 
     /**
-     * 查询组件的能耗数据趋势（最近7天），包含日期
+     * 查询组件的能耗数据趋势（最近7天，含当天），包含日期
+     * 读取 device_data_rollup 中的天汇总，按主键范围最多读取7行
      * @param componentId 组件ID
      * @return 日期和能耗数据趋势
      */
     @Query(nativeQuery = true,
-            value = "SELECT DATE(d.time) as date, AVG(d.wf) as energy_consumption " +
-                    "FROM device_data d " +
-                    "WHERE d.component_id = :componentId " +
-                    "AND d.time >= DATE_SUB(CURRENT_DATE(), INTERVAL 7 DAY) " +
-                    "GROUP BY DATE(d.time) " +
-                    "ORDER BY DATE(d.time)")
+            value = "SELECT DATE(r.bucket_start) as date, r.wf_sum / r.wf_count as energy_consumption " +
+                    "FROM device_data_rollup r " +
+                    "WHERE r.component_id = :componentId " +
+                    "AND r.granularity = 'DAY' " +
+                    "AND r.bucket_start >= DATE_SUB(CURRENT_DATE(), INTERVAL 6 DAY) " +
+                    "AND r.wf_count > 0 " +
+                    "ORDER BY r.bucket_start")
     List<Object[]> getComponentEnergyTrendWithDates(@Param("componentId") Integer componentId);
 
 
-
-    /**
-     * 查询组件的当前能耗成本
-     * @param componentId 组件ID
-     * @return 能耗成本
-     */
-    @Query(nativeQuery = true,
-            value = "SELECT AVG(d.wf) as energy_cost " +
-                    "FROM device_data d " +
-                    "WHERE d.component_id = :componentId " +
-                    "AND DATE(d.time) = CURRENT_DATE()")
-    Double getComponentEnergyCost(@Param("componentId") Integer componentId);
-
-
 }
\ No newline at end of file
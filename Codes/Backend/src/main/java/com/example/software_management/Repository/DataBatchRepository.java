@@ -0,0 +1,137 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * device_data 的批量写入
+ * Data 使用 IDENTITY 主键，Hibernate 无法对其批量插入，因此这里直接走 JDBC batch。
+ * DataSourceConfig 为连接池默认加上 rewriteBatchedStatements=true，MySQL 驱动会把每个批次改写为多行 INSERT。
+ * 写入的同时累加 device_data_rollup 中的小时和天汇总，在调用方的事务中一并提交。
+ */
+@Repository
+public class DataBatchRepository {
+
+    private static final String INSERT_SQL = buildInsertSql();
+    private static final String HISTORY_FIRST_PAGE_SQL = buildHistorySql(false);
+    private static final String HISTORY_NEXT_PAGE_SQL = buildHistorySql(true);
+    private static final RowMapper<HistoryRow> HISTORY_ROW_MAPPER =
+            (rs, rowNum) -> new HistoryRow(rs.getLong("id"), readRow(rs));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataRollupRepository dataRollupRepository;
+
+    public DataBatchRepository(JdbcTemplate jdbcTemplate, DataRollupRepository dataRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataRollupRepository = dataRollupRepository;
+    }
+
+    /**
+     * 批量插入传感器数据
+     * @param componentId 组件ID
+     * @param file 数据来源文件
+     * @param rows 数据行
+     * @param batchSize 每个JDBC批次的行数
+     * @return 插入的行数
+     */
+    public int insertBatch(Integer componentId, String file, List<TelemetryRow> rows, int batchSize) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> bindRow(ps, componentId, file, row));
+        dataRollupRepository.accumulate(componentId, rows);
+        return rows.size();
+    }
+
+    /**
+     * 按时间先后分页读取组件的全部数据，用 (time, id) 键集定位下一页，不使用 OFFSET，
+     * 每页都从 (component_id, time) 索引上直接定位
+     * @param componentId 组件ID
+     * @param afterTime 上一页最后一行的时间，读取第一页时为 null
+     * @param afterId 上一页最后一行的ID
+     * @param limit 每页行数
+     * @return 数据行，少于 limit 行时表示已读完
+     */
+    public List<HistoryRow> findHistoryPage(Integer componentId, LocalDateTime afterTime, long afterId, int limit) {
+        if (afterTime == null) {
+            return jdbcTemplate.query(HISTORY_FIRST_PAGE_SQL, HISTORY_ROW_MAPPER, componentId, limit);
+        }
+        Timestamp after = Timestamp.valueOf(afterTime);
+        return jdbcTemplate.query(HISTORY_NEXT_PAGE_SQL, HISTORY_ROW_MAPPER,
+                componentId, after, after, afterId, limit);
+    }
+
+    private static TelemetryRow readRow(ResultSet rs) throws SQLException {
+        double[] values = new double[TelemetryChannel.COUNT];
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            double value = rs.getDouble(channel.getColumn());
+            values[channel.ordinal()] = rs.wasNull() ? Double.NaN : value;
+        }
+        return new TelemetryRow(rs.getTimestamp("time").toLocalDateTime(), values);
+    }
+
+    private static void bindRow(PreparedStatement ps, Integer componentId, String file, TelemetryRow row)
+            throws SQLException {
+        int index = 1;
+        ps.setInt(index++, componentId);
+        if (file != null) {
+            ps.setString(index++, file);
+        } else {
+            ps.setNull(index++, Types.VARCHAR);
+        }
+        ps.setTimestamp(index++, Timestamp.valueOf(row.getTime()));
+        for (double value : row.getValues()) {
+            if (Double.isNaN(value)) {
+                ps.setNull(index++, Types.DOUBLE);
+            } else {
+                ps.setDouble(index++, value);
+            }
+        }
+    }
+
+    private static String buildHistorySql(boolean afterCursor) {
+        StringBuilder columns = new StringBuilder("id, time");
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            columns.append(", ").append(channel.getColumn());
+        }
+        return "SELECT " + columns + " FROM device_data WHERE component_id = ?"
+                + (afterCursor ? " AND time >= ? AND (time > ? OR id > ?)" : "")
+                + " ORDER BY time, id LIMIT ?";
+    }
+
+    private static String buildInsertSql() {
+        StringBuilder columns = new StringBuilder("component_id, file, time");
+        StringBuilder placeholders = new StringBuilder("?, ?, ?");
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            columns.append(", ").append(channel.getColumn());
+            placeholders.append(", ?");
+        }
+        return "INSERT INTO device_data (" + columns + ") VALUES (" + placeholders + ")";
+    }
+
+    /**
+     * device_data 中的一行及其ID
+     */
+    @Getter
+    public static final class HistoryRow {
+        private final long id;
+        private final TelemetryRow row;
+
+        public HistoryRow(long id, TelemetryRow row) {
+            this.id = id;
+            this.row = row;
+        }
+    }
+}
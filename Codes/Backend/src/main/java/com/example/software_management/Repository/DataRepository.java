@@ -10,6 +10,8 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -46,12 +48,41 @@ public interface DataRepository extends JpaRepository<Data, Integer> {
     Optional<Data> getLatestComponentData(@Param("componentId") Integer componentId);
 
     /**
-     * 将数据转换为属性列表格式
-     * 注意：这不是JPQL查询，而是一个辅助方法，应该在Service层使用
+     * 批量查询多个组件各自的最新数据
+     * 子查询按 (component_id, time) 索引取每个组件的最大时间，再按该时间取回整行
+     * @param componentIds 组件ID
+     * @return 最新的数据记录，同一时间有多行时都会返回
      */
-    default List<Map<String, Object>> getComponentAttributes(Integer componentId) {
-        Optional<Data> dataOptional = getLatestComponentData(componentId);
+    @Query(nativeQuery = true,
+            value = "SELECT d.* FROM device_data d " +
+                    "JOIN (SELECT component_id, MAX(time) AS time FROM device_data " +
+                    "WHERE component_id IN (:componentIds) GROUP BY component_id) latest " +
+                    "ON d.component_id = latest.component_id AND d.time = latest.time")
+    List<Data> findLatestByComponentIds(@Param("componentIds") Collection<Integer> componentIds);
+
+    /**
+     * 批量查询多个组件各自的最新数据，同一时间有多行时取ID最大的一行
+     * @param componentIds 组件ID
+     * @return 组件ID到最新数据的映射，没有数据的组件不包含在内
+     */
+    default Map<Integer, Data> findLatestByComponentIdIn(Collection<Integer> componentIds) {
+        Map<Integer, Data> latest = new HashMap<>();
+        if (componentIds.isEmpty()) {
+            return latest;
+        }
+        for (Data data : findLatestByComponentIds(componentIds)) {
+            latest.merge(data.getComponent().getId(), data,
+                    (current, candidate) -> candidate.getId() > current.getId() ? candidate : current);
+        }
+        return latest;
+    }
 
+    /**
+     * 将数据转换为属性列表格式
+     * 注意：这不是JPQL查询，而是一个辅助方法，应该在Service层使用；
+     * 组件的最新数据从 LatestReadingCache 获取，例如 toComponentAttributes(cache.get(id).map(LatestReading::toData))
+     */
+    static List<Map<String, Object>> toComponentAttributes(Optional<Data> dataOptional) {
         if (!dataOptional.isPresent()) {
             return List.of();
         }
@@ -0,0 +1,151 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * device_data_rollup：每个组件按小时和按天汇总的各通道最小值、最大值、总和与计数
+ * 写入 device_data 的同时按批次累加，趋势查询直接读取汇总行，不再扫描原始数据
+ * 表结构由迁移脚本 V3__rollup_tables.sql 创建，首次回填由 V6__backfill_rollups.sql 完成
+ */
+@Repository
+public class DataRollupRepository {
+
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+
+    private static final String UPSERT_SQL = buildUpsertSql();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 将一批数据行累加到所属的小时和天汇总行
+     * @param componentId 组件ID
+     * @param rows 数据行
+     */
+    public void accumulate(Integer componentId, List<TelemetryRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // 先在内存中按时间段合并，每个时间段只执行一次 upsert；按主键顺序写入，减少并发导入时的锁冲突
+        Map<String, Bucket> buckets = new TreeMap<>();
+        for (TelemetryRow row : rows) {
+            LocalDateTime hour = row.getTime().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = row.getTime().toLocalDate().atStartOfDay();
+            buckets.computeIfAbsent(DAY + day, key -> new Bucket(DAY, day)).add(row.getValues());
+            buckets.computeIfAbsent(HOUR + hour, key -> new Bucket(HOUR, hour)).add(row.getValues());
+        }
+        List<Bucket> batch = new ArrayList<>(buckets.values());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(),
+                (ps, bucket) -> bindBucket(ps, componentId, bucket));
+    }
+
+    /**
+     * 删除早于指定时间的小时汇总，天汇总长期保留
+     */
+    public int deleteHourlyBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM device_data_rollup WHERE granularity = ? AND bucket_start < ?",
+                HOUR, Timestamp.valueOf(cutoff));
+    }
+
+    private static void bindBucket(PreparedStatement ps, Integer componentId, Bucket bucket) throws SQLException {
+        int index = 1;
+        ps.setInt(index++, componentId);
+        ps.setString(index++, bucket.granularity);
+        ps.setTimestamp(index++, Timestamp.valueOf(bucket.start));
+        ps.setLong(index++, bucket.rows);
+        for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+            if (bucket.count[channel] > 0) {
+                ps.setDouble(index++, bucket.min[channel]);
+                ps.setDouble(index++, bucket.max[channel]);
+            } else {
+                ps.setNull(index++, Types.DOUBLE);
+                ps.setNull(index++, Types.DOUBLE);
+            }
+            ps.setDouble(index++, bucket.sum[channel]);
+            ps.setLong(index++, bucket.count[channel]);
+        }
+    }
+
+    private static String buildUpsertSql() {
+        StringBuilder columns = new StringBuilder("component_id, granularity, bucket_start, row_count");
+        StringBuilder placeholders = new StringBuilder("?, ?, ?, ?");
+        StringBuilder updates = new StringBuilder("row_count = row_count + new.row_count");
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            String prefix = prefix(channel);
+            columns.append(", ").append(prefix).append("_min, ").append(prefix).append("_max, ")
+                    .append(prefix).append("_sum, ").append(prefix).append("_count");
+            placeholders.append(", ?, ?, ?, ?");
+            // LEAST/GREATEST 遇到 NULL 返回 NULL，任一侧没有数据时取另一侧
+            updates.append(", ").append(prefix).append("_min = COALESCE(LEAST(").append(prefix).append("_min, new.")
+                    .append(prefix).append("_min), ").append(prefix).append("_min, new.").append(prefix).append("_min)")
+                    .append(", ").append(prefix).append("_max = COALESCE(GREATEST(").append(prefix).append("_max, new.")
+                    .append(prefix).append("_max), ").append(prefix).append("_max, new.").append(prefix).append("_max)")
+                    .append(", ").append(prefix).append("_sum = ").append(prefix).append("_sum + new.")
+                    .append(prefix).append("_sum")
+                    .append(", ").append(prefix).append("_count = ").append(prefix).append("_count + new.")
+                    .append(prefix).append("_count");
+        }
+        // 行别名 new 引用待插入的值（MySQL 8.0.19+，取代已废弃的 VALUES() 函数）
+        return "INSERT INTO device_data_rollup (" + columns + ") VALUES (" + placeholders + ") AS new"
+                + " ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    private static String prefix(TelemetryChannel channel) {
+        return channel.getColumn().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 一个时间段内的累加值，NaN 不计入
+     */
+    private static final class Bucket {
+        private final String granularity;
+        private final LocalDateTime start;
+        private long rows;
+        private final double[] min = new double[TelemetryChannel.COUNT];
+        private final double[] max = new double[TelemetryChannel.COUNT];
+        private final double[] sum = new double[TelemetryChannel.COUNT];
+        private final long[] count = new long[TelemetryChannel.COUNT];
+
+        Bucket(String granularity, LocalDateTime start) {
+            this.granularity = granularity;
+            this.start = start;
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(double[] values) {
+            rows++;
+            for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+                double value = values[channel];
+                if (Double.isNaN(value)) {
+                    continue;
+                }
+                min[channel] = Math.min(min[channel], value);
+                max[channel] = Math.max(max[channel], value);
+                sum[channel] += value;
+                count[channel]++;
+            }
+        }
+    }
+}
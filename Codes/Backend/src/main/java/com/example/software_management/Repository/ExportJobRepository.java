@@ -0,0 +1,59 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.ExportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, String> {
+
+    /**
+     * 统计用户处于指定状态的任务数
+     * @param userId 用户ID
+     * @param statuses 任务状态
+     * @return 任务数
+     */
+    long countByUserIdAndStatusIn(Integer userId, Collection<ExportJob.Status> statuses);
+
+    /**
+     * 获取用户最早提交的一个指定状态的任务
+     * @param userId 用户ID
+     * @param status 任务状态
+     * @return 任务
+     */
+    Optional<ExportJob> findFirstByUserIdAndStatusOrderByCreatedTimeAsc(Integer userId, ExportJob.Status status);
+
+    /**
+     * 按状态查询任务，按创建时间排序
+     * @param statuses 任务状态
+     * @return 任务列表
+     */
+    List<ExportJob> findByStatusInOrderByCreatedTimeAsc(Collection<ExportJob.Status> statuses);
+
+    /**
+     * 查询指定状态下已过期的任务
+     * @param status 任务状态
+     * @param time 截止时间
+     * @return 任务列表
+     */
+    List<ExportJob> findByStatusAndExpiresTimeBefore(ExportJob.Status status, LocalDateTime time);
+
+    /**
+     * 根据下载令牌查询任务
+     * @param downloadToken 下载令牌
+     * @return 任务
+     */
+    Optional<ExportJob> findByDownloadToken(String downloadToken);
+
+    /**
+     * 查询用户最近提交的任务
+     * @param userId 用户ID
+     * @return 任务列表，最新的在前
+     */
+    List<ExportJob> findTop50ByUserIdOrderByCreatedTimeDesc(Integer userId);
+}
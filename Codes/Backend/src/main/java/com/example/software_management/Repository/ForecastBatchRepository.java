@@ -0,0 +1,129 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.Alert;
+import com.example.software_management.Model.Forecast;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * forecast 的批量写入
+ * Forecast 使用 IDENTITY 主键并在 @PostPersist 中生成告警，Hibernate 只能逐行 INSERT，因此与 DataBatchRepository 一样直接走 JDBC batch，
+ * 按批次顺序回填生成的ID。实体回调做的事在这里显式完成：按 Forecast.buildAlert 的规则批量写入告警、
+ * 更新设备状态，并累加 forecast_health_daily。需要在调用方的事务中执行，预测上的设备应为该事务中受管的实体，
+ * 状态和警告时间的修改随事务提交写入
+ */
+@Repository
+public class ForecastBatchRepository {
+
+    private static final String INSERT_FORECAST_SQL = "INSERT INTO forecast "
+            + "(life_forecast, forecast_time, health_index, damage_location, model_id, component_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ALERT_SQL = "INSERT INTO alert "
+            + "(component_id, alert_time, status, alert_description, is_confirmed, forecast_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForecastHealthRollupRepository forecastHealthRollupRepository;
+
+    public ForecastBatchRepository(JdbcTemplate jdbcTemplate,
+                                   ForecastHealthRollupRepository forecastHealthRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.forecastHealthRollupRepository = forecastHealthRollupRepository;
+    }
+
+    /**
+     * 批量插入预测记录及其告警，写入后每个预测的 id 和 alert 已设置
+     * @param forecasts 未保存的预测
+     */
+    public void insertBatch(List<Forecast> forecasts) {
+        if (forecasts.isEmpty()) {
+            return;
+        }
+        for (Forecast forecast : forecasts) {
+            forecast.prePersist();
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_FORECAST_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindForecast(ps, forecasts.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return forecasts.size();
+                    }
+                },
+                keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != forecasts.size()) {
+            throw new IllegalStateException("预测记录生成的ID数量与写入行数不一致: " + keys.size() + " / " + forecasts.size());
+        }
+        for (int i = 0; i < forecasts.size(); i++) {
+            forecasts.get(i).setId(((Number) keys.get(i).values().iterator().next()).intValue());
+        }
+
+        List<Alert> alerts = new ArrayList<>();
+        for (Forecast forecast : forecasts) {
+            Alert alert = forecast.buildAlert();
+            if (alert != null) {
+                forecast.setAlert(alert);
+                forecast.updateComponentStatus();
+                alerts.add(alert);
+            }
+        }
+        if (!alerts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ALERT_SQL, alerts, alerts.size(), ForecastBatchRepository::bindAlert);
+        }
+
+        forecastHealthRollupRepository.addAll(forecasts);
+    }
+
+    private static void bindForecast(PreparedStatement ps, Forecast forecast) throws SQLException {
+        ps.setDouble(1, forecast.getLifeForecast());
+        ps.setTimestamp(2, Timestamp.valueOf(forecast.getForecastTime()));
+        if (forecast.getHealthIndex() != null) {
+            ps.setInt(3, forecast.getHealthIndex());
+        } else {
+            ps.setNull(3, Types.INTEGER);
+        }
+        ps.setString(4, forecast.getDamageLocation());
+        if (forecast.getModel() != null) {
+            ps.setInt(5, forecast.getModel().getId());
+        } else {
+            ps.setNull(5, Types.INTEGER);
+        }
+        if (forecast.getComponent() != null) {
+            ps.setInt(6, forecast.getComponent().getId());
+        } else {
+            ps.setNull(6, Types.INTEGER);
+        }
+    }
+
+    private static void bindAlert(PreparedStatement ps, Alert alert) throws SQLException {
+        LocalDateTime alertTime = alert.getAlertTime();
+        ps.setInt(1, alert.getComponent().getId());
+        ps.setTimestamp(2, Timestamp.valueOf(alertTime));
+        // Alert.status 按序号保存（EnumType.ORDINAL）
+        ps.setInt(3, alert.getStatus().ordinal());
+        ps.setString(4, alert.getAlertDescription());
+        ps.setBoolean(5, alert.getIsConfirmed());
+        ps.setInt(6, alert.getForecast().getId());
+    }
+}
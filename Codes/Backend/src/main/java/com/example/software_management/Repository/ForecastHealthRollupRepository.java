@@ -0,0 +1,68 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.Forecast;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * forecast_health_daily：每个组件每天预测健康指数的总和、次数、最小值和最大值
+ * 保存预测时累加，健康趋势查询按主键读取天汇总，不再对 forecast 表分组求平均
+ * 表结构由迁移脚本 V3__rollup_tables.sql 创建，首次回填由 V6__backfill_rollups.sql 完成
+ */
+@Repository
+public class ForecastHealthRollupRepository {
+
+    private static final String ADD_SQL = "INSERT INTO forecast_health_daily "
+            + "(component_id, day, health_sum, health_count, health_min, health_max) "
+            + "VALUES (?, ?, ?, 1, ?, ?) AS new ON DUPLICATE KEY UPDATE "
+            + "health_sum = health_sum + new.health_sum, "
+            + "health_count = health_count + 1, "
+            + "health_min = COALESCE(LEAST(health_min, new.health_min), new.health_min), "
+            + "health_max = COALESCE(GREATEST(health_max, new.health_max), new.health_max)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ForecastHealthRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 累加一次预测的健康指数
+     */
+    public void add(Integer componentId, LocalDate day, int healthIndex) {
+        jdbcTemplate.update(ADD_SQL, componentId, Date.valueOf(day), healthIndex, healthIndex, healthIndex);
+    }
+
+    /**
+     * 在一个 JDBC batch 中累加多次预测的健康指数，同一组件同一天可以出现多次
+     * 与 ForecastHealthListener 一样跳过缺少设备、健康指数或预测时间的预测
+     */
+    public void addAll(List<Forecast> forecasts) {
+        List<Forecast> counted = forecasts.stream()
+                .filter(f -> f.getComponent() != null && f.getHealthIndex() != null && f.getForecastTime() != null)
+                .toList();
+        if (counted.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_SQL, counted, counted.size(), (ps, forecast) -> {
+            ps.setInt(1, forecast.getComponent().getId());
+            ps.setDate(2, Date.valueOf(forecast.getForecastTime().toLocalDate()));
+            ps.setInt(3, forecast.getHealthIndex());
+            ps.setInt(4, forecast.getHealthIndex());
+            ps.setInt(5, forecast.getHealthIndex());
+        });
+    }
+
+    /**
+     * 扣除一次被删除的预测；最小值和最大值无法回退，保留为当天出现过的范围
+     */
+    public void subtract(Integer componentId, LocalDate day, int healthIndex) {
+        jdbcTemplate.update("UPDATE forecast_health_daily SET health_sum = health_sum - ?, "
+                        + "health_count = GREATEST(health_count - 1, 0) WHERE component_id = ? AND day = ?",
+                healthIndex, componentId, Date.valueOf(day));
+    }
+}
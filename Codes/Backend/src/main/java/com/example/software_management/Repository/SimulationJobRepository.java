@@ -0,0 +1,19 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.SimulationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SimulationJobRepository extends JpaRepository<SimulationJob, String> {
+
+    /**
+     * 按状态查询任务，按创建时间排序
+     * @param statuses 任务状态
+     * @return 任务列表
+     */
+    List<SimulationJob> findByStatusInOrderByCreatedTimeAsc(Collection<SimulationJob.Status> statuses);
+}
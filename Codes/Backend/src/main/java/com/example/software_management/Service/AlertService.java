@@ -1,7 +1,8 @@
 package com.example.software_management.Service;
 
 import com.example.software_management.DTO.AlertDTO;
-import org.springframework.core.io.Resource;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -27,6 +28,27 @@ public interface AlertService {
             int page,
             int pageSize);
 
+    /**
+     * 按游标分页获取用户未确认的警报设备，按报警时间和ID倒序，不使用 OFFSET
+     * @param userId 用户ID
+     * @param deviceName 设备名称（可选，模糊匹配）
+     * @param startTime 开始时间（可选）
+     * @param endTime 结束时间（可选）
+     * @param cursor 上一页返回的 nextCursor，为空时取第一页
+     * @param pageSize 每页条数
+     * @param countMode 总数统计方式：exact（精确，默认）、estimated（数到上限为止）、none（不统计）
+     * @return alerts、nextCursor（没有下一页时为null）、hasMore；统计总数时包含 total 和 totalExact
+     * @throws IllegalArgumentException 游标无效或统计方式不支持
+     */
+    Map<String, Object> getUnconfirmedAlertsByCursor(
+            Integer userId,
+            String deviceName,
+            String startTime,
+            String endTime,
+            String cursor,
+            int pageSize,
+            String countMode);
+
     /**
      * 批量更新设备警报状态为已确认
      * @param alertIds 需要确认的报警ID列表
@@ -43,11 +65,12 @@ public interface AlertService {
     Map<String, Object> deleteAlerts(List<Integer> alertIds);
 
     /**
-     * 导出用户未确认的警报设备至XLSX
+     * 导出用户未确认的警报设备，分页读取并边生成边写出
      * @param userId 用户ID
-     * @return 包含XLSX文件的Resource
+     * @param format 导出格式
+     * @return 导出任务，写出时才开始查询
      */
-    Resource exportAlertsToXLSX(Integer userId);
+    ExportWriter exportUnconfirmedAlerts(Integer userId, ExportFormat format);
 
     /**
      * 获取用户的警报状态分布
@@ -0,0 +1,18 @@
+package com.example.software_management.Service;
+
+import com.example.software_management.Ingest.IngestResult;
+import com.example.software_management.Model.Component;
+
+import java.io.InputStream;
+
+public interface DataIngestService {
+
+    /**
+     * 读取表格数据并批量写入device_data，整个文件在同一事务中完成
+     * @param component 数据所属组件
+     * @param sourceFile 数据来源文件路径
+     * @param in 表格内容（UTF-8）
+     * @return 插入和跳过的行数
+     */
+    IngestResult ingestCsv(Component component, String sourceFile, InputStream in) throws Exception;
+}
@@ -8,11 +8,12 @@ import java.util.List;
 public interface DataService {
 
     /**
-     * 获取设备健康数据（最近7天）
+     * 获取设备健康数据（最近若干天，含当天）
      * @param deviceId 设备ID
-     * @return 健康数据列表
+     * @param days 天数，如7、30、90
+     * @return 按日期先后排列的健康数据列表，没有预测的日期为0
      */
-    List<Double> getDeviceHealthData(Integer deviceId);
+    List<Double> getDeviceHealthData(Integer deviceId, int days);
 
     /**
      * 获取设备能耗数据（最近7天）
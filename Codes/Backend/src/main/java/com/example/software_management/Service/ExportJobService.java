@@ -0,0 +1,45 @@
+package com.example.software_management.Service;
+
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Model.ExportJob;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ExportJobService {
+
+    /**
+     * 提交异步导出任务，参数校验通过后立即返回
+     * 用户未完成的任务数达到上限时抛出 TaskRejectedException
+     * @param userId 提交任务的用户ID
+     * @param type 导出内容
+     * @param deviceId 设备ID，设备相关的导出必填
+     * @param format 导出格式
+     * @return 已入队的任务
+     * @throws com.example.software_management.Exception.ResourceNotFoundException 设备不存在（或不属于该用户）、设备数据不存在
+     */
+    ExportJob submitJob(Integer userId, ExportJob.Type type, Integer deviceId, ExportFormat format);
+
+    /**
+     * 获取任务状态，完成后包含下载链接
+     * @param jobId 任务ID
+     * @param userId 当前用户ID
+     * @return 任务状态、下载链接或错误信息
+     */
+    Map<String, Object> getJobStatus(String jobId, Integer userId);
+
+    /**
+     * 获取用户最近提交的任务
+     * @param userId 当前用户ID
+     * @return 任务状态列表，最新的在前
+     */
+    List<Map<String, Object>> getJobs(Integer userId);
+
+    /**
+     * 根据下载令牌获取可下载的任务
+     * @param downloadToken 下载令牌
+     * @return 已完成且未过期的任务
+     * @throws com.example.software_management.Exception.ResourceNotFoundException 令牌无效或文件已过期
+     */
+    ExportJob getDownload(String downloadToken);
+}
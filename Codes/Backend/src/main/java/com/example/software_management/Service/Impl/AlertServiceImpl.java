@@ -1,30 +1,34 @@
 package com.example.software_management.Service.Impl;
 
+import com.example.software_management.Cache.LatestReadingCache;
 import com.example.software_management.DTO.AlertDTO;
+import com.example.software_management.Export.ExportColumn;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
+import com.example.software_management.Export.RowWriter;
+import com.example.software_management.Export.RowWriterFactory;
 import com.example.software_management.Model.Alert;
 import com.example.software_management.Model.Component;
 import com.example.software_management.Model.Data;
 import com.example.software_management.Model.User;
 import com.example.software_management.Repository.AlertRepository;
-import com.example.software_management.Repository.DataRepository;
+import com.example.software_management.Repository.AlertSpecifications;
 import com.example.software_management.Repository.UserRepository;
 import com.example.software_management.Service.AlertService;
 import com.example.software_management.Redis.RedisUtil;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -33,21 +37,41 @@ import java.util.stream.Collectors;
 @Service
 public class AlertServiceImpl implements AlertService {
 
+    // 导出文件的列
+    private static final List<ExportColumn> ALERT_EXPORT_COLUMNS = alertExportColumns();
+
+    // 游标分页的总数统计方式
+    private static final String COUNT_EXACT = "exact";
+    private static final String COUNT_ESTIMATED = "estimated";
+    private static final String COUNT_NONE = "none";
+
     private final AlertRepository alertRepository;
     private final UserRepository userRepository;
-    private final DataRepository dataRepository;
+    private final LatestReadingCache latestReadingCache;
     private final RedisUtil redisUtil;
 
+    private final RowWriterFactory rowWriterFactory;
+
+    // 导出时每次查询的警报条数
+    @Value("${app.export.page-size:1000}")
+    private int exportPageSize;
+
+    // countMode=estimated 时最多数到的条数
+    @Value("${app.alert.count-estimate-limit:10000}")
+    private int countEstimateLimit;
+
     @Autowired
     public AlertServiceImpl(
             AlertRepository alertRepository,
             UserRepository userRepository,
-            DataRepository dataRepository,
-            RedisUtil redisUtil) {
+            LatestReadingCache latestReadingCache,
+            RedisUtil redisUtil,
+            RowWriterFactory rowWriterFactory) {
         this.alertRepository = alertRepository;
         this.userRepository = userRepository;
-        this.dataRepository = dataRepository;
+        this.latestReadingCache = latestReadingCache;
         this.redisUtil = redisUtil;
+        this.rowWriterFactory = rowWriterFactory;
     }
 
     // 获取用户未处理的警报
@@ -72,35 +96,86 @@ public class AlertServiceImpl implements AlertService {
             endDateTime = LocalDateTime.parse(endTime, DateTimeFormatter.ISO_DATE_TIME);
         }
 
-        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        Pageable pageable = PageRequest.of(page - 1, pageSize, AlertSpecifications.NEWEST_FIRST);
 
         // 查询未确认的警报
-        Page<Alert> alertPage = alertRepository.findUnconfirmedAlerts(
-                userId, deviceName, startDateTime, endDateTime, pageable);
+        Page<Alert> alertPage = alertRepository.findAll(
+                unconfirmedAlertFilter(userId, deviceName, startDateTime, endDateTime), pageable);
 
         // 转换为DTO
-        List<AlertDTO> alertDTOs = alertPage.getContent().stream()
-                .map(alert -> {
-                    AlertDTO dto = new AlertDTO(alert);
+        List<AlertDTO> alertDTOs = toAlertDTOs(alertPage.getContent());
 
-                    // 获取最新的设备数据以便导出
-                    Optional<Data> latestData = dataRepository.findFirstByComponentIdOrderByTimeDesc(alert.getComponent().getId());
-                    latestData.ifPresent(data -> {
-                        dto.setHptEffMod(data.getHptEffMod());
-                        dto.setNf(data.getNf());
-                        dto.setSmFan(data.getSmFan());
-                        dto.setT24(data.getT24());
-                        dto.setWf(data.getWf());
-                        dto.setT48(data.getT48());
-                        dto.setNc(data.getNc());
-                        dto.setSmHPC(data.getSmHPC());
-                    });
+        return new PageImpl<>(alertDTOs, pageable, alertPage.getTotalElements());
+    }
 
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    @Override
+    public Map<String, Object> getUnconfirmedAlertsByCursor(
+            Integer userId,
+            String deviceName,
+            String startTime,
+            String endTime,
+            String cursor,
+            int pageSize,
+            String countMode) {
 
-        return new PageImpl<>(alertDTOs, pageable, alertPage.getTotalElements());
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("每页条数必须大于0");
+        }
+        String mode = countMode == null || countMode.isBlank() ? COUNT_EXACT : countMode.trim().toLowerCase(Locale.ROOT);
+        if (!COUNT_EXACT.equals(mode) && !COUNT_ESTIMATED.equals(mode) && !COUNT_NONE.equals(mode)) {
+            throw new IllegalArgumentException("不支持的总数统计方式: " + countMode + "，可选 exact、estimated、none");
+        }
+
+        // 处理可选的时间参数
+        LocalDateTime startDateTime = null;
+        if (startTime != null && !startTime.isEmpty()) {
+            startDateTime = LocalDateTime.parse(startTime, DateTimeFormatter.ISO_DATE_TIME);
+        }
+
+        LocalDateTime endDateTime = null;
+        if (endTime != null && !endTime.isEmpty()) {
+            endDateTime = LocalDateTime.parse(endTime, DateTimeFormatter.ISO_DATE_TIME);
+        }
+
+        Specification<Alert> filter = unconfirmedAlertFilter(userId, deviceName, startDateTime, endDateTime);
+        Specification<Alert> pageFilter = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            AlertCursor after = AlertCursor.decode(cursor);
+            pageFilter = filter.and(AlertSpecifications.after(after.alertTime, after.alertId));
+        }
+
+        // 多取一条判断是否还有下一页
+        List<Alert> alerts = alertRepository.findBy(pageFilter, query -> query
+                .sortBy(AlertSpecifications.NEWEST_FIRST)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = alerts.size() > pageSize;
+        if (hasMore) {
+            alerts = alerts.subList(0, pageSize);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("alerts", toAlertDTOs(alerts));
+        response.put("hasMore", hasMore);
+        if (hasMore) {
+            Alert last = alerts.get(alerts.size() - 1);
+            response.put("nextCursor", new AlertCursor(last.getAlertTime(), last.getId()).encode());
+        } else {
+            response.put("nextCursor", null);
+        }
+
+        if (COUNT_EXACT.equals(mode)) {
+            response.put("total", alertRepository.count(filter));
+            response.put("totalExact", true);
+        } else if (COUNT_ESTIMATED.equals(mode)) {
+            // 数到上限为止：不超过上限时即精确值，超过时 total 为上限、totalExact 为 false
+            long counted = alertRepository.countUnconfirmedUpTo(
+                    userId, deviceName, startDateTime, endDateTime, countEstimateLimit + 1);
+            response.put("total", Math.min(counted, countEstimateLimit));
+            response.put("totalExact", counted <= countEstimateLimit);
+        }
+        return response;
     }
 
 
@@ -267,79 +342,46 @@ public class AlertServiceImpl implements AlertService {
     }
 
     @Override
-    public Resource exportAlertsToXLSX(Integer userId) {
-        try {
-            // 获取用户所有未确认的警报
-            Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-            Page<Alert> alertPage = alertRepository.findUnconfirmedAlerts(
-                    userId, null, null, null, pageable);
-
-            // 创建工作簿
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("未确认警报");
-
-            // 创建标题行
-            Row headerRow = sheet.createRow(0);
-            String[] columns = {
-                    "设备ID", "设备名称", "报警时间", "设备状态", "报警描述",
-                    "高压涡轮效率", "风扇转速", "风扇裕度", "风扇出口温度",
-                    "燃油流量", "HPT出口温度", "高压压气机转速", "高压压气机裕度",
-                    "是否确认"
-            };
-
-            for (int i = 0; i < columns.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(columns[i]);
-            }
-
-            // 填充数据行
-            int rowNum = 1;
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-            for (Alert alert : alertPage.getContent()) {
-                Row row = sheet.createRow(rowNum++);
-                Component component = alert.getComponent();
-
-                // 基本警报信息
-                row.createCell(0).setCellValue(component.getId());
-                row.createCell(1).setCellValue(component.getName());
-                row.createCell(2).setCellValue(alert.getAlertTime().format(formatter));
-                row.createCell(3).setCellValue(alert.getStatus().getValue());
-                row.createCell(4).setCellValue(alert.getAlertDescription());
-
-                // 获取最新的设备数据
-                Optional<Data> latestData = dataRepository.findFirstByComponentIdOrderByTimeDesc(component.getId());
-                if (latestData.isPresent()) {
-                    Data data = latestData.get();
-                    setCellValue(row.createCell(5), data.getHptEffMod());
-                    setCellValue(row.createCell(6), data.getNf());
-                    setCellValue(row.createCell(7), data.getSmFan());
-                    setCellValue(row.createCell(8), data.getT24());
-                    setCellValue(row.createCell(9), data.getWf());
-                    setCellValue(row.createCell(10), data.getT48());
-                    setCellValue(row.createCell(11), data.getNc());
-                    setCellValue(row.createCell(12), data.getSmHPC());
+    public ExportWriter exportUnconfirmedAlerts(Integer userId, ExportFormat format) {
+        return outputStream -> {
+            try (RowWriter writer = rowWriterFactory.open(format, "未确认警报", ALERT_EXPORT_COLUMNS, outputStream)) {
+                Pageable pageable = PageRequest.of(0, exportPageSize);
+
+                // 按 (alertTime, id) 键集分页，每页从上一页最后一条之后开始读取
+                List<Alert> alerts = alertRepository.findUnconfirmedAlertsForExport(userId, pageable);
+                while (!alerts.isEmpty()) {
+                    // 一次查出本页所有组件的最新设备数据
+                    Map<Integer, Data> latestDataMap = findLatestData(alerts);
+
+                    for (Alert alert : alerts) {
+                        Component component = alert.getComponent();
+                        Data data = latestDataMap.getOrDefault(component.getId(), new Data());
+                        writer.writeRow(
+                                component.getId(),
+                                component.getName(),
+                                alert.getAlertTime(),
+                                alert.getStatus().getValue(),
+                                alert.getAlertDescription(),
+                                data.getHptEffMod(),
+                                data.getNf(),
+                                data.getSmFan(),
+                                data.getT24(),
+                                data.getWf(),
+                                data.getT48(),
+                                data.getNc(),
+                                data.getSmHPC(),
+                                alert.getIsConfirmed());
+                    }
+
+                    if (alerts.size() < exportPageSize) {
+                        break;
+                    }
+                    Alert last = alerts.get(alerts.size() - 1);
+                    alerts = alertRepository.findUnconfirmedAlertsForExportAfter(
+                            userId, last.getAlertTime(), last.getId(), pageable);
                 }
-
-                row.createCell(13).setCellValue(alert.getIsConfirmed() ? "是" : "否");
-            }
-
-            // 自动调整列宽
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
             }
-
-            // 写入字节数组
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            workbook.close();
-
-            // 创建资源
-            return new ByteArrayResource(outputStream.toByteArray());
-
-        } catch (Exception e) {
-            throw new RuntimeException("导出警报失败: " + e.getMessage(), e);
-        }
+        };
     }
 
     @Override
@@ -364,16 +406,79 @@ public class AlertServiceImpl implements AlertService {
     }
 
     /**
-     * 辅助方法：设置单元格值
-     * @param cell 单元格
-     * @param value 值
+     * 辅助方法：批量获取警报所属组件的最新设备数据，优先读取缓存，未缓存的组件一次查询取出
+     * @param alerts 警报列表
+     * @return 组件ID到最新数据的映射
      */
-    private void setCellValue(Cell cell, Double value) {
-        if (value != null) {
-            cell.setCellValue(value);
-        } else {
-            cell.setCellValue("N/A");
+    private Map<Integer, Data> findLatestData(List<Alert> alerts) {
+        Set<Integer> componentIds = alerts.stream()
+                .map(alert -> alert.getComponent().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, Data> latestData = new HashMap<>();
+        latestReadingCache.getAll(componentIds)
+                .forEach((componentId, reading) -> latestData.put(componentId, reading.toData()));
+        return latestData;
+    }
+
+    /**
+     * 辅助方法：只组合实际提供的筛选条件，设备名称为空视为不筛选
+     */
+    private static Specification<Alert> unconfirmedAlertFilter(
+            Integer userId, String deviceName, LocalDateTime startTime, LocalDateTime endTime) {
+        Specification<Alert> filter = AlertSpecifications.unconfirmedOf(userId);
+        if (deviceName != null && !deviceName.isEmpty()) {
+            filter = filter.and(AlertSpecifications.deviceNameContains(deviceName));
+        }
+        if (startTime != null) {
+            filter = filter.and(AlertSpecifications.alertTimeFrom(startTime));
         }
+        if (endTime != null) {
+            filter = filter.and(AlertSpecifications.alertTimeTo(endTime));
+        }
+        return filter;
+    }
+
+    /**
+     * 转换为DTO，附带各组件最新的设备数据
+     */
+    private List<AlertDTO> toAlertDTOs(List<Alert> alerts) {
+        // 一次查出本页所有组件的最新设备数据
+        Map<Integer, Data> latestData = findLatestData(alerts);
+
+        return alerts.stream()
+                .map(alert -> {
+                    AlertDTO dto = new AlertDTO(alert);
+
+                    // 获取最新的设备数据以便导出
+                    Optional.ofNullable(latestData.get(alert.getComponent().getId())).ifPresent(data -> {
+                        dto.setHptEffMod(data.getHptEffMod());
+                        dto.setNf(data.getNf());
+                        dto.setSmFan(data.getSmFan());
+                        dto.setT24(data.getT24());
+                        dto.setWf(data.getWf());
+                        dto.setT48(data.getT48());
+                        dto.setNc(data.getNc());
+                        dto.setSmHPC(data.getSmHPC());
+                    });
+
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 辅助方法：警报导出文件的列定义
+     */
+    private static List<ExportColumn> alertExportColumns() {
+        List<ExportColumn> columns = new ArrayList<>();
+        columns.add(new ExportColumn("device_id", "设备ID", ExportColumn.Type.INT, 10));
+        columns.add(new ExportColumn("device_name", "设备名称", ExportColumn.Type.STRING, 24));
+        columns.add(new ExportColumn("alert_time", "报警时间", ExportColumn.Type.TIMESTAMP, 22));
+        columns.add(new ExportColumn("status", "设备状态", ExportColumn.Type.INT, 10));
+        columns.add(new ExportColumn("alert_description", "报警描述", ExportColumn.Type.STRING, 40));
+        columns.addAll(ExportColumn.channels());
+        columns.add(new ExportColumn("is_confirmed", "是否确认", ExportColumn.Type.BOOLEAN, 10));
+        return List.copyOf(columns);
     }
 
     /**
@@ -391,4 +496,36 @@ public class AlertServiceImpl implements AlertService {
         redisUtil.del("api:alerts:count:" + userId);
         redisUtil.del("api:alerts:summary:" + userId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 游标分页的位置：上一页最后一条警报的 (alertTime, id)，
+     * 对外以 URL 安全的 Base64 编码，调用方不应解析其内容
+     */
+    static final class AlertCursor {
+
+        final LocalDateTime alertTime;
+        final Integer alertId;
+
+        AlertCursor(LocalDateTime alertTime, Integer alertId) {
+            this.alertTime = alertTime;
+            this.alertId = alertId;
+        }
+
+        String encode() {
+            String value = alertTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "|" + alertId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AlertCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new AlertCursor(
+                        LocalDateTime.parse(value.substring(0, separator), DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                        Integer.valueOf(value.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+        }
+    }
+}
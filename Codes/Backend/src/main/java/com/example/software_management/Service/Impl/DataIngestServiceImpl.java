@@ -0,0 +1,142 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Cache.LatestReadingCache;
+import com.example.software_management.Inference.FeatureWindow;
+import com.example.software_management.Inference.FeatureWindowBuilder;
+import com.example.software_management.Inference.RulFeatures;
+import com.example.software_management.Inference.TelemetryWindowStore;
+import com.example.software_management.Ingest.CountingInputStream;
+import com.example.software_management.Ingest.IngestMetrics;
+import com.example.software_management.Ingest.IngestResult;
+import com.example.software_management.Ingest.TelemetryCsvParser;
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Model.Component;
+import com.example.software_management.Repository.DataBatchRepository;
+import com.example.software_management.Service.DataIngestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class DataIngestServiceImpl implements DataIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataIngestServiceImpl.class);
+
+    private final DataBatchRepository dataBatchRepository;
+    private final IngestMetrics ingestMetrics;
+    private final TelemetryWindowStore windowStore;
+    private final LatestReadingCache latestReadingCache;
+
+    // 每个JDBC批次的行数
+    @Value("${app.ingest.batch-size:1000}")
+    private int batchSize;
+
+    // 调试日志采样间隔：每N行输出一次（需开启DEBUG级别），0表示关闭
+    @Value("${app.ingest.debug-sample-rate:0}")
+    private int debugSampleRate;
+
+    @Value("${app.inference.sequence-length:30}")
+    private int sequenceLength;
+
+    @Autowired
+    public DataIngestServiceImpl(DataBatchRepository dataBatchRepository, IngestMetrics ingestMetrics,
+                                 TelemetryWindowStore windowStore, LatestReadingCache latestReadingCache) {
+        this.dataBatchRepository = dataBatchRepository;
+        this.ingestMetrics = ingestMetrics;
+        this.windowStore = windowStore;
+        this.latestReadingCache = latestReadingCache;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public IngestResult ingestCsv(Component component, String sourceFile, InputStream in) throws Exception {
+        long startTime = System.nanoTime();
+        long insertNanos = 0;
+
+        CountingInputStream countingIn = new CountingInputStream(in);
+        // 一次解析全部模型特征列：传感器通道写入device_data，同时保留最后几行作为模型输入窗口，预测时不再读取文件
+        TelemetryCsvParser parser = new TelemetryCsvParser(
+                new InputStreamReader(countingIn, StandardCharsets.UTF_8), RulFeatures.FEATURE_COLUMNS);
+        FeatureWindowBuilder windowBuilder = new FeatureWindowBuilder(sequenceLength);
+
+        // 表头只解析一次
+        List<String> headers = parser.readHeader();
+        List<String> missingColumns = parser.getMissingColumns();
+        windowBuilder.setMissingColumns(missingColumns);
+        ingestMetrics.recordMissingColumns(missingChannels(missingColumns));
+        if (log.isDebugEnabled()) {
+            log.debug("导入 {}，列名: {}，缺失列: {}", sourceFile, headers, missingColumns);
+        }
+
+        boolean sampling = debugSampleRate > 0 && log.isDebugEnabled();
+        List<TelemetryRow> batch = new ArrayList<>(batchSize);
+        // 最后 sequenceLength 行，导入完成后更新组件的最新读数
+        ArrayDeque<TelemetryRow> recent = new ArrayDeque<>(sequenceLength);
+        long inserted = 0;
+
+        double[] features = new double[RulFeatures.FEATURE_COUNT];
+        while (parser.nextRow(features)) {
+            double[] values = new double[TelemetryChannel.COUNT];
+            for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+                values[channel] = features[RulFeatures.CHANNEL_FEATURES[channel]];
+            }
+            TelemetryRow row = new TelemetryRow(LocalDateTime.now(), values);
+            batch.add(row);
+            if (recent.size() == sequenceLength) {
+                recent.pollFirst();
+            }
+            recent.addLast(row);
+            windowBuilder.add(features);
+            if (sampling && parser.getRowsParsed() % debugSampleRate == 0) {
+                log.debug("第 {} 行数据: {}", parser.getRowsParsed(), Arrays.toString(values));
+            }
+
+            // 攒满一个批次后写入
+            if (batch.size() >= batchSize) {
+                long insertStart = System.nanoTime();
+                inserted += dataBatchRepository.insertBatch(component.getId(), sourceFile, batch, batchSize);
+                insertNanos += System.nanoTime() - insertStart;
+                batch.clear();
+            }
+        }
+        long insertStart = System.nanoTime();
+        inserted += dataBatchRepository.insertBatch(component.getId(), sourceFile, batch, batchSize);
+        insertNanos += System.nanoTime() - insertStart;
+
+        ingestMetrics.recordParse(parser, countingIn.getCount());
+        ingestMetrics.recordStage("parse", System.nanoTime() - startTime - insertNanos);
+        ingestMetrics.recordStage("insert", insertNanos);
+
+        FeatureWindow window = windowBuilder.build();
+        windowStore.put(component.getId(), window);
+        latestReadingCache.update(component.getId(), recent);
+
+        return new IngestResult(inserted, parser.getRowsSkipped(), window);
+    }
+
+    /**
+     * 缺失列中属于传感器通道的部分，按通道的表头名统计
+     */
+    private List<String> missingChannels(List<String> missingColumns) {
+        List<String> missing = new ArrayList<>();
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            if (missingColumns.contains(RulFeatures.FEATURE_COLUMNS[RulFeatures.CHANNEL_FEATURES[channel.ordinal()]])) {
+                missing.add(channel.getHeader());
+            }
+        }
+        return missing;
+    }
+}
@@ -1,15 +1,13 @@
 package com.example.software_management.Service.Impl;
 
+import com.example.software_management.Cache.LatestReadingCache;
+import com.example.software_management.Cache.LatestReading;
 import com.example.software_management.DTO.DataDTO;
 import com.example.software_management.DTO.ReportDTO;
 import com.example.software_management.Model.Data;
 import com.example.software_management.Repository.ComponentRepository;
-import com.example.software_management.Repository.DataRepository;
 import com.example.software_management.Service.DataService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -22,21 +20,21 @@ import java.util.*;
 public class DataServiceImpl implements DataService {
 
     private final ComponentRepository componentRepository;
-    private final DataRepository dataRepository;
+    private final LatestReadingCache latestReadingCache;
 
     @Autowired
-    public DataServiceImpl(ComponentRepository componentRepository, DataRepository dataRepository) {
+    public DataServiceImpl(ComponentRepository componentRepository, LatestReadingCache latestReadingCache) {
         this.componentRepository = componentRepository;
-        this.dataRepository = dataRepository;
+        this.latestReadingCache = latestReadingCache;
     }
 
     @Override
-    public List<Double> getDeviceHealthData(Integer deviceId) {
+    public List<Double> getDeviceHealthData(Integer deviceId, int days) {
         // 获取日期到健康数据的映射
-        Map<LocalDate, Double> dateHealthMap = getComponentHealthByDate(deviceId);
+        Map<LocalDate, Double> dateHealthMap = getComponentHealthByDate(deviceId, days);
 
-        // 确保按日期顺序返回7天数据
-        return getOrderedValuesByDate(dateHealthMap);
+        // 确保按日期顺序返回数据
+        return getOrderedValuesByDate(dateHealthMap, days);
     }
 
     @Override
@@ -45,13 +43,10 @@ public class DataServiceImpl implements DataService {
         Map<LocalDate, Double> dateEnergyMap = getComponentEnergyByDate(deviceId);
 
         // 确保按日期顺序返回7天数据
-        List<Double> orderedEnergyValues = getOrderedValuesByDate(dateEnergyMap);
+        List<Double> orderedEnergyValues = getOrderedValuesByDate(dateEnergyMap, 7);
 
-        // 获取当日能耗成本
-        Double energyCost = componentRepository.getComponentEnergyCost(deviceId);
-        if (energyCost == null) {
-            energyCost = 0.0;
-        }
+        // 当日能耗成本即当天的汇总值，与趋势来自同一次查询
+        Double energyCost = dateEnergyMap.getOrDefault(LocalDate.now(), 0.0);
 
         // 构建响应对象
         ReportDTO reportDTO = new ReportDTO();
@@ -64,11 +59,12 @@ public class DataServiceImpl implements DataService {
     /**
      * 获取组件健康数据按日期映射
      * @param componentId 组件ID
+     * @param days 天数
      * @return 日期到健康数据的映射
      */
-    private Map<LocalDate, Double> getComponentHealthByDate(Integer componentId) {
-        // 从数据库获取原始数据
-        List<Object[]> rawData = componentRepository.getComponentHealthTrendWithDates(componentId);
+    private Map<LocalDate, Double> getComponentHealthByDate(Integer componentId, int days) {
+        // 从天汇总获取数据
+        List<Object[]> rawData = componentRepository.getComponentHealthTrendWithDates(componentId, days);
 
         // 构建日期到健康数据的映射
         Map<LocalDate, Double> dateValueMap = new HashMap<>();
@@ -108,16 +104,17 @@ public class DataServiceImpl implements DataService {
     /**
      * 根据日期映射获取有序的值列表
      * @param dateValueMap 日期到值的映射
+     * @param days 天数
      * @return 按日期顺序的值列表
      */
-    private List<Double> getOrderedValuesByDate(Map<LocalDate, Double> dateValueMap) {
-        // 获取过去7天的日期列表
-        List<LocalDate> last7Days = getLast7Days();
+    private List<Double> getOrderedValuesByDate(Map<LocalDate, Double> dateValueMap, int days) {
+        // 获取过去若干天的日期列表
+        List<LocalDate> lastDays = getLastDays(days);
 
         // 为每一天创建对应的值，没有数据的用0填充
         List<Double> orderedValues = new ArrayList<>();
 
-        for (LocalDate date : last7Days) {
+        for (LocalDate date : lastDays) {
             Double value = dateValueMap.getOrDefault(date, 0.0);
             orderedValues.add(value);
         }
@@ -126,13 +123,13 @@ public class DataServiceImpl implements DataService {
     }
 
     /**
-     * 获取过去7天的日期列表，按从早到晚排序
+     * 获取过去若干天（含当天）的日期列表，按从早到晚排序
      */
-    private List<LocalDate> getLast7Days() {
+    private List<LocalDate> getLastDays(int days) {
         List<LocalDate> dates = new ArrayList<>();
         LocalDate today = LocalDate.now();
 
-        for (int i = 6; i >= 0; i--) {
+        for (int i = days - 1; i >= 0; i--) {
             dates.add(today.minusDays(i));
         }
 
@@ -141,16 +138,14 @@ public class DataServiceImpl implements DataService {
 
     @Override
     public ReportDTO getDeviceMetricCards(Integer deviceId, int page, int pageSize) {
-        Pageable pageable = PageRequest.of(page - 1, pageSize);
-
         // 获取最新的设备数据
-        Page<Data> dataPage = dataRepository.getComponentMetricData(deviceId, pageable);
+        Optional<Data> latestDataOpt = latestReadingCache.get(deviceId).map(LatestReading::toData);
 
         List<DataDTO> metricCards = new ArrayList<>();
         int totalPages = 0;
 
-        if (!dataPage.isEmpty()) {
-            Data latestData = dataPage.getContent().get(0);
+        if (latestDataOpt.isPresent()) {
+            Data latestData = latestDataOpt.get();
 
             // 构建指标卡片数据
             // 1. 高压涡轮效率
@@ -0,0 +1,383 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
+import com.example.software_management.Model.ExportJob;
+import com.example.software_management.Repository.ComponentRepository;
+import com.example.software_management.Repository.ExportJobRepository;
+import com.example.software_management.Service.AlertService;
+import com.example.software_management.Service.ExportJobService;
+import com.example.software_management.Service.ReportService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 异步导出任务：任务写入 export_job 表排队，每个用户同时运行的任务数不超过 max-running-per-user，
+ * 所有用户共用 exportJobExecutor 线程池；文件写入暂存目录，完成后通过带令牌的链接下载，
+ * 超过 ttl-hours 后删除文件、链接失效。
+ * 按用户分派任务依赖本进程内的锁，只适用于单实例部署
+ */
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobServiceImpl.class);
+
+    private static final String DOWNLOAD_PATH = "/api/exports/download/";
+    private static final String PART_SUFFIX = ".part";
+    private static final List<ExportJob.Status> ACTIVE = List.of(ExportJob.Status.QUEUED, ExportJob.Status.RUNNING);
+
+    private final ExportJobRepository exportJobRepository;
+    private final ComponentRepository componentRepository;
+    private final AlertService alertService;
+    private final ReportService reportService;
+    private final TaskExecutor exportJobExecutor;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.export.jobs.spool-dir:./export_spool/}")
+    private String spoolDir;
+
+    // 导出文件保留时长
+    @Value("${app.export.jobs.ttl-hours:24}")
+    private int ttlHours;
+
+    // 每个用户同时运行的任务数
+    @Value("${app.export.jobs.max-running-per-user:1}")
+    private int maxRunningPerUser;
+
+    // 每个用户排队和运行中的任务总数，超过后拒绝提交
+    @Value("${app.export.jobs.max-active-per-user:10}")
+    private int maxActivePerUser;
+
+    @Autowired
+    public ExportJobServiceImpl(
+            ExportJobRepository exportJobRepository,
+            ComponentRepository componentRepository,
+            AlertService alertService,
+            ReportService reportService,
+            @Qualifier("exportJobExecutor") TaskExecutor exportJobExecutor) {
+        this.exportJobRepository = exportJobRepository;
+        this.componentRepository = componentRepository;
+        this.alertService = alertService;
+        this.reportService = reportService;
+        this.exportJobExecutor = exportJobExecutor;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(spoolDir));
+    }
+
+    @Override
+    public ExportJob submitJob(Integer userId, ExportJob.Type type, Integer deviceId, ExportFormat format) {
+        if (type != ExportJob.Type.UNCONFIRMED_ALERTS && deviceId == null) {
+            throw new IllegalArgumentException("缺少设备ID");
+        }
+        // 任务以提交者身份在后台运行，下载链接不再校验登录，入队前必须确认设备属于当前用户
+        if (type != ExportJob.Type.UNCONFIRMED_ALERTS && !componentRepository.existsByIdAndUserId(deviceId, userId)) {
+            throw new ResourceNotFoundException("设备不存在");
+        }
+        if (exportJobRepository.countByUserIdAndStatusIn(userId, ACTIVE) >= maxActivePerUser) {
+            throw new TaskRejectedException("未完成的导出任务过多，请等待已有任务完成后再提交");
+        }
+
+        ExportJob job = new ExportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setType(type);
+        job.setDeviceId(type == ExportJob.Type.UNCONFIRMED_ALERTS ? null : deviceId);
+        job.setFormat(format);
+        job.setStatus(ExportJob.Status.QUEUED);
+
+        // 同步校验参数，设备不存在等错误不进入队列
+        createWriter(job);
+        job.setFileName(fileName(job));
+
+        job = exportJobRepository.save(job);
+        dispatch(userId);
+        return exportJobRepository.findById(job.getId()).orElse(job);
+    }
+
+    @Override
+    public Map<String, Object> getJobStatus(String jobId, Integer userId) {
+        ExportJob job = exportJobRepository.findById(jobId)
+                .filter(j -> j.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+
+        Map<String, Object> response = toStatus(job);
+        response.put("success", true);
+        return response;
+    }
+
+    @Override
+    public List<Map<String, Object>> getJobs(Integer userId) {
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (ExportJob job : exportJobRepository.findTop50ByUserIdOrderByCreatedTimeDesc(userId)) {
+            jobs.add(toStatus(job));
+        }
+        return jobs;
+    }
+
+    @Override
+    public ExportJob getDownload(String downloadToken) {
+        ExportJob job = exportJobRepository.findByDownloadToken(downloadToken)
+                .filter(j -> j.getStatus() == ExportJob.Status.SUCCEEDED)
+                .filter(j -> j.getExpiresTime() != null && j.getExpiresTime().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("下载链接无效或已过期"));
+        if (job.getFilePath() == null || !Files.isRegularFile(Paths.get(job.getFilePath()))) {
+            throw new ResourceNotFoundException("下载链接无效或已过期");
+        }
+        return job;
+    }
+
+    /**
+     * 服务启动后恢复未完成的任务
+     * 运行中的任务可能已写出部分文件，标记为失败；排队中的任务重新分派
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        List<ExportJob> unfinished = exportJobRepository.findByStatusInOrderByCreatedTimeAsc(ACTIVE);
+        Set<Integer> users = new LinkedHashSet<>();
+        for (ExportJob job : unfinished) {
+            if (job.getStatus() == ExportJob.Status.RUNNING) {
+                deleteQuietly(partPath(job));
+                markFailed(job, "服务重启，任务中断");
+            } else {
+                users.add(job.getUserId());
+            }
+        }
+        users.forEach(this::dispatch);
+        if (!unfinished.isEmpty()) {
+            log.info("已恢复 {} 个未完成的导出任务", unfinished.size());
+        }
+    }
+
+    /**
+     * 定时删除过期文件，并重新分派因线程池队列已满而未能启动的任务
+     */
+    @Scheduled(fixedDelayString = "${app.export.jobs.cleanup-interval-ms:600000}")
+    public void maintain() {
+        try {
+            cleanupExpired();
+            Set<Integer> users = new LinkedHashSet<>();
+            for (ExportJob job : exportJobRepository.findByStatusInOrderByCreatedTimeAsc(
+                    List.of(ExportJob.Status.QUEUED))) {
+                users.add(job.getUserId());
+            }
+            users.forEach(this::dispatch);
+        } catch (Exception e) {
+            log.error("导出任务维护失败: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 用户运行中的任务数未达到上限时，按提交顺序启动排队的任务
+     */
+    private synchronized void dispatch(Integer userId) {
+        long running = exportJobRepository.countByUserIdAndStatusIn(userId, List.of(ExportJob.Status.RUNNING));
+        while (running < maxRunningPerUser) {
+            ExportJob job = exportJobRepository
+                    .findFirstByUserIdAndStatusOrderByCreatedTimeAsc(userId, ExportJob.Status.QUEUED)
+                    .orElse(null);
+            if (job == null) {
+                return;
+            }
+            job.setStatus(ExportJob.Status.RUNNING);
+            job = exportJobRepository.save(job);
+            String jobId = job.getId();
+            try {
+                exportJobExecutor.execute(() -> runJob(jobId));
+            } catch (TaskRejectedException e) {
+                // 线程池队列已满，保持排队状态，由定时任务或该用户其他任务完成时再分派
+                job.setStatus(ExportJob.Status.QUEUED);
+                exportJobRepository.save(job);
+                return;
+            }
+            running++;
+        }
+    }
+
+    private void runJob(String jobId) {
+        ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != ExportJob.Status.RUNNING) {
+            return;
+        }
+
+        job.setStartedTime(LocalDateTime.now());
+        job = exportJobRepository.save(job);
+
+        Path part = partPath(job);
+        Path target = filePath(job);
+        try {
+            ExportWriter writer = createWriter(job);
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(part))) {
+                writer.writeTo(outputStream);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LocalDateTime now = LocalDateTime.now();
+            job.setFilePath(target.toString());
+            job.setFileSize(Files.size(target));
+            job.setDownloadToken(newToken());
+            job.setStatus(ExportJob.Status.SUCCEEDED);
+            job.setFinishedTime(now);
+            job.setExpiresTime(now.plusHours(ttlHours));
+            exportJobRepository.save(job);
+        } catch (Exception e) {
+            log.warn("导出任务 {} 执行失败: {}", jobId, e.getMessage());
+            deleteQuietly(part);
+            deleteQuietly(target);
+            markFailed(job, e.getMessage());
+        } finally {
+            dispatch(job.getUserId());
+        }
+    }
+
+    private ExportWriter createWriter(ExportJob job) {
+        switch (job.getType()) {
+            case UNCONFIRMED_ALERTS:
+                return alertService.exportUnconfirmedAlerts(job.getUserId(), job.getFormat());
+            case DEVICE_ATTRIBUTES:
+                return reportService.exportDeviceAttributes(job.getUserId(), job.getDeviceId(), job.getFormat());
+            case DEVICE_HISTORY:
+                return reportService.exportDeviceHistory(job.getUserId(), job.getDeviceId(), job.getFormat());
+            default:
+                throw new IllegalArgumentException("不支持的导出类型: " + job.getType());
+        }
+    }
+
+    /**
+     * 删除过期任务的文件；暂存目录中超过保留时长且不属于有效任务的文件（如中断时留下的 .part）一并删除
+     */
+    private void cleanupExpired() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<ExportJob> expired = exportJobRepository.findByStatusAndExpiresTimeBefore(ExportJob.Status.SUCCEEDED, now);
+        for (ExportJob job : expired) {
+            if (job.getFilePath() != null) {
+                deleteQuietly(Paths.get(job.getFilePath()));
+            }
+            job.setStatus(ExportJob.Status.EXPIRED);
+            job.setFilePath(null);
+            job.setDownloadToken(null);
+            exportJobRepository.save(job);
+        }
+        if (!expired.isEmpty()) {
+            log.info("已删除 {} 个过期的导出文件", expired.size());
+        }
+
+        Instant cutoff = Instant.now().minusSeconds(ttlHours * 3600L);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(spoolDir))) {
+            for (Path file : files) {
+                if (!Files.isRegularFile(file) || Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                int dot = name.indexOf('.');
+                boolean live = dot > 0 && exportJobRepository.findById(name.substring(0, dot))
+                        .filter(j -> j.getStatus() == ExportJob.Status.SUCCEEDED
+                                || j.getStatus() == ExportJob.Status.RUNNING)
+                        .isPresent();
+                if (!live) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> toStatus(ExportJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("jobId", job.getId());
+        status.put("type", job.getType().name());
+        status.put("deviceId", job.getDeviceId());
+        status.put("format", job.getFormat().getExtension());
+        status.put("status", job.getStatus().name());
+        status.put("createdTime", job.getCreatedTime());
+        status.put("startedTime", job.getStartedTime());
+        status.put("finishedTime", job.getFinishedTime());
+
+        if (job.getStatus() == ExportJob.Status.SUCCEEDED) {
+            status.put("fileName", job.getFileName());
+            status.put("fileSize", job.getFileSize());
+            status.put("expiresTime", job.getExpiresTime());
+            status.put("downloadUrl", DOWNLOAD_PATH + job.getDownloadToken());
+        }
+        if (job.getStatus() == ExportJob.Status.FAILED) {
+            status.put("message", job.getErrorMessage());
+        }
+        return status;
+    }
+
+    private void markFailed(ExportJob job, String message) {
+        job.setStatus(ExportJob.Status.FAILED);
+        job.setErrorMessage(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        job.setFinishedTime(LocalDateTime.now());
+        exportJobRepository.save(job);
+    }
+
+    private static String fileName(ExportJob job) {
+        String extension = "." + job.getFormat().getExtension();
+        switch (job.getType()) {
+            case UNCONFIRMED_ALERTS:
+                return "unconfirmed_alerts_" + job.getUserId() + extension;
+            case DEVICE_ATTRIBUTES:
+                return "device_attributes_" + job.getDeviceId() + extension;
+            default:
+                return "device_history_" + job.getDeviceId() + extension;
+        }
+    }
+
+    private Path filePath(ExportJob job) {
+        return Paths.get(spoolDir, job.getId() + "." + job.getFormat().getExtension()).toAbsolutePath();
+    }
+
+    private Path partPath(ExportJob job) {
+        return Paths.get(spoolDir, job.getId() + "." + job.getFormat().getExtension() + PART_SUFFIX).toAbsolutePath();
+    }
+
+    /**
+     * 256 位随机令牌，URL 安全的 Base64 编码
+     */
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除导出文件 {} 失败: {}", path, e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package com.example.software_management.Service.Impl;
 
+import com.example.software_management.Cache.LatestReading;
+import com.example.software_management.Cache.LatestReadingCache;
 import com.example.software_management.DTO.DataDTO;
 import com.example.software_management.DTO.ReportDTO;
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Export.ExportColumn;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
+import com.example.software_management.Export.RowWriter;
+import com.example.software_management.Export.RowWriterFactory;
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
 import com.example.software_management.Model.Component;
 import com.example.software_management.Model.Data;
 import com.example.software_management.Repository.AlertRepository;
 import com.example.software_management.Repository.ComponentRepository;
-import com.example.software_management.Repository.DataRepository;
+import com.example.software_management.Repository.DataBatchRepository;
 import com.example.software_management.Service.ReportService;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,18 +31,32 @@ import java.util.*;
 @Service
 public class ReportServiceImpl implements ReportService {
 
+    // 导出文件的列
+    private static final List<ExportColumn> ATTRIBUTE_EXPORT_COLUMNS = attributeExportColumns();
+    private static final List<ExportColumn> HISTORY_EXPORT_COLUMNS = historyExportColumns();
+
     private final AlertRepository alertRepository;
     private final ComponentRepository componentRepository;
-    private final DataRepository dataRepository;
+    private final LatestReadingCache latestReadingCache;
+    private final DataBatchRepository dataBatchRepository;
+    private final RowWriterFactory rowWriterFactory;
+
+    // 导出历史数据时每次查询的行数
+    @Value("${app.export.page-size:1000}")
+    private int exportPageSize;
 
     @Autowired
     public ReportServiceImpl(
             AlertRepository alertRepository,
             ComponentRepository componentRepository,
-            DataRepository dataRepository) {
+            LatestReadingCache latestReadingCache,
+            DataBatchRepository dataBatchRepository,
+            RowWriterFactory rowWriterFactory) {
         this.alertRepository = alertRepository;
         this.componentRepository = componentRepository;
-        this.dataRepository = dataRepository;
+        this.latestReadingCache = latestReadingCache;
+        this.dataBatchRepository = dataBatchRepository;
+        this.rowWriterFactory = rowWriterFactory;
     }
 
     @Override
@@ -163,7 +183,7 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public List<DataDTO> getDeviceAttributes(Integer deviceId) {
         // 获取设备的最新数据
-        Optional<Data> latestDataOpt = dataRepository.findFirstByComponentIdOrderByTimeDesc(deviceId);
+        Optional<Data> latestDataOpt = latestReadingCache.get(deviceId).map(LatestReading::toData);
 
         if (latestDataOpt.isEmpty()) {
             return Collections.emptyList();
@@ -209,89 +229,96 @@ public class ReportServiceImpl implements ReportService {
     }
 
     @Override
-    public Resource exportDeviceAttributes(Integer deviceId) {
-        try {
-            // 获取设备信息
-            Optional<Component> componentOpt = componentRepository.findById(deviceId);
-            if (componentOpt.isEmpty()) {
-                throw new RuntimeException("设备不存在");
-            }
-            Component component = componentOpt.get();
+    public ExportWriter exportDeviceAttributes(Integer userId, Integer deviceId, ExportFormat format) {
+        // 获取设备信息
+        Component component = findOwnedComponent(userId, deviceId);
 
-            // 获取设备的最新数据
-            Optional<Data> latestDataOpt = dataRepository.findFirstByComponentIdOrderByTimeDesc(deviceId);
-            if (latestDataOpt.isEmpty()) {
-                throw new RuntimeException("设备数据不存在");
-            }
-            Data latestData = latestDataOpt.get();
-
-            // 创建工作簿
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("设备属性");
-
-            // 设置标题行样式
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-
-            // 创建标题行
-            Row headerRow = sheet.createRow(0);
-            String[] columns = {
-                    "设备ID", "设备名称", "高压涡轮效率", "风扇转速", "风扇裕度",
-                    "风扇出口温度", "燃油流量", "HPT出口温度", "高压压气机转速", "高压压气机裕度"
-            };
-
-            for (int i = 0; i < columns.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(columns[i]);
-                cell.setCellStyle(headerStyle);
-            }
+        // 获取设备的最新数据
+        Optional<Data> latestDataOpt = latestReadingCache.get(deviceId).map(LatestReading::toData);
+        if (latestDataOpt.isEmpty()) {
+            throw new ResourceNotFoundException("设备数据不存在");
+        }
+        Data latestData = latestDataOpt.get();
 
-            // 创建数据行
-            Row dataRow = sheet.createRow(1);
-            dataRow.createCell(0).setCellValue(component.getId());
-            dataRow.createCell(1).setCellValue(component.getName());
-
-            // 设置属性值
-            setCellValue(dataRow.createCell(2), latestData.getHptEffMod());
-            setCellValue(dataRow.createCell(3), latestData.getNf());
-            setCellValue(dataRow.createCell(4), latestData.getSmFan());
-            setCellValue(dataRow.createCell(5), latestData.getT24());
-            setCellValue(dataRow.createCell(6), latestData.getWf());
-            setCellValue(dataRow.createCell(7), latestData.getT48());
-            setCellValue(dataRow.createCell(8), latestData.getNc());
-            setCellValue(dataRow.createCell(9), latestData.getSmHPC());
-
-            // 自动调整列宽
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
+        return outputStream -> {
+            try (RowWriter writer = rowWriterFactory.open(format, "设备属性", ATTRIBUTE_EXPORT_COLUMNS, outputStream)) {
+                writer.writeRow(
+                        component.getId(),
+                        component.getName(),
+                        latestData.getHptEffMod(),
+                        latestData.getNf(),
+                        latestData.getSmFan(),
+                        latestData.getT24(),
+                        latestData.getWf(),
+                        latestData.getT48(),
+                        latestData.getNc(),
+                        latestData.getSmHPC());
             }
+        };
+    }
 
-            // 写入字节数组
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            workbook.close();
+    @Override
+    public ExportWriter exportDeviceHistory(Integer userId, Integer deviceId, ExportFormat format) {
+        findOwnedComponent(userId, deviceId);
+
+        return outputStream -> {
+            try (RowWriter writer = rowWriterFactory.open(format, "设备数据", HISTORY_EXPORT_COLUMNS, outputStream)) {
+                Object[] values = new Object[HISTORY_EXPORT_COLUMNS.size()];
+                LocalDateTime afterTime = null;
+                long afterId = 0;
+                // 按 (time, id) 键集分页读取，每页写完即可回收
+                while (true) {
+                    List<DataBatchRepository.HistoryRow> page =
+                            dataBatchRepository.findHistoryPage(deviceId, afterTime, afterId, exportPageSize);
+                    for (DataBatchRepository.HistoryRow historyRow : page) {
+                        TelemetryRow row = historyRow.getRow();
+                        values[0] = historyRow.getId();
+                        values[1] = row.getTime();
+                        for (TelemetryChannel channel : TelemetryChannel.values()) {
+                            double value = row.get(channel);
+                            values[2 + channel.ordinal()] = Double.isNaN(value) ? null : value;
+                        }
+                        writer.writeRow(values);
+                    }
+                    if (page.size() < exportPageSize) {
+                        break;
+                    }
+                    DataBatchRepository.HistoryRow last = page.get(page.size() - 1);
+                    afterTime = last.getRow().getTime();
+                    afterId = last.getId();
+                }
+            }
+        };
+    }
 
-            // 创建资源
-            ByteArrayResource resource = new ByteArrayResource(outputStream.toByteArray());
-            return resource;
+    /**
+     * 辅助方法：获取属于当前用户的设备；设备不存在或属于其他用户时同样返回"设备不存在"，不暴露其他用户的设备
+     */
+    private Component findOwnedComponent(Integer userId, Integer deviceId) {
+        return componentRepository.findById(deviceId)
+                .filter(component -> component.getUser() != null && component.getUser().getId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("设备不存在"));
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("导出设备属性失败: " + e.getMessage(), e);
-        }
+    /**
+     * 辅助方法：设备属性导出文件的列定义
+     */
+    private static List<ExportColumn> attributeExportColumns() {
+        List<ExportColumn> columns = new ArrayList<>();
+        columns.add(new ExportColumn("device_id", "设备ID", ExportColumn.Type.INT, 10));
+        columns.add(new ExportColumn("device_name", "设备名称", ExportColumn.Type.STRING, 24));
+        columns.addAll(ExportColumn.channels());
+        return List.copyOf(columns);
     }
 
     /**
-     * 辅助方法：设置单元格值
-     * @param cell 单元格
-     * @param value 值
+     * 辅助方法：设备历史数据导出文件的列定义
      */
-    private void setCellValue(Cell cell, Double value) {
-        if (value != null) {
-            cell.setCellValue(value);
-        } else {
-            cell.setCellValue("N/A");
-        }
+    private static List<ExportColumn> historyExportColumns() {
+        List<ExportColumn> columns = new ArrayList<>();
+        columns.add(new ExportColumn("id", "数据ID", ExportColumn.Type.LONG, 12));
+        columns.add(new ExportColumn("time", "时间", ExportColumn.Type.TIMESTAMP, 22));
+        columns.addAll(ExportColumn.channels());
+        return List.copyOf(columns);
     }
-}
\ No newline at end of file
+}
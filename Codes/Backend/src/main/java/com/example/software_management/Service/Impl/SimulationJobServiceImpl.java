@@ -0,0 +1,178 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Model.SimulationJob;
+import com.example.software_management.Repository.SimulationJobRepository;
+import com.example.software_management.Service.SimulationJobService;
+import com.example.software_management.Service.SimulationService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class SimulationJobServiceImpl implements SimulationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationJobServiceImpl.class);
+
+    private final SimulationJobRepository simulationJobRepository;
+    private final SimulationService simulationService;
+    private final TaskExecutor simulationJobExecutor;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public SimulationJobServiceImpl(
+            SimulationJobRepository simulationJobRepository,
+            SimulationService simulationService,
+            @Qualifier("simulationJobExecutor") TaskExecutor simulationJobExecutor,
+            ObjectMapper objectMapper) {
+        this.simulationJobRepository = simulationJobRepository;
+        this.simulationService = simulationService;
+        this.simulationJobExecutor = simulationJobExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public SimulationJob submitJob(Integer userId, int modelId, int deviceId, MultipartFile file) throws Exception {
+        // 同步校验参数，明显错误的请求不进入队列
+        simulationService.validateSimulationRequest(modelId, deviceId);
+        String filePath = simulationService.saveUploadedFile(file);
+
+        SimulationJob job = new SimulationJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(userId);
+        job.setModelId(modelId);
+        job.setDeviceId(deviceId);
+        job.setFilePath(filePath);
+        job.setStatus(SimulationJob.Status.QUEUED);
+        job = simulationJobRepository.save(job);
+
+        try {
+            enqueue(job.getId());
+        } catch (TaskRejectedException e) {
+            // 队列已满，撤销任务
+            simulationJobRepository.deleteById(job.getId());
+            Files.deleteIfExists(Paths.get(filePath));
+            throw e;
+        }
+        return job;
+    }
+
+    @Override
+    public Map<String, Object> getJobStatus(String jobId, Integer userId) {
+        SimulationJob job = simulationJobRepository.findById(jobId)
+                .filter(j -> j.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("任务不存在"));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus().name());
+        response.put("createdTime", job.getCreatedTime());
+        response.put("startedTime", job.getStartedTime());
+        response.put("finishedTime", job.getFinishedTime());
+
+        if (job.getStatus() == SimulationJob.Status.SUCCEEDED && job.getResult() != null) {
+            try {
+                response.put("result", objectMapper.readValue(job.getResult(), new TypeReference<Map<String, Object>>() {}));
+            } catch (Exception e) {
+                response.put("result", job.getResult());
+            }
+        }
+        if (job.getStatus() == SimulationJob.Status.FAILED) {
+            response.put("message", job.getErrorMessage());
+        }
+        return response;
+    }
+
+    /**
+     * 服务启动后恢复未完成的任务
+     * 排队中的任务重新入队；运行中的任务可能已部分执行，标记为失败
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverJobs() {
+        List<SimulationJob> unfinished = simulationJobRepository.findByStatusInOrderByCreatedTimeAsc(
+                List.of(SimulationJob.Status.QUEUED, SimulationJob.Status.RUNNING));
+        for (SimulationJob job : unfinished) {
+            if (job.getStatus() == SimulationJob.Status.RUNNING) {
+                markFailed(job, "服务重启，任务中断");
+                deleteUpload(job);
+                continue;
+            }
+            try {
+                enqueue(job.getId());
+            } catch (TaskRejectedException e) {
+                markFailed(job, "任务队列已满，任务未能恢复");
+                deleteUpload(job);
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("已恢复 {} 个未完成的模拟任务", unfinished.size());
+        }
+    }
+
+    private void enqueue(String jobId) {
+        simulationJobExecutor.execute(() -> runJob(jobId));
+    }
+
+    private void runJob(String jobId) {
+        SimulationJob job = simulationJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != SimulationJob.Status.QUEUED) {
+            return;
+        }
+
+        job.setStatus(SimulationJob.Status.RUNNING);
+        job.setStartedTime(LocalDateTime.now());
+        job = simulationJobRepository.save(job);
+
+        try {
+            Map<String, Object> result = simulationService.getSimulationResult(
+                    job.getModelId(), job.getDeviceId(), job.getFilePath());
+            job.setResult(objectMapper.writeValueAsString(result));
+            job.setStatus(SimulationJob.Status.SUCCEEDED);
+            job.setFinishedTime(LocalDateTime.now());
+            simulationJobRepository.save(job);
+        } catch (Exception e) {
+            log.warn("模拟任务 {} 执行失败: {}", jobId, e.getMessage());
+            markFailed(job, e.getMessage());
+        } finally {
+            // 数据已导入 device_data，任务结束后不再需要暂存的上传文件
+            deleteUpload(job);
+        }
+    }
+
+    private void deleteUpload(SimulationJob job) {
+        if (job.getFilePath() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(job.getFilePath()));
+        } catch (IOException e) {
+            log.warn("删除模拟任务 {} 的上传文件失败: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void markFailed(SimulationJob job, String message) {
+        job.setStatus(SimulationJob.Status.FAILED);
+        job.setErrorMessage(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        job.setFinishedTime(LocalDateTime.now());
+        simulationJobRepository.save(job);
+    }
+}
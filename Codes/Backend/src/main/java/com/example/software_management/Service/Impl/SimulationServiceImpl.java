@@ -1,47 +1,71 @@
 package com.example.software_management.Service.Impl;
 
+import com.example.software_management.Cache.ComponentMetadata;
+import com.example.software_management.Cache.ModelMetadata;
+import com.example.software_management.Cache.SimulationMetadataCache;
+import com.example.software_management.Inference.CachedPrediction;
+import com.example.software_management.Inference.FeatureWindow;
+import com.example.software_management.Inference.PredictionCache;
+import com.example.software_management.Inference.PredictionClient;
+import com.example.software_management.Inference.TelemetryWindowStore;
+import com.example.software_management.Ingest.BoundedInputStream;
+import com.example.software_management.Ingest.IngestResult;
+import com.example.software_management.Ingest.TeeInputStream;
 import com.example.software_management.Model.Component;
 import com.example.software_management.Model.Data;
 import com.example.software_management.Model.Forecast;
 import com.example.software_management.Model.Model;
 import com.example.software_management.Repository.ComponentRepository;
 import com.example.software_management.Repository.DataRepository;
+import com.example.software_management.Repository.ForecastBatchRepository;
 import com.example.software_management.Repository.ForecastRepository;
-import com.example.software_management.Repository.ModelRepository;
+import com.example.software_management.Service.DataIngestService;
 import com.example.software_management.Service.SimulationService;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class SimulationServiceImpl implements SimulationService {
 
-    private final ModelRepository modelRepository;
-    private final ComponentRepository componentRepository;
     private final ForecastRepository forecastRepository;
+    private final ForecastBatchRepository forecastBatchRepository;
     private final DataRepository dataRepository; // 新增DataRepository
-    private final RestTemplate restTemplate;
+    private final ComponentRepository componentRepository;
+    private final DataIngestService dataIngestService;
+    private final PredictionClient predictionClient;
+    private final PredictionCache predictionCache;
+    private final SimulationMetadataCache metadataCache;
+    private final TelemetryWindowStore windowStore;
+    private final Executor batchExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     // 配置信息
     @Value("${app.upload.dir:./upload_file/}")
@@ -53,21 +77,38 @@ public class SimulationServiceImpl implements SimulationService {
     @Value("${app.image.dir:./image}")
     private String imageDir;
 
-    @Value("${app.flask.api.url:http://localhost:5000/predict}")
-    private String flaskApiUrl;
+    // 单次批量模拟的最大设备数
+    @Value("${app.simulation.batch.max-items:200}")
+    private int maxBatchItems;
+
+    // 单个上传文件的最大字节数
+    @Value("${app.upload.max-size-bytes:104857600}")
+    private long maxUploadBytes;
 
     @Autowired
     public SimulationServiceImpl(
-            ModelRepository modelRepository,
-            ComponentRepository componentRepository,
             ForecastRepository forecastRepository,
+            ForecastBatchRepository forecastBatchRepository,
             DataRepository dataRepository, // 新增DataRepository
-            RestTemplate restTemplate) {
-        this.modelRepository = modelRepository;
-        this.componentRepository = componentRepository;
+            ComponentRepository componentRepository,
+            DataIngestService dataIngestService,
+            PredictionClient predictionClient,
+            PredictionCache predictionCache,
+            SimulationMetadataCache metadataCache,
+            TelemetryWindowStore windowStore,
+            @Qualifier("simulationBatchExecutor") Executor batchExecutor,
+            PlatformTransactionManager transactionManager) {
         this.forecastRepository = forecastRepository;
+        this.forecastBatchRepository = forecastBatchRepository;
         this.dataRepository = dataRepository; // 注入DataRepository
-        this.restTemplate = restTemplate;
+        this.componentRepository = componentRepository;
+        this.dataIngestService = dataIngestService;
+        this.predictionClient = predictionClient;
+        this.predictionCache = predictionCache;
+        this.metadataCache = metadataCache;
+        this.windowStore = windowStore;
+        this.batchExecutor = batchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @PostConstruct
@@ -91,163 +132,390 @@ public class SimulationServiceImpl implements SimulationService {
 
 
     @Override
-    public Map<String, Object> getSimulationResult(int modelId, int deviceId, MultipartFile file) throws Exception {
+    public Map<String, Object> getSimulationResult(int modelId, int deviceId, MultipartFile file,
+                                                   boolean reuseData) throws Exception {
         // 1. 验证模型和设备
         ModelValidationResult modelValidation = validateModel(modelId);
         ComponentValidationResult componentValidation = validateComponent(deviceId);
+        // 预测服务熔断时直接拒绝，不再保存和解析上传文件
+        predictionClient.checkAvailable();
+
+        if (reuseData) {
+            // 先保存文件并计算内容摘要，同一设备已经导入过相同数据时跳过导入
+            String filePath = saveUploadedFile(file);
+            String cacheKey = cacheKey(modelValidation, PredictionCache.hashFile(Paths.get(filePath)));
+            CachedPrediction cached = predictionCache.get(cacheKey);
+            if (cached != null && cached.getComponentId().equals(componentValidation.getComponent().getId())) {
+                try {
+                    Map<String, Object> response = predictAndRecord(
+                            modelValidation, componentValidation, filePath, new IngestResult(0, 0), cacheKey, cached);
+                    response.put("dataReused", true);
+                    return response;
+                } finally {
+                    // 数据已经导入过，不再保留重复的上传文件
+                    Files.deleteIfExists(Paths.get(filePath));
+                }
+            }
+            IngestResult ingestResult = saveDataFromFile(filePath, componentValidation.getComponent());
+            // 已经查过一次缓存，沿用查询结果，避免重复计入命中率统计
+            return predictAndRecord(modelValidation, componentValidation, filePath, ingestResult, cacheKey, cached);
+        }
 
-        // 2. 保存上传的文件
-        String fileName = saveUploadedFile(file);
-        String filePath = Paths.get(uploadDir, fileName).toString();
+        // 2. 上传文件边写入磁盘边解析，批量保存到Data表
+        UploadResult upload = saveAndIngestUploadedFile(file, componentValidation.getComponent());
+        String filePath = upload.getFilePath();
+        IngestResult ingestResult = upload.getIngestResult();
+        String cacheKey = cacheKey(modelValidation, upload.getContentHash());
 
-        // 3. 读取表格数据并保存到Data表（新增功能）
-        saveDataFromFile(filePath, componentValidation.getComponent());
+        // 3-5. 预测、记录结果并构建响应
+        return predictAndRecord(modelValidation, componentValidation, filePath, ingestResult, cacheKey);
+    }
 
-        // 4. 调用Flask API进行预测 - 传递文件路径
-        Map<String, Object> apiResponse = callFlaskApi(
-                modelValidation.getModelType(),
-                modelValidation.getModelPath(),
-                filePath
-        );
+    @Override
+    public void validateSimulationRequest(int modelId, int deviceId) throws Exception {
+        validateModel(modelId);
+        validateComponent(deviceId);
+        predictionClient.checkAvailable();
+    }
 
-        // 5. 记录预测结果到forecast表
-        Forecast forecast = saveForecastResult(
-                componentValidation.getComponent(),
-                modelValidation.getModel(),
-                apiResponse,
-                componentValidation.getImageUrl()
-        );
+    @Override
+    public String saveUploadedFile(MultipartFile file) throws Exception {
+        if (file.getSize() > maxUploadBytes) {
+            throw new Exception("上传文件超过大小限制: " + maxUploadBytes + " 字节");
+        }
+        try {
+            // transferTo 在上传内容已缓存为临时文件时直接移动文件，不经过堆内存
+            Path filePath = Paths.get(uploadDir, buildUploadFileName(file)).toAbsolutePath();
+            file.transferTo(filePath);
+            return filePath.toString();
+        } catch (IOException e) {
+            throw new Exception("保存上传文件失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getSimulationResult(int modelId, int deviceId, String filePath) throws Exception {
+        // 1. 验证模型和设备
+        ModelValidationResult modelValidation = validateModel(modelId);
+        ComponentValidationResult componentValidation = validateComponent(deviceId);
+        // 预测服务熔断时直接拒绝，不再保存和解析上传文件
+        predictionClient.checkAvailable();
+
+        // 2. 读取已保存的表格数据并批量保存到Data表
+        IngestResult ingestResult = saveDataFromFile(filePath, componentValidation.getComponent());
+        String cacheKey = cacheKey(modelValidation, PredictionCache.hashFile(Paths.get(filePath)));
+
+        // 3-5. 预测、记录结果并构建响应
+        return predictAndRecord(modelValidation, componentValidation, filePath, ingestResult, cacheKey);
+    }
+
+    @Override
+    public Map<String, Object> getWindowSimulationResult(int modelId, int deviceId) throws Exception {
+        // 1. 验证模型和设备
+        ModelValidationResult modelValidation = validateModel(modelId);
+        ComponentValidationResult componentValidation = validateComponent(deviceId);
+        predictionClient.checkAvailable();
+
+        // 2. 使用设备最近导入的完整数据文件的窗口，不上传文件；没有完整窗口时拒绝，不以均值填充缺少的特征
+        Component component = componentValidation.getComponent();
+        FeatureWindow window = windowStore.getWindow(component.getId());
+        window.validate();
+        MessageDigest digest = PredictionCache.newDigest();
+        digest.update(window.toFloat32LittleEndian());
+        String cacheKey = cacheKey(modelValidation, PredictionCache.toHex(digest));
+
+        // 3-5. 预测、记录结果并构建响应
+        Map<String, Object> response = predictAndRecord(
+                modelValidation, componentValidation, null, new IngestResult(0, 0, window), cacheKey);
+        response.put("windowRows", window.getRows());
+        return response;
+    }
 
-        // 6. 构建响应
-        return buildResponse(
+    private Map<String, Object> predictAndRecord(ModelValidationResult modelValidation,
+                                                 ComponentValidationResult componentValidation,
+                                                 String filePath,
+                                                 IngestResult ingestResult,
+                                                 String cacheKey) throws Exception {
+        return predictAndRecord(modelValidation, componentValidation, filePath, ingestResult, cacheKey,
+                predictionCache.get(cacheKey));
+    }
+
+    /**
+     * @param cached 调用方已查到的缓存结果，未命中时为 null
+     */
+    private Map<String, Object> predictAndRecord(ModelValidationResult modelValidation,
+                                                 ComponentValidationResult componentValidation,
+                                                 String filePath,
+                                                 IngestResult ingestResult,
+                                                 String cacheKey,
+                                                 CachedPrediction cached) throws Exception {
+        Component component = componentValidation.getComponent();
+
+        // 3. 相同模型和相同数据命中缓存时跳过推理，否则调用Flask API进行预测 - 传递文件路径
+        PredictionOutcome outcome = predict(modelValidation, filePath, ingestResult, cached);
+        Map<String, Object> apiResponse = outcome.getApiResponse();
+        Forecast forecast = null;
+        // 同一设备已有这次预测的记录，直接复用，不再重复写入预测和告警
+        if (cached != null && cached.getComponentId().equals(component.getId()) && cached.getForecastId() != null) {
+            forecast = forecastRepository.findById(cached.getForecastId()).orElse(null);
+        }
+
+        // 4. 记录预测结果到forecast表
+        if (forecast == null) {
+            forecast = saveForecastResult(
+                    component,
+                    modelValidation.getModel(),
+                    apiResponse,
+                    componentValidation.getImageUrl()
+            );
+        }
+        if (cached == null) {
+            predictionCache.put(cacheKey, new CachedPrediction(apiResponse, component.getId(), forecast.getId()));
+        }
+
+        // 5. 构建响应
+        Map<String, Object> response = buildResponse(
                 componentValidation.getImageUrl(),
                 apiResponse,
-                forecast
+                forecast,
+                ingestResult
+        );
+        response.put("cached", cached != null);
+        return response;
+    }
+
+    /**
+     * 缓存命中时直接使用缓存的预测结果，未命中时调用Flask API
+     * 缓存由调用方查询，每个请求只查询一次，命中率统计不重复计数
+     */
+    private PredictionOutcome predict(ModelValidationResult modelValidation, String filePath,
+                                      IngestResult ingestResult, CachedPrediction cached) throws Exception {
+        if (cached != null) {
+            return new PredictionOutcome(cached.getPrediction(), cached);
+        }
+        Map<String, Object> apiResponse = predictionClient.predict(
+                modelValidation.getModelType(),
+                modelValidation.getModelPath(),
+                filePath,
+                ingestResult.getWindow()
         );
+        return new PredictionOutcome(apiResponse, null);
+    }
+
+    @Override
+    public Map<String, Object> getBatchSimulationResult(int modelId, List<Integer> deviceIds,
+                                                        List<MultipartFile> files) throws Exception {
+        if (deviceIds == null || files == null || deviceIds.isEmpty()) {
+            throw new Exception("批量模拟至少需要一个设备和数据文件");
+        }
+        if (deviceIds.size() != files.size()) {
+            throw new Exception("设备数量与数据文件数量不一致");
+        }
+        if (deviceIds.size() > maxBatchItems) {
+            throw new Exception("单次批量模拟最多支持 " + maxBatchItems + " 个设备");
+        }
+
+        // 1. 模型只验证一次，设备一次查询全部取出
+        ModelValidationResult modelValidation = validateModel(modelId);
+        predictionClient.checkAvailable();
+        Map<Integer, ComponentValidationResult> components = validateComponents(deviceIds);
+
+        // 2-3. 导入数据和预测交给批量线程池，并发数受线程池大小限制
+        List<CompletableFuture<BatchItem>> futures = new ArrayList<>(deviceIds.size());
+        for (int i = 0; i < deviceIds.size(); i++) {
+            int index = i;
+            Integer deviceId = deviceIds.get(i);
+            ComponentValidationResult componentValidation = components.get(deviceId);
+            if (componentValidation == null) {
+                futures.add(CompletableFuture.completedFuture(BatchItem.failed(index, deviceId, "设备不存在")));
+                continue;
+            }
+            MultipartFile file = files.get(i);
+            try {
+                // 单个设备的失败只记入该设备的结果，不影响同批的其他设备
+                futures.add(CompletableFuture.supplyAsync(
+                                () -> runBatchItem(index, modelValidation, componentValidation, file), batchExecutor)
+                        .exceptionally(e -> BatchItem.failed(index, deviceId, failureMessage(e))));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(
+                        BatchItem.failed(index, deviceId, "批量模拟队列已满，请稍后重试")));
+            }
+        }
+        List<BatchItem> items = new ArrayList<>(futures.size());
+        for (CompletableFuture<BatchItem> future : futures) {
+            items.add(future.join());
+        }
+
+        // 4. 同一设备命中缓存的复用已有预测记录，其余预测记录在同一个事务中保存
+        Set<Integer> reusableForecastIds = new HashSet<>();
+        for (BatchItem item : items) {
+            if (item.isSuccess() && item.reusesForecast()) {
+                reusableForecastIds.add(item.getCached().getForecastId());
+            }
+        }
+        Map<Integer, Forecast> reusableForecasts = new HashMap<>();
+        for (Forecast forecast : forecastRepository.findAllById(reusableForecastIds)) {
+            reusableForecasts.put(forecast.getId(), forecast);
+        }
+
+        List<Forecast> newForecasts = new ArrayList<>();
+        for (BatchItem item : items) {
+            if (!item.isSuccess()) {
+                continue;
+            }
+            Forecast forecast = item.reusesForecast() ? reusableForecasts.get(item.getCached().getForecastId()) : null;
+            if (forecast == null) {
+                forecast = buildForecast(item.getComponentValidation().getComponent(),
+                        modelValidation.getModel(), item.getApiResponse());
+                newForecasts.add(forecast);
+            }
+            item.setForecast(forecast);
+        }
+        saveForecasts(newForecasts);
+
+        // 5. 构建每一项的结果，新的预测结果写入缓存
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+        int succeeded = 0;
+        for (BatchItem item : items) {
+            Map<String, Object> result;
+            if (item.isSuccess()) {
+                succeeded++;
+                Component component = item.getComponentValidation().getComponent();
+                if (item.getCached() == null) {
+                    predictionCache.put(item.getCacheKey(),
+                            new CachedPrediction(item.getApiResponse(), component.getId(), item.getForecast().getId()));
+                }
+                result = buildResponse(item.getComponentValidation().getImageUrl(), item.getApiResponse(),
+                        item.getForecast(), item.getIngestResult());
+                result.put("cached", item.getCached() != null);
+            } else {
+                result = new HashMap<>();
+                result.put("success", false);
+                result.put("message", item.getMessage());
+            }
+            result.put("index", item.getIndex());
+            result.put("deviceId", item.getDeviceId());
+            results.add(result);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("total", items.size());
+        response.put("succeeded", succeeded);
+        response.put("failed", items.size() - succeeded);
+        response.put("results", results);
+        return response;
+    }
+
+    /**
+     * 批量模拟中的单项：保存并导入上传文件，然后预测；失败只影响本项
+     */
+    private BatchItem runBatchItem(int index, ModelValidationResult modelValidation,
+                                   ComponentValidationResult componentValidation, MultipartFile file) {
+        Integer deviceId = componentValidation.getComponent().getId();
+        try {
+            UploadResult upload = saveAndIngestUploadedFile(file, componentValidation.getComponent());
+            String cacheKey = cacheKey(modelValidation, upload.getContentHash());
+            PredictionOutcome outcome = predict(
+                    modelValidation, upload.getFilePath(), upload.getIngestResult(), predictionCache.get(cacheKey));
+            return BatchItem.succeeded(index, componentValidation, upload.getIngestResult(), cacheKey, outcome);
+        } catch (Exception e) {
+            return BatchItem.failed(index, deviceId, e.getMessage());
+        }
+    }
+
+    /**
+     * 线程池中抛出的异常会被包装为 CompletionException，取其原因作为该项的失败信息
+     */
+    private static String failureMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private String cacheKey(ModelValidationResult modelValidation, String contentHash) {
+        return PredictionCache.key(modelValidation.getModel().getId(), modelValidation.getModelVersion(), contentHash);
     }
 
     /**
      * 验证模型是否存在且有效
      */
     private ModelValidationResult validateModel(int modelId) throws Exception {
-        // 查询完整的模型对象
-        Optional<Model> modelOptional = modelRepository.findById(modelId);
+        // 模型记录和模型文件状态来自元数据缓存
+        Optional<ModelMetadata> modelOptional = metadataCache.getModel(modelId);
         if (modelOptional.isEmpty()) {
             throw new Exception("模型不存在");
         }
-        Model model = modelOptional.get();
+        ModelMetadata metadata = modelOptional.get();
 
         // 检查模型文件是否存在
-        Path modelPath = Paths.get(modelDir, model.getType(), model.getModelfile());
-        if (!Files.exists(modelPath)) {
-            throw new Exception("模型文件不存在: " + modelPath);
+        if (!metadata.isModelFileExists()) {
+            throw new Exception("模型文件不存在: " + metadata.getModelPath());
         }
 
-        return new ModelValidationResult(model, modelPath.toString(), model.getType());
+        Model model = metadata.getModel();
+        return new ModelValidationResult(model, metadata.getModelPath(), model.getType(), metadata.getModelVersion());
     }
 
     /**
      * 验证设备是否存在且有效
+     * 返回的设备是缓存快照的副本，只用于校验和构建响应；保存预测时改用受管实体，见 saveForecasts
      */
     private ComponentValidationResult validateComponent(int deviceId) throws Exception {
-        // 查询设备信息
-        Optional<Component> componentOptional = componentRepository.findById(deviceId);
+        // 设备信息和图片URL来自元数据缓存
+        Optional<ComponentMetadata> componentOptional = metadataCache.getComponent(deviceId);
         if (componentOptional.isEmpty()) {
             throw new Exception("设备不存在");
         }
-        Component component = componentOptional.get();
-
-        // 获取设备图片URL
-        String imageUrl = component.getPic();
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            // 如果设备没有图片，使用默认图片
-            imageUrl = "/images/default_component.png";
-        } else {
-            // 检查图片文件是否存在
-            Path imagePath = Paths.get(imageDir, imageUrl);
-            if (!Files.exists(imagePath)) {
-                // 如果图片文件不存在，使用默认图片
-                imageUrl = "/images/default_component.png";
-            }
-        }
-
-        return new ComponentValidationResult(component, imageUrl);
+        ComponentMetadata metadata = componentOptional.get();
+        return new ComponentValidationResult(metadata.newComponent(), metadata.getImageUrl());
     }
 
     /**
-     * 保存上传的文件
+     * 批量验证多个设备，未缓存的设备一次查询取出，不存在的设备不会出现在结果中
      */
-    private String saveUploadedFile(MultipartFile file) throws Exception {
-        try {
-            String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-            Path filePath = Paths.get(uploadDir, fileName);
-            Files.write(filePath, file.getBytes());
-            return fileName;
-        } catch (IOException e) {
-            throw new Exception("保存上传文件失败: " + e.getMessage());
+    private Map<Integer, ComponentValidationResult> validateComponents(Collection<Integer> deviceIds) {
+        Map<Integer, ComponentValidationResult> result = new HashMap<>();
+        for (ComponentMetadata metadata : metadataCache.getComponents(new HashSet<>(deviceIds)).values()) {
+            result.put(metadata.getId(), new ComponentValidationResult(metadata.newComponent(), metadata.getImageUrl()));
         }
+        return result;
     }
 
-    private void saveDataFromFile(String filePath, Component component) throws Exception {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 读取表头行
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
-                throw new Exception("表格文件为空");
-            }
-
-            // 使用逗号分隔符分割表头
-            String[] headers = headerLine.split(",");
+    /**
+     * 保存上传的文件并导入数据
+     * 上传内容只读取一遍：流式写入上传目录的同时交给表格解析器，不会把整个文件读入内存
+     */
+    private UploadResult saveAndIngestUploadedFile(MultipartFile file, Component component) throws Exception {
+        if (file.getSize() > maxUploadBytes) {
+            throw new Exception("上传文件超过大小限制: " + maxUploadBytes + " 字节");
+        }
 
-            // 创建列索引映射，同时转换为小写以便不区分大小写比较
-            Map<String, Integer> columnIndices = new HashMap<>();
-            for (int i = 0; i < headers.length; i++) {
-                String header = headers[i].trim().toLowerCase();
-                columnIndices.put(header, i);
-                System.out.println("列名: " + header + ", 索引: " + i); // 调试信息
+        Path filePath = Paths.get(uploadDir, buildUploadFileName(file));
+        MessageDigest digest = PredictionCache.newDigest();
+        try (InputStream raw = file.getInputStream();
+             OutputStream out = Files.newOutputStream(filePath, StandardOpenOption.CREATE_NEW)) {
+            // 写入磁盘的同时计算内容摘要，用作预测缓存的键
+            InputStream in = new TeeInputStream(
+                    new DigestInputStream(new BoundedInputStream(raw, maxUploadBytes), digest), out);
+            IngestResult ingestResult = dataIngestService.ingestCsv(component, filePath.toString(), in);
+            // 解析器读到文件末尾即结束，这里把可能剩余的内容也写入磁盘
+            in.transferTo(OutputStream.nullOutputStream());
+            return new UploadResult(filePath.toString(), ingestResult, PredictionCache.toHex(digest));
+        } catch (Exception e) {
+            Files.deleteIfExists(filePath);
+            if (e instanceof IOException) {
+                throw new Exception("保存上传文件失败: " + e.getMessage());
             }
+            throw new Exception("处理表格数据错误: " + e.getMessage() + " - " + e.getClass().getName());
+        }
+    }
 
-            // 读取数据行
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // 使用逗号分隔符分割数据
-                String[] values = line.split(",");
-
-                if (values.length < headers.length) {
-                    System.out.println("跳过不完整行: " + line);
-                    continue;
-                }
-
-                // 创建新的Data实体
-                Data data = new Data();
-                data.setComponent(component);
-                data.setTime(LocalDateTime.now());
-                data.setFile(filePath);
-
-                // 设置各属性值 - 使用小写键名查找
-                setDoubleValueIfExists(columnIndices, values, "hpt_eff_mod", data::setHptEffMod);
-                setDoubleValueIfExists(columnIndices, values, "nf", data::setNf);
-                setDoubleValueIfExists(columnIndices, values, "smfan", data::setSmFan);
-                setDoubleValueIfExists(columnIndices, values, "t24", data::setT24);
-                setDoubleValueIfExists(columnIndices, values, "wf", data::setWf);
-                setDoubleValueIfExists(columnIndices, values, "t48", data::setT48);
-                setDoubleValueIfExists(columnIndices, values, "nc", data::setNc);
-                setDoubleValueIfExists(columnIndices, values, "smhpc", data::setSmHPC);
-
-                // 打印设置的值，用于调试
-                System.out.println("设置的数据: " +
-                        "HPT_eff_mod=" + data.getHptEffMod() + ", " +
-                        "Nf=" + data.getNf() + ", " +
-                        "SmFan=" + data.getSmFan() + ", " +
-                        "T24=" + data.getT24() + ", " +
-                        "Wf=" + data.getWf() + ", " +
-                        "T48=" + data.getT48() + ", " +
-                        "Nc=" + data.getNc() + ", " +
-                        "SmHPC=" + data.getSmHPC());
-
-                // 保存数据
-                dataRepository.save(data);
-            }
+    /**
+     * 读取已保存的表格数据并批量保存到Data表
+     */
+    private IngestResult saveDataFromFile(String filePath, Component component) throws Exception {
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            return dataIngestService.ingestCsv(component, filePath, in);
         } catch (IOException e) {
             throw new Exception("读取表格文件失败: " + e.getMessage());
         } catch (Exception e) {
@@ -255,69 +523,55 @@ public class SimulationServiceImpl implements SimulationService {
         }
     }
 
-    private void setDoubleValueIfExists(Map<String, Integer> columnIndices, String[] values,
-                                        String columnName, java.util.function.Consumer<Double> setter) {
-        // 使用小写列名查找
-        if (columnIndices.containsKey(columnName) && columnIndices.get(columnName) < values.length) {
-            String value = values[columnIndices.get(columnName)].trim();
-            if (!value.isEmpty()) {
-                try {
-                    double doubleValue = Double.parseDouble(value);
-                    setter.accept(doubleValue);
-                    System.out.println("设置 " + columnName + " = " + doubleValue); // 调试信息
-                } catch (NumberFormatException e) {
-                    System.out.println("无法解析值: " + columnName + " = " + value);
-                }
-            }
-        } else {
-            System.out.println("找不到列: " + columnName + " 或索引超出范围");
-        }
+    /**
+     * 生成上传文件名，只保留原始文件名的最后一段，避免路径穿越
+     */
+    private String buildUploadFileName(MultipartFile file) {
+        String originalName = file.getOriginalFilename();
+        String baseName = originalName == null || originalName.isBlank()
+                ? "upload.csv"
+                : Paths.get(originalName.replace('\\', '/')).getFileName().toString();
+        return UUID.randomUUID().toString() + "_" + baseName;
     }
 
-
+    /**
+     * 保存预测结果到数据库 - 适配Forecast表结构
+     */
+    private Forecast saveForecastResult(Component component, com.example.software_management.Model.Model modelObj, Map<String, Object> apiResponse, String imageUrl) {
+        // 保存预测结果，同时按健康指数创建告警
+        Forecast forecast = buildForecast(component, modelObj, apiResponse);
+        saveForecasts(List.of(forecast));
+        return forecast;
+    }
 
     /**
-     * 调用Flask API进行预测 - 使用文件路径而不是上传文件
+     * 在一个事务中通过 ForecastBatchRepository 批量保存预测记录及其告警
+     * 预测上的设备换成该事务中受管的实体：生成告警时修改的设备状态和警告时间随事务提交写入数据库，
+     * 缓存中的设备快照不受管，修改不会被保存。提交后使这些设备的元数据缓存失效
      */
-    private Map<String, Object> callFlaskApi(String modelType, String modelPath, String filePath) throws Exception {
-        try {
-            // 创建请求体 - 使用JSON格式
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model_type", modelType); // CNN_LSTM 或 CNN_Transformer
-            requestBody.put("model_path", modelPath);
-            requestBody.put("file_path", filePath);  // 直接传递文件路径
-            requestBody.put("sequence_length", 30);  // 使用默认序列长度
-
-            // 设置请求头
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            // 创建HTTP实体
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-
-            // 发送请求到Flask API
-            ResponseEntity<Map> response = restTemplate.postForEntity(flaskApiUrl, requestEntity, Map.class);
-
-            // 检查响应状态
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> result = response.getBody();
-                if ("success".equals(result.get("status"))) {
-                    return result;
-                } else {
-                    throw new Exception("预测失败: " + result.getOrDefault("message", "未知错误"));
-                }
-            } else {
-                throw new Exception("调用预测API失败: " + response.getStatusCode());
+    private void saveForecasts(List<Forecast> forecasts) {
+        if (forecasts.isEmpty()) {
+            return;
+        }
+        Set<Integer> componentIds = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Integer, Component> managed = new HashMap<>();
+            for (Forecast forecast : forecasts) {
+                Integer componentId = forecast.getComponent().getId();
+                forecast.setComponent(managed.computeIfAbsent(componentId, componentRepository::getReferenceById));
+                componentIds.add(componentId);
             }
-        } catch (Exception e) {
-            throw new Exception("调用Flask API出错: " + e.getMessage(), e);
+            forecastBatchRepository.insertBatch(forecasts);
+        });
+        for (Integer componentId : componentIds) {
+            metadataCache.evictComponent(componentId);
         }
     }
 
     /**
-     * 保存预测结果到数据库 - 适配Forecast表结构
+     * 根据预测结果创建预测记录（未保存）
      */
-    private Forecast saveForecastResult(Component component, com.example.software_management.Model.Model modelObj, Map<String, Object> apiResponse, String imageUrl) {
+    private Forecast buildForecast(Component component, Model modelObj, Map<String, Object> apiResponse) {
         // 创建新的预测记录
         Forecast forecast = new Forecast();
         forecast.setComponent(component);
@@ -343,14 +597,14 @@ public class SimulationServiceImpl implements SimulationService {
             forecast.setHealthIndex(0);
         }
 
-        // 保存预测结果 - @PostPersist会自动创建告警
-        return forecastRepository.save(forecast);
+        return forecast;
     }
 
     /**
      * 构建响应数据
      */
-    private Map<String, Object> buildResponse(String imageUrl, Map<String, Object> apiResponse, Forecast forecast) {
+    private Map<String, Object> buildResponse(String imageUrl, Map<String, Object> apiResponse, Forecast forecast,
+                                              IngestResult ingestResult) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("imageUrl", imageUrl);
@@ -364,6 +618,10 @@ public class SimulationServiceImpl implements SimulationService {
         // 使用Python API返回的健康指数
         response.put("healthIndex", forecast.getHealthIndex());
 
+        // 本次导入的数据行数
+        response.put("insertedRows", ingestResult.getInsertedRows());
+        response.put("skippedRows", ingestResult.getSkippedRows());
+
         return response;
     }
 
@@ -373,11 +631,84 @@ public class SimulationServiceImpl implements SimulationService {
         private final Model model;
         private final String modelPath;
         private final String modelType;
+        private final String modelVersion;
 
-        public ModelValidationResult(Model model, String modelPath, String modelType) {
+        public ModelValidationResult(Model model, String modelPath, String modelType, String modelVersion) {
             this.model = model;
             this.modelPath = modelPath;
             this.modelType = modelType;
+            this.modelVersion = modelVersion;
+        }
+    }
+
+    @Getter
+    private static class UploadResult {
+        private final String filePath;
+        private final IngestResult ingestResult;
+        private final String contentHash;
+
+        public UploadResult(String filePath, IngestResult ingestResult, String contentHash) {
+            this.filePath = filePath;
+            this.ingestResult = ingestResult;
+            this.contentHash = contentHash;
+        }
+    }
+
+    @Getter
+    private static class PredictionOutcome {
+        private final Map<String, Object> apiResponse;
+        // 命中缓存时的缓存项，调用Flask API时为null
+        private final CachedPrediction cached;
+
+        public PredictionOutcome(Map<String, Object> apiResponse, CachedPrediction cached) {
+            this.apiResponse = apiResponse;
+            this.cached = cached;
+        }
+    }
+
+    @Getter
+    private static class BatchItem {
+        private final int index;
+        private final Integer deviceId;
+        private final boolean success;
+        private final String message;
+        private final ComponentValidationResult componentValidation;
+        private final IngestResult ingestResult;
+        private final String cacheKey;
+        private final Map<String, Object> apiResponse;
+        private final CachedPrediction cached;
+        @Setter
+        private Forecast forecast;
+
+        private BatchItem(int index, Integer deviceId, boolean success, String message,
+                          ComponentValidationResult componentValidation, IngestResult ingestResult,
+                          String cacheKey, PredictionOutcome outcome) {
+            this.index = index;
+            this.deviceId = deviceId;
+            this.success = success;
+            this.message = message;
+            this.componentValidation = componentValidation;
+            this.ingestResult = ingestResult;
+            this.cacheKey = cacheKey;
+            this.apiResponse = outcome == null ? null : outcome.getApiResponse();
+            this.cached = outcome == null ? null : outcome.getCached();
+        }
+
+        static BatchItem succeeded(int index, ComponentValidationResult componentValidation,
+                                   IngestResult ingestResult, String cacheKey, PredictionOutcome outcome) {
+            return new BatchItem(index, componentValidation.getComponent().getId(), true, null,
+                    componentValidation, ingestResult, cacheKey, outcome);
+        }
+
+        static BatchItem failed(int index, Integer deviceId, String message) {
+            return new BatchItem(index, deviceId, false, message, null, null, null, null);
+        }
+
+        /**
+         * 命中的缓存来自同一设备时，复用已有的预测记录
+         */
+        boolean reusesForecast() {
+            return cached != null && cached.getComponentId().equals(deviceId) && cached.getForecastId() != null;
         }
     }
 
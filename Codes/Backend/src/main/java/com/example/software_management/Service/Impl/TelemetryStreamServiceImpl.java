@@ -0,0 +1,123 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Cache.SimulationMetadataCache;
+import com.example.software_management.Exception.IngestQueueFullException;
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryIngestQueue;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Service.TelemetryStreamService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class TelemetryStreamServiceImpl implements TelemetryStreamService {
+
+    // 小写字段名 -> 通道下标，同时接受上传表格的列名和 device_data 的列名
+    private static final Map<String, Integer> CHANNEL_FIELDS = buildChannelFields();
+
+    private final TelemetryIngestQueue ingestQueue;
+    private final SimulationMetadataCache metadataCache;
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public TelemetryStreamServiceImpl(TelemetryIngestQueue ingestQueue, SimulationMetadataCache metadataCache,
+                                      ObjectMapper objectMapper) {
+        this.ingestQueue = ingestQueue;
+        this.metadataCache = metadataCache;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    public Map<String, Object> ingestStream(Integer userId, InputStream in) throws Exception {
+        // 本次请求中已确认存在且属于当前用户的组件，避免逐条查询
+        Map<Integer, Boolean> knownComponents = new HashMap<>();
+        long accepted = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            JsonToken token;
+            // NDJSON 的每一行是一个顶层对象，流式解析器可以直接连续读取
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new Exception("第 " + (accepted + 1) + " 条读数不是JSON对象，已接收 " + accepted + " 条");
+                }
+                Integer componentId = null;
+                LocalDateTime time = null;
+                double[] values = new double[TelemetryChannel.COUNT];
+                Arrays.fill(values, Double.NaN);
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if ("componentId".equals(field)) {
+                        componentId = parser.getValueAsInt();
+                    } else if ("time".equals(field)) {
+                        time = parseTime(parser.getValueAsString(), accepted);
+                    } else {
+                        Integer channel = CHANNEL_FIELDS.get(field.toLowerCase(Locale.ROOT));
+                        if (channel != null && valueToken.isNumeric()) {
+                            values[channel] = parser.getDoubleValue();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+
+                if (componentId == null) {
+                    throw new Exception("第 " + (accepted + 1) + " 条读数缺少componentId，已接收 " + accepted + " 条");
+                }
+                int id = componentId;
+                // 其他用户的组件与不存在的组件返回相同的信息
+                if (!knownComponents.computeIfAbsent(id, key -> metadataCache.getComponent(key)
+                        .filter(component -> userId.equals(component.getUserId()))
+                        .isPresent())) {
+                    throw new Exception("组件不存在: " + id + "，已接收 " + accepted + " 条");
+                }
+                TelemetryRow row = new TelemetryRow(time != null ? time : LocalDateTime.now(), values);
+                if (!ingestQueue.offer(id, row)) {
+                    throw new IngestQueueFullException("写入队列已满，请稍后从第 " + (accepted + 1) + " 条读数开始重发",
+                            accepted);
+                }
+                accepted++;
+            }
+        } catch (JsonProcessingException e) {
+            throw new Exception("第 " + (accepted + 1) + " 条读数格式错误: " + e.getOriginalMessage()
+                    + "，已接收 " + accepted + " 条");
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("accepted", accepted);
+        response.put("message", "已接收 " + accepted + " 条读数");
+        return response;
+    }
+
+    private static LocalDateTime parseTime(String value, long accepted) throws Exception {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new Exception("第 " + (accepted + 1) + " 条读数的time格式错误: " + value + "，已接收 " + accepted + " 条");
+        }
+    }
+
+    private static Map<String, Integer> buildChannelFields() {
+        Map<String, Integer> fields = new HashMap<>();
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            fields.put(channel.getHeader().toLowerCase(Locale.ROOT), channel.ordinal());
+            fields.put(channel.getColumn().toLowerCase(Locale.ROOT), channel.ordinal());
+        }
+        return fields;
+    }
+}
@@ -2,7 +2,8 @@ package com.example.software_management.Service;
 
 import com.example.software_management.DTO.DataDTO;
 import com.example.software_management.DTO.ReportDTO;
-import org.springframework.core.io.Resource;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Export.ExportWriter;
 
 import java.util.List;
 import java.util.Map;
@@ -38,9 +39,22 @@ public interface ReportService {
     List<DataDTO> getDeviceAttributes(Integer deviceId);
 
     /**
-     * 将设备属性值导出为excel文件
+     * 导出设备属性值（最新数据）
+     * @param userId 当前用户ID，只能导出自己的设备
      * @param deviceId 设备ID
-     * @return Excel文件资源
+     * @param format 导出格式
+     * @return 导出任务
+     * @throws com.example.software_management.Exception.ResourceNotFoundException 设备不存在（或不属于当前用户）、设备数据不存在
      */
-    Resource exportDeviceAttributes(Integer deviceId);
-}
\ No newline at end of file
+    ExportWriter exportDeviceAttributes(Integer userId, Integer deviceId, ExportFormat format);
+
+    /**
+     * 导出设备的全部历史数据（device_data），分页读取并边生成边写出
+     * @param userId 当前用户ID，只能导出自己的设备
+     * @param deviceId 设备ID
+     * @param format 导出格式
+     * @return 导出任务，写出时才开始查询
+     * @throws com.example.software_management.Exception.ResourceNotFoundException 设备不存在或不属于当前用户
+     */
+    ExportWriter exportDeviceHistory(Integer userId, Integer deviceId, ExportFormat format);
+}
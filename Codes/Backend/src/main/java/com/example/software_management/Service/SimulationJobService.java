@@ -0,0 +1,28 @@
+package com.example.software_management.Service;
+
+import com.example.software_management.Model.SimulationJob;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+public interface SimulationJobService {
+
+    /**
+     * 提交异步模拟任务，文件保存后立即返回
+     * 任务队列已满时抛出 TaskRejectedException
+     * @param userId 提交任务的用户ID
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     * @param file 上传的数据文件
+     * @return 已入队的任务
+     */
+    SimulationJob submitJob(Integer userId, int modelId, int deviceId, MultipartFile file) throws Exception;
+
+    /**
+     * 获取任务状态及结果
+     * @param jobId 任务ID
+     * @param userId 当前用户ID
+     * @return 任务状态、结果或错误信息
+     */
+    Map<String, Object> getJobStatus(String jobId, Integer userId);
+}
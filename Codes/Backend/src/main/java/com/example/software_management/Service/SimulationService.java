@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.web.multipart.MultipartFile;
 import com.example.software_management.Model.Model;
 
+import java.util.List;
 import java.util.Map;
 
 public interface SimulationService {
@@ -14,7 +15,49 @@ public interface SimulationService {
      * @param modelId 模型ID
      * @param deviceId 设备ID
      * @param file 上传的数据文件
+     * @param reuseData 为 true 时，若该设备已导入过内容完全相同的文件且预测结果仍在缓存中，则不再重复导入数据
      * @return 包含模拟结果的映射
      */
-    Map<String, Object> getSimulationResult(int modelId, int deviceId, MultipartFile file) throws Exception;
+    Map<String, Object> getSimulationResult(int modelId, int deviceId, MultipartFile file, boolean reuseData) throws Exception;
+
+    /**
+     * 批量模拟：同一个模型对多个设备各自的数据文件进行预测
+     * @param modelId 模型ID
+     * @param deviceIds 设备ID列表
+     * @param files 数据文件列表，与设备ID按顺序一一对应
+     * @return 每一项的模拟结果或错误信息
+     */
+    Map<String, Object> getBatchSimulationResult(int modelId, List<Integer> deviceIds, List<MultipartFile> files) throws Exception;
+
+    /**
+     * 对已保存到上传目录的数据文件执行模拟
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     * @param filePath 已保存的数据文件路径
+     * @return 包含模拟结果的映射
+     */
+    Map<String, Object> getSimulationResult(int modelId, int deviceId, String filePath) throws Exception;
+
+    /**
+     * 使用设备最近导入的完整数据文件中最后 sequenceLength 行进行模拟，不需要上传文件
+     * 设备没有包含全部特征列的窗口时（启动后尚未导入、文件缺少特征列或之后只收到传感器通道数据）抛出异常
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     * @return 包含模拟结果的映射
+     */
+    Map<String, Object> getWindowSimulationResult(int modelId, int deviceId) throws Exception;
+
+    /**
+     * 验证模型和设备是否存在且有效
+     * @param modelId 模型ID
+     * @param deviceId 设备ID
+     */
+    void validateSimulationRequest(int modelId, int deviceId) throws Exception;
+
+    /**
+     * 将上传的数据文件保存到上传目录
+     * @param file 上传的数据文件
+     * @return 保存后的文件路径
+     */
+    String saveUploadedFile(MultipartFile file) throws Exception;
 }
\ No newline at end of file
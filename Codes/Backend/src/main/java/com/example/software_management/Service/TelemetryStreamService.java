@@ -0,0 +1,18 @@
+package com.example.software_management.Service;
+
+import java.io.InputStream;
+import java.util.Map;
+
+public interface TelemetryStreamService {
+
+    /**
+     * 逐条读取 NDJSON 格式的传感器读数并放入写入队列，可以包含多个组件的读数
+     * 每行一个对象: {"componentId": 1, "time": "2025-01-01T00:00:00", "t24": 642.1, "nf": 2388.0, ...}，
+     * 传感器字段名同上传表格的列名（不区分大小写），time 缺省为接收时间；只能上报当前用户自己的组件
+     * @param userId 当前用户ID
+     * @param in 请求体
+     * @return 接收的读数条数
+     * @throws com.example.software_management.Exception.IngestQueueFullException 写入队列已满
+     */
+    Map<String, Object> ingestStream(Integer userId, InputStream in) throws Exception;
+}
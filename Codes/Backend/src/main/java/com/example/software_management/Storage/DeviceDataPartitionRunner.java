@@ -0,0 +1,36 @@
+package com.example.software_management.Storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一次性管理任务：将 device_data 改为按月分区。会删除 device_data 上的外键、主键改为 (id, time)
+ * 并重建整张表，数据量大时耗时较长，应在维护窗口中单独执行，执行完成后以正常方式启动并开启
+ * app.storage.partitioning.enabled，由定时任务维护后续分区。
+ * 例: java -jar Backend.jar --spring.profiles.active=partition-device-data
+ */
+@Component
+@Profile("partition-device-data")
+public class DeviceDataPartitionRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceDataPartitionRunner.class);
+
+    private final DeviceDataStorageManager storageManager;
+
+    @Autowired
+    public DeviceDataPartitionRunner(DeviceDataStorageManager storageManager) {
+        this.storageManager = storageManager;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        storageManager.partition();
+        log.info("device_data 分区完成，耗时 {} s", (System.nanoTime() - start) / 1_000_000_000);
+    }
+}
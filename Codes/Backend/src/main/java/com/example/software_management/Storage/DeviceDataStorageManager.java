@@ -0,0 +1,217 @@
+package com.example.software_management.Storage;
+
+import com.example.software_management.Repository.DataRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * device_data 的存储管理：
+ * 1. 按月 RANGE 分区（app.storage.partitioning.enabled，默认关闭）：表的首次分区是一次性的管理操作，
+ *    以 partition-device-data profile 启动执行（DeviceDataPartitionRunner），不在应用启动时进行；
+ *    之后由定时任务提前创建后续月份的分区；
+ * 2. 数据保留（app.storage.retention.enabled，默认关闭）：原始数据超过 raw-days 后删除
+ *    （分区表整月 DROP PARTITION，否则分块 DELETE），小时汇总超过 hourly-rollup-days 后删除，天汇总长期保留。
+ * 汇总表的建表和首次回填由 Flyway 迁移完成
+ */
+@Component
+public class DeviceDataStorageManager {
+
+    private static final Logger log = LoggerFactory.getLogger(DeviceDataStorageManager.class);
+
+    private static final String TABLE = "device_data";
+    private static final String FUTURE_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataRollupRepository dataRollupRepository;
+
+    @Value("${app.storage.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    // 提前创建的月份数
+    @Value("${app.storage.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    // 会删除原始数据，需显式开启
+    @Value("${app.storage.retention.enabled:false}")
+    private boolean retentionEnabled;
+
+    // 原始数据保留天数，0表示不删除
+    @Value("${app.storage.retention.raw-days:365}")
+    private int rawRetentionDays;
+
+    // 小时汇总保留天数，0表示不删除
+    @Value("${app.storage.retention.hourly-rollup-days:730}")
+    private int hourlyRollupRetentionDays;
+
+    // 未分区时每次 DELETE 的行数，避免长事务和大量锁
+    @Value("${app.storage.retention.delete-chunk-size:10000}")
+    private int deleteChunkSize;
+
+    @Autowired
+    public DeviceDataStorageManager(JdbcTemplate jdbcTemplate, DataRollupRepository dataRollupRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataRollupRepository = dataRollupRepository;
+    }
+
+    /**
+     * 将 device_data 改为按月分区（已分区时只补齐后续月份的分区）
+     * 需要重建整张表，由 DeviceDataPartitionRunner 在维护窗口中执行
+     */
+    public void partition() {
+        if (partitionNames().isEmpty()) {
+            partitionTable();
+        }
+        ensureFuturePartitions();
+    }
+
+    /**
+     * 每天凌晨维护分区并清理过期数据
+     */
+    @Scheduled(cron = "${app.storage.maintenance.cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            // 尚未分区时不做任何 DDL，等待管理员执行 partition-device-data
+            if (partitioningEnabled && !partitionNames().isEmpty()) {
+                ensureFuturePartitions();
+            }
+            if (retentionEnabled) {
+                applyRetention();
+            }
+        } catch (Exception e) {
+            log.error("device_data 存储维护失败: {}", e.getMessage(), e);
+        }
+    }
+
+    private void applyRetention() {
+        if (rawRetentionDays > 0) {
+            LocalDateTime cutoff = LocalDate.now().minusDays(rawRetentionDays).atStartOfDay();
+            // 按实际执行的方式记录单位：已分区时删除整月分区，否则分块删除行
+            if (partitioningEnabled && !partitionNames().isEmpty()) {
+                log.info("数据保留: 已删除 {} 之前的原始数据 {} 个分区", cutoff, dropPartitionsBefore(cutoff));
+            } else {
+                log.info("数据保留: 已删除 {} 之前的原始数据 {} 行", cutoff, deleteRowsBefore(cutoff));
+            }
+        }
+        if (hourlyRollupRetentionDays > 0) {
+            LocalDateTime cutoff = LocalDate.now().minusDays(hourlyRollupRetentionDays).atStartOfDay();
+            int deleted = dataRollupRepository.deleteHourlyBefore(cutoff);
+            log.info("数据保留: 已删除 {} 之前的小时汇总 {} 行", cutoff, deleted);
+        }
+    }
+
+    /**
+     * 删除上界不晚于 cutoff 的整月分区；跨越 cutoff 的分区等下个月整体删除
+     */
+    private int dropPartitionsBefore(LocalDateTime cutoff) {
+        int dropped = 0;
+        for (String name : partitionNames()) {
+            if (FUTURE_PARTITION.equals(name)) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(name, PARTITION_NAME);
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + name);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private long deleteRowsBefore(LocalDateTime cutoff) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE time < ? LIMIT ?",
+                    Timestamp.valueOf(cutoff), deleteChunkSize);
+            total += deleted;
+        } while (deleted >= deleteChunkSize);
+        return total;
+    }
+
+    /**
+     * 将未分区的 device_data 改为按月 RANGE 分区
+     * MySQL 要求分区键包含在每个唯一键中，且分区表不支持外键：主键改为 (id, time)，并删除 device_data 上的外键
+     */
+    private void partitionTable() {
+        log.info("开始将 device_data 改为按月分区，数据量大时耗时较长");
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'",
+                String.class, TABLE);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP FOREIGN KEY " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, time)");
+
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(time) FROM " + TABLE, LocalDateTime.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+        partitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE (TO_DAYS(time)) ("
+                + String.join(", ", partitions) + ")");
+        log.info("device_data 已按月分区，共 {} 个分区", partitions.size());
+    }
+
+    /**
+     * 从 pmax 中拆出到 months-ahead 个月之后为止尚不存在的月份分区
+     */
+    private void ensureFuturePartitions() {
+        List<String> existing = partitionNames();
+        if (!existing.contains(FUTURE_PARTITION)) {
+            return;
+        }
+        YearMonth latest = existing.stream()
+                .filter(name -> !FUTURE_PARTITION.equals(name))
+                .map(name -> YearMonth.parse(name, PARTITION_NAME))
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = latest.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+        if (partitions.isEmpty()) {
+            return;
+        }
+        partitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                + String.join(", ", partitions) + ")");
+        log.info("device_data 新增 {} 个月份分区", partitions.size() - 1);
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN (TO_DAYS('"
+                + month.plusMonths(1).atDay(1) + "'))";
+    }
+
+    private List<String> partitionNames() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION", TABLE);
+        List<String> names = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            names.add(String.valueOf(row.get("PARTITION_NAME")));
+        }
+        return names;
+    }
+}
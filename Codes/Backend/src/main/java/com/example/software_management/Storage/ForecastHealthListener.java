@@ -0,0 +1,45 @@
+package com.example.software_management.Storage;
+
+import com.example.software_management.Model.Forecast;
+import com.example.software_management.Repository.ForecastHealthRollupRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 保存或删除预测时更新 forecast_health_daily，与预测记录在同一事务中提交
+ * 由 Hibernate 通过 Spring 容器创建，延迟获取仓库以避免与 EntityManagerFactory 的循环依赖
+ */
+@Component
+public class ForecastHealthListener {
+
+    private final ObjectProvider<ForecastHealthRollupRepository> repositoryProvider;
+
+    @Autowired
+    public ForecastHealthListener(ObjectProvider<ForecastHealthRollupRepository> repositoryProvider) {
+        this.repositoryProvider = repositoryProvider;
+    }
+
+    @PostPersist
+    public void onPersist(Forecast forecast) {
+        if (isCounted(forecast)) {
+            repositoryProvider.getObject().add(forecast.getComponent().getId(),
+                    forecast.getForecastTime().toLocalDate(), forecast.getHealthIndex());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Forecast forecast) {
+        if (isCounted(forecast)) {
+            repositoryProvider.getObject().subtract(forecast.getComponent().getId(),
+                    forecast.getForecastTime().toLocalDate(), forecast.getHealthIndex());
+        }
+    }
+
+    private static boolean isCounted(Forecast forecast) {
+        return forecast.getComponent() != null && forecast.getHealthIndex() != null
+                && forecast.getForecastTime() != null;
+    }
+}
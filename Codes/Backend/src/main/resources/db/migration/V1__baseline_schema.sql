@@ -0,0 +1,81 @@
+-- 基线：引入迁移之前已有、与实体映射一致的业务表；之后新增的表在后续迁移中创建
+-- 已有数据库（此前由 Hibernate 建表）以版本1作为基线，不执行本脚本
+
+CREATE TABLE IF NOT EXISTS `user` (
+    id              INT          NOT NULL AUTO_INCREMENT,
+    username        VARCHAR(50)  NOT NULL,
+    hashed_password VARCHAR(128) NOT NULL,
+    phone           VARCHAR(50)  NOT NULL,
+    email           VARCHAR(255) NULL,
+    role            VARCHAR(20)  NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_user_username (username),
+    UNIQUE KEY uk_user_phone (phone)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS component (
+    id           INT          NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(50)  NOT NULL,
+    status       INT          NULL,
+    pic          VARCHAR(255) NULL,
+    warning_time DATETIME(6)  NULL,
+    user_id      INT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_component_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS model (
+    id         INT          NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(50)  NOT NULL,
+    model_file VARCHAR(255) NULL,
+    type       VARCHAR(255) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_model_name (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS device_data (
+    id           INT          NOT NULL AUTO_INCREMENT,
+    file         VARCHAR(255) NULL,
+    time         DATETIME(6)  NOT NULL,
+    hpt_eff_mod  DOUBLE       NULL,
+    nf           DOUBLE       NULL,
+    sm_fan       DOUBLE       NULL,
+    t24          DOUBLE       NULL,
+    wf           DOUBLE       NULL,
+    t48          DOUBLE       NULL,
+    nc           DOUBLE       NULL,
+    smhpc        DOUBLE       NULL,
+    component_id INT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_device_data_component FOREIGN KEY (component_id) REFERENCES component (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS forecast (
+    id              INT          NOT NULL AUTO_INCREMENT,
+    life_forecast   DOUBLE       NOT NULL,
+    forecast_time   DATETIME(6)  NOT NULL,
+    health_index    INT          NULL,
+    damage_location VARCHAR(255) NULL,
+    model_id        INT          NULL,
+    component_id    INT          NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_forecast_model FOREIGN KEY (model_id) REFERENCES model (id),
+    CONSTRAINT fk_forecast_component FOREIGN KEY (component_id) REFERENCES component (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS alert (
+    id                INT          NOT NULL AUTO_INCREMENT,
+    component_id      INT          NOT NULL,
+    alert_time        DATETIME(6)  NOT NULL,
+    status            TINYINT      NOT NULL,
+    alert_description VARCHAR(500) NULL,
+    is_confirmed      BIT          NOT NULL,
+    confirmed_time    DATETIME(6)  NULL,
+    confirmed_by      INT          NULL,
+    forecast_id       INT          NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_alert_forecast (forecast_id),
+    CONSTRAINT fk_alert_component FOREIGN KEY (component_id) REFERENCES component (id),
+    CONSTRAINT fk_alert_confirmed_by FOREIGN KEY (confirmed_by) REFERENCES `user` (id),
+    CONSTRAINT fk_alert_forecast FOREIGN KEY (forecast_id) REFERENCES forecast (id)
+) ENGINE = InnoDB;
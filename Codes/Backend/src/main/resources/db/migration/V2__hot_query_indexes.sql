@@ -0,0 +1,33 @@
+-- 热点查询的复合索引，名称与实体上的 @Index 一致
+
+-- 异步模拟任务表（SimulationJob）在基线之后才加入：已有数据库以版本1为基线、不执行V1，
+-- 因此在本迁移中建表，并且要在下面为它建索引之前
+CREATE TABLE IF NOT EXISTS simulation_job (
+    id            VARCHAR(36)  NOT NULL,
+    user_id       INT          NOT NULL,
+    model_id      INT          NOT NULL,
+    device_id     INT          NOT NULL,
+    file_path     VARCHAR(500) NULL,
+    status        VARCHAR(20)  NOT NULL,
+    result        TEXT         NULL,
+    error_message VARCHAR(500) NULL,
+    created_time  DATETIME(6)  NOT NULL,
+    started_time  DATETIME(6)  NULL,
+    finished_time DATETIME(6)  NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- DataRepository：按组件取最新数据、指标卡片分页（WHERE component_id = ? ORDER BY time DESC）
+CREATE INDEX idx_device_data_component_time ON device_data (component_id, time);
+
+-- 按组件取最近的预测；带上 health_index，健康指数的查询和回填不必回表
+CREATE INDEX idx_forecast_component_time ON forecast (component_id, forecast_time, health_index);
+
+-- AlertRepository：未确认告警列表按 alert_time 排序，时间范围统计和按状态统计只读索引
+CREATE INDEX idx_alert_component_confirmed_time ON alert (component_id, is_confirmed, alert_time, status);
+
+-- ComponentRepository：用户的组件列表、状态分布和有缺陷组件
+CREATE INDEX idx_component_user_status ON component (user_id, status);
+
+-- SimulationJobRepository：按状态恢复任务并按创建时间排序
+CREATE INDEX idx_simulation_job_status_created ON simulation_job (status, created_time);
@@ -0,0 +1,53 @@
+-- 汇总表：原先在启动时由代码建表，改由迁移管理；首次回填仍在启动时进行
+
+-- 每个组件按小时（HOUR）和按天（DAY）汇总的各通道最小值、最大值、总和与计数
+CREATE TABLE IF NOT EXISTS device_data_rollup (
+    component_id INT NOT NULL,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    row_count BIGINT NOT NULL DEFAULT 0,
+    hpt_eff_mod_min DOUBLE NULL,
+    hpt_eff_mod_max DOUBLE NULL,
+    hpt_eff_mod_sum DOUBLE NOT NULL DEFAULT 0,
+    hpt_eff_mod_count BIGINT NOT NULL DEFAULT 0,
+    nf_min DOUBLE NULL,
+    nf_max DOUBLE NULL,
+    nf_sum DOUBLE NOT NULL DEFAULT 0,
+    nf_count BIGINT NOT NULL DEFAULT 0,
+    sm_fan_min DOUBLE NULL,
+    sm_fan_max DOUBLE NULL,
+    sm_fan_sum DOUBLE NOT NULL DEFAULT 0,
+    sm_fan_count BIGINT NOT NULL DEFAULT 0,
+    t24_min DOUBLE NULL,
+    t24_max DOUBLE NULL,
+    t24_sum DOUBLE NOT NULL DEFAULT 0,
+    t24_count BIGINT NOT NULL DEFAULT 0,
+    wf_min DOUBLE NULL,
+    wf_max DOUBLE NULL,
+    wf_sum DOUBLE NOT NULL DEFAULT 0,
+    wf_count BIGINT NOT NULL DEFAULT 0,
+    t48_min DOUBLE NULL,
+    t48_max DOUBLE NULL,
+    t48_sum DOUBLE NOT NULL DEFAULT 0,
+    t48_count BIGINT NOT NULL DEFAULT 0,
+    nc_min DOUBLE NULL,
+    nc_max DOUBLE NULL,
+    nc_sum DOUBLE NOT NULL DEFAULT 0,
+    nc_count BIGINT NOT NULL DEFAULT 0,
+    smhpc_min DOUBLE NULL,
+    smhpc_max DOUBLE NULL,
+    smhpc_sum DOUBLE NOT NULL DEFAULT 0,
+    smhpc_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (component_id, granularity, bucket_start)
+) ENGINE = InnoDB;
+
+-- 每个组件每天预测健康指数的总和、次数、最小值和最大值
+CREATE TABLE IF NOT EXISTS forecast_health_daily (
+    component_id INT NOT NULL,
+    day DATE NOT NULL,
+    health_sum BIGINT NOT NULL DEFAULT 0,
+    health_count BIGINT NOT NULL DEFAULT 0,
+    health_min INT NULL,
+    health_max INT NULL,
+    PRIMARY KEY (component_id, day)
+) ENGINE = InnoDB;
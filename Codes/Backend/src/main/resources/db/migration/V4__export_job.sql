@@ -0,0 +1,32 @@
+-- 异步导出任务
+
+CREATE TABLE IF NOT EXISTS export_job (
+    id             VARCHAR(36)  NOT NULL,
+    user_id        INT          NOT NULL,
+    type           VARCHAR(32)  NOT NULL,
+    device_id      INT          NULL,
+    format         VARCHAR(16)  NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    file_name      VARCHAR(255) NULL,
+    file_path      VARCHAR(500) NULL,
+    file_size      BIGINT       NULL,
+    download_token VARCHAR(64)  NULL,
+    error_message  VARCHAR(500) NULL,
+    created_time   DATETIME(6)  NOT NULL,
+    started_time   DATETIME(6)  NULL,
+    finished_time  DATETIME(6)  NULL,
+    expires_time   DATETIME(6)  NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- 按用户统计运行中的任务数、取下一个排队任务
+CREATE INDEX idx_export_job_user_status_created ON export_job (user_id, status, created_time);
+
+-- 启动时按状态恢复排队中的任务
+CREATE INDEX idx_export_job_status_created ON export_job (status, created_time);
+
+-- 定时清理过期文件
+CREATE INDEX idx_export_job_status_expires ON export_job (status, expires_time);
+
+-- 下载链接按令牌查找
+CREATE UNIQUE INDEX uk_export_job_download_token ON export_job (download_token);
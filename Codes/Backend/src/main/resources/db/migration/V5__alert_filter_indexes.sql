@@ -0,0 +1,8 @@
+-- 未确认警报列表按筛选条件组合使用的索引（AlertSpecifications 只生成实际提供的条件）
+--   无筛选 / 按时间：component (user_id) -> alert idx_alert_component_confirmed_time，时间条件在索引内做范围扫描
+--   按设备名称（可带时间）：在下面的 (user_id, name) 上只读索引筛出组件，再同上
+--   时间范围较窄而用户组件很多时：可按 alert_time 顺序扫描 idx_alert_confirmed_time，取够一页即停止，不必排序
+
+CREATE INDEX idx_component_user_name ON component (user_id, name);
+
+CREATE INDEX idx_alert_confirmed_time ON alert (is_confirmed, alert_time);
@@ -0,0 +1,66 @@
+-- 汇总表的首次回填，原先在应用启动时执行（DeviceDataStorageManager.init），改由迁移执行一次
+-- 按汇总表主键逐个桶判断：已存在的桶（启动时回填过或写入时已累加）视为完整，保持不变，
+-- 只补齐缺少的桶；汇总表部分已有数据时其余的桶仍会回填，已有的桶也不会重复累加
+
+-- device_data_rollup：按小时
+INSERT INTO device_data_rollup (
+    component_id, granularity, bucket_start, row_count,
+    hpt_eff_mod_min, hpt_eff_mod_max, hpt_eff_mod_sum, hpt_eff_mod_count,
+    nf_min, nf_max, nf_sum, nf_count,
+    sm_fan_min, sm_fan_max, sm_fan_sum, sm_fan_count,
+    t24_min, t24_max, t24_sum, t24_count,
+    wf_min, wf_max, wf_sum, wf_count,
+    t48_min, t48_max, t48_sum, t48_count,
+    nc_min, nc_max, nc_sum, nc_count,
+    smhpc_min, smhpc_max, smhpc_sum, smhpc_count)
+SELECT
+    component_id, 'HOUR', DATE_FORMAT(time, '%Y-%m-%d %H:00:00'), COUNT(*),
+    MIN(hpt_eff_mod), MAX(hpt_eff_mod), COALESCE(SUM(hpt_eff_mod), 0), COUNT(hpt_eff_mod),
+    MIN(nf), MAX(nf), COALESCE(SUM(nf), 0), COUNT(nf),
+    MIN(sm_fan), MAX(sm_fan), COALESCE(SUM(sm_fan), 0), COUNT(sm_fan),
+    MIN(t24), MAX(t24), COALESCE(SUM(t24), 0), COUNT(t24),
+    MIN(wf), MAX(wf), COALESCE(SUM(wf), 0), COUNT(wf),
+    MIN(t48), MAX(t48), COALESCE(SUM(t48), 0), COUNT(t48),
+    MIN(nc), MAX(nc), COALESCE(SUM(nc), 0), COUNT(nc),
+    MIN(smhpc), MAX(smhpc), COALESCE(SUM(smhpc), 0), COUNT(smhpc)
+FROM device_data d
+WHERE NOT EXISTS (SELECT 1 FROM device_data_rollup r
+                  WHERE r.component_id = d.component_id AND r.granularity = 'HOUR'
+                    AND r.bucket_start = DATE_FORMAT(d.time, '%Y-%m-%d %H:00:00'))
+GROUP BY component_id, DATE_FORMAT(time, '%Y-%m-%d %H:00:00');
+
+-- device_data_rollup：按天
+INSERT INTO device_data_rollup (
+    component_id, granularity, bucket_start, row_count,
+    hpt_eff_mod_min, hpt_eff_mod_max, hpt_eff_mod_sum, hpt_eff_mod_count,
+    nf_min, nf_max, nf_sum, nf_count,
+    sm_fan_min, sm_fan_max, sm_fan_sum, sm_fan_count,
+    t24_min, t24_max, t24_sum, t24_count,
+    wf_min, wf_max, wf_sum, wf_count,
+    t48_min, t48_max, t48_sum, t48_count,
+    nc_min, nc_max, nc_sum, nc_count,
+    smhpc_min, smhpc_max, smhpc_sum, smhpc_count)
+SELECT
+    component_id, 'DAY', DATE(time), COUNT(*),
+    MIN(hpt_eff_mod), MAX(hpt_eff_mod), COALESCE(SUM(hpt_eff_mod), 0), COUNT(hpt_eff_mod),
+    MIN(nf), MAX(nf), COALESCE(SUM(nf), 0), COUNT(nf),
+    MIN(sm_fan), MAX(sm_fan), COALESCE(SUM(sm_fan), 0), COUNT(sm_fan),
+    MIN(t24), MAX(t24), COALESCE(SUM(t24), 0), COUNT(t24),
+    MIN(wf), MAX(wf), COALESCE(SUM(wf), 0), COUNT(wf),
+    MIN(t48), MAX(t48), COALESCE(SUM(t48), 0), COUNT(t48),
+    MIN(nc), MAX(nc), COALESCE(SUM(nc), 0), COUNT(nc),
+    MIN(smhpc), MAX(smhpc), COALESCE(SUM(smhpc), 0), COUNT(smhpc)
+FROM device_data d
+WHERE NOT EXISTS (SELECT 1 FROM device_data_rollup r
+                  WHERE r.component_id = d.component_id AND r.granularity = 'DAY'
+                    AND r.bucket_start = DATE(d.time))
+GROUP BY component_id, DATE(time);
+
+-- forecast_health_daily
+INSERT INTO forecast_health_daily (component_id, day, health_sum, health_count, health_min, health_max)
+SELECT component_id, DATE(forecast_time), SUM(health_index), COUNT(health_index), MIN(health_index), MAX(health_index)
+FROM forecast f
+WHERE component_id IS NOT NULL AND health_index IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM forecast_health_daily h
+                  WHERE h.component_id = f.component_id AND h.day = DATE(f.forecast_time))
+GROUP BY component_id, DATE(forecast_time);
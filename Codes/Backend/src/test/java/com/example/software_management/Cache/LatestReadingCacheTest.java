@@ -0,0 +1,70 @@
+package com.example.software_management.Cache;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Repository.DataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LatestReadingCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    private DataRepository dataRepository;
+    private LatestReadingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        dataRepository = mock(DataRepository.class);
+        cache = new LatestReadingCache(dataRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxEntries", 100L);
+        cache.init();
+    }
+
+    @Test
+    void keepsTheLatestRowOfAnUnorderedBatch() {
+        cache.update(1, List.of(row(T0.plusMinutes(5), 5), row(T0.plusMinutes(9), 9), row(T0.plusMinutes(1), 1)));
+
+        assertThat(cache.get(1)).hasValueSatisfying(reading -> {
+            assertThat(reading.getTime()).isEqualTo(T0.plusMinutes(9));
+            assertThat(reading.get(TelemetryChannel.NF)).isEqualTo(9.0);
+        });
+        verifyNoInteractions(dataRepository);
+    }
+
+    @Test
+    void takesTheLastWrittenRowWhenTimesAreEqual() {
+        cache.update(1, List.of(row(T0, 1), row(T0, 2)));
+
+        assertThat(cache.get(1)).hasValueSatisfying(reading ->
+                assertThat(reading.get(TelemetryChannel.NF)).isEqualTo(2.0));
+    }
+
+    @Test
+    void olderBatchDoesNotOverwriteNewerReading() {
+        cache.update(1, List.of(row(T0.plusMinutes(10), 10)));
+        cache.update(1, List.of(row(T0.plusMinutes(3), 3)));
+
+        assertThat(cache.get(1)).hasValueSatisfying(reading -> {
+            assertThat(reading.getTime()).isEqualTo(T0.plusMinutes(10));
+            assertThat(reading.get(TelemetryChannel.NF)).isEqualTo(10.0);
+        });
+    }
+
+    private static TelemetryRow row(LocalDateTime time, double nf) {
+        double[] values = new double[TelemetryChannel.COUNT];
+        Arrays.fill(values, Double.NaN);
+        values[TelemetryChannel.NF.ordinal()] = nf;
+        return new TelemetryRow(time, values);
+    }
+}
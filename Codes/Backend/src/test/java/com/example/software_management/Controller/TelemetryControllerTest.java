@@ -0,0 +1,111 @@
+package com.example.software_management.Controller;
+
+import com.example.software_management.Cache.ComponentMetadata;
+import com.example.software_management.Cache.SimulationMetadataCache;
+import com.example.software_management.Ingest.TelemetryIngestQueue;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Model.Component;
+import com.example.software_management.Model.User;
+import com.example.software_management.Security.UserSecurity;
+import com.example.software_management.Service.Impl.TelemetryStreamServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TelemetryControllerTest {
+
+    private TelemetryIngestQueue ingestQueue;
+    private TelemetryController controller;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7);
+        UserSecurity principal = new UserSecurity(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Component component = new Component();
+        component.setId(1);
+        component.setUser(user);
+        SimulationMetadataCache metadataCache = mock(SimulationMetadataCache.class);
+        when(metadataCache.getComponent(1)).thenReturn(Optional.of(new ComponentMetadata(component, null)));
+
+        ingestQueue = mock(TelemetryIngestQueue.class);
+        controller = new TelemetryController(
+                new TelemetryStreamServiceImpl(ingestQueue, metadataCache, new ObjectMapper()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void fullQueueReturns429WithAcceptedCount() {
+        when(ingestQueue.offer(anyInt(), any(TelemetryRow.class))).thenReturn(true, true, false);
+
+        ResponseEntity<Map<String, Object>> response = controller.ingestStream(request(
+                "{\"componentId\": 1, \"nf\": 2388.0}\n"
+                        + "{\"componentId\": 1, \"nf\": 2388.1}\n"
+                        + "{\"componentId\": 1, \"nf\": 2388.2}\n"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).containsEntry("success", false).containsEntry("accepted", 2L);
+    }
+
+    @Test
+    void acceptsReadingsWhileQueueHasRoom() {
+        when(ingestQueue.offer(anyInt(), any(TelemetryRow.class))).thenReturn(true);
+
+        ResponseEntity<Map<String, Object>> response = controller.ingestStream(request(
+                "{\"componentId\": 1, \"nf\": 2388.0}\n{\"componentId\": 1, \"nf\": 2388.1}\n"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("accepted", 2L);
+    }
+
+    @Test
+    void rejectsComponentsOfOtherUsers() {
+        User other = new User();
+        other.setId(8);
+        Component component = new Component();
+        component.setId(2);
+        component.setUser(other);
+        SimulationMetadataCache metadataCache = mock(SimulationMetadataCache.class);
+        when(metadataCache.getComponent(2)).thenReturn(Optional.of(new ComponentMetadata(component, null)));
+        TelemetryController otherController = new TelemetryController(
+                new TelemetryStreamServiceImpl(ingestQueue, metadataCache, new ObjectMapper()));
+
+        ResponseEntity<Map<String, Object>> response = otherController.ingestStream(request(
+                "{\"componentId\": 2, \"nf\": 2388.0}\n"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("message", "组件不存在: 2，已接收 0 条");
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/telemetry/stream");
+        request.setContentType("application/x-ndjson");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
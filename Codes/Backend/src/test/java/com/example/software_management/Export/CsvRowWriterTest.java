@@ -0,0 +1,57 @@
+package com.example.software_management.Export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRowWriterTest {
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("name", "设备名称", ExportColumn.Type.STRING, 20),
+            new ExportColumn("time", "时间", ExportColumn.Type.TIMESTAMP, 22),
+            new ExportColumn("value", "数值", ExportColumn.Type.DOUBLE, 12));
+
+    @Test
+    void writesBomHeaderAndCrlfRows() throws Exception {
+        String csv = write(new Object[]{"发动机1", LocalDateTime.of(2025, 3, 1, 8, 5, 9), 1.5});
+
+        assertThat(csv).isEqualTo("\uFEFF设备名称,时间,数值\r\n发动机1,2025-03-01 08:05:09,1.5\r\n");
+    }
+
+    @Test
+    void quotesFieldsContainingSeparatorsQuotesOrLineBreaks() throws Exception {
+        String csv = write(
+                new Object[]{"a,b", null, 1},
+                new Object[]{"say \"hi\"", null, 2},
+                new Object[]{"line1\nline2", null, 3},
+                new Object[]{"cr\rlf", null, 4});
+
+        assertThat(csv).endsWith("\r\n"
+                + "\"a,b\",,1\r\n"
+                + "\"say \"\"hi\"\"\",,2\r\n"
+                + "\"line1\nline2\",,3\r\n"
+                + "\"cr\rlf\",,4\r\n");
+    }
+
+    @Test
+    void leavesNullsEmptyAndPlainTextUnquoted() throws Exception {
+        String csv = write(new Object[]{"plain text", null, null});
+
+        assertThat(csv).endsWith("\r\nplain text,,\r\n");
+    }
+
+    private static String write(Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvRowWriter writer = new CsvRowWriter(COLUMNS, out)) {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.software_management.Export;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 导出格式性能对比（JMH）：
+ * 用与设备历史数据导出相同的列生成 rows 行模拟数据，分别以 XLSX、CSV、Parquet 写出完整文件，
+ * 每次写出计一次耗时，结束时输出文件大小。只测格式编码本身，数据不经过数据库，输出只统计字节数。
+ * RowWriterFactory 使用与各配置项默认值相同的参数。
+ * 运行（JMH 在新的 JVM 中执行基准，需要以测试类路径启动）:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ExportFormatBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportFormatBenchmark {
+
+    @Param({"XLSX", "CSV", "PARQUET"})
+    public ExportFormat format;
+
+    @Param("1000000")
+    public int rows;
+
+    private RowWriterFactory rowWriterFactory;
+    private List<ExportColumn> columns;
+    private long bytes;
+
+    @Setup
+    public void setUp() {
+        rowWriterFactory = new RowWriterFactory(100, "snappy", 64);
+        columns = new ArrayList<>();
+        columns.add(new ExportColumn("id", "数据ID", ExportColumn.Type.LONG, 12));
+        columns.add(new ExportColumn("time", "时间", ExportColumn.Type.TIMESTAMP, 22));
+        columns.addAll(ExportColumn.channels());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf(Locale.ROOT, "%n%s: %d 行, %.1f MB%n", format, rows, bytes / 1024.0 / 1024.0);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        Random random = new Random(42);
+        LocalDateTime time = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Object[] values = new Object[columns.size()];
+
+        try (RowWriter writer = rowWriterFactory.open(format, "设备数据", columns, out)) {
+            for (int i = 0; i < rows; i++) {
+                values[0] = (long) i + 1;
+                values[1] = time.plusSeconds(i);
+                for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+                    values[2 + channel] = random.nextGaussian();
+                }
+                writer.writeRow(values);
+            }
+        }
+        bytes = out.count;
+        return bytes;
+    }
+
+    /**
+     * 只统计字节数的输出流
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.software_management.Export;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParquetRowWriterTest {
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+            new ExportColumn("id", "ID", ExportColumn.Type.INT, 8),
+            new ExportColumn("count", "数量", ExportColumn.Type.LONG, 12),
+            new ExportColumn("value", "数值", ExportColumn.Type.DOUBLE, 12),
+            new ExportColumn("confirmed", "已确认", ExportColumn.Type.BOOLEAN, 8),
+            new ExportColumn("name", "设备名称", ExportColumn.Type.STRING, 20),
+            new ExportColumn("time", "时间", ExportColumn.Type.TIMESTAMP, 22));
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 3, 1, 8, 5, 9, 123_000_000);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void schemaMapsColumnTypesToOptionalFields() {
+        MessageType schema = ParquetRowWriter.schema(COLUMNS);
+
+        assertThat(schema.getFieldCount()).isEqualTo(COLUMNS.size());
+        assertThat(schema.getFields()).allMatch(field -> field.isRepetition(Type.Repetition.OPTIONAL));
+        assertThat(schema.getType("id").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.INT32);
+        assertThat(schema.getType("count").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.INT64);
+        assertThat(schema.getType("value").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.DOUBLE);
+        assertThat(schema.getType("confirmed").asPrimitiveType().getPrimitiveTypeName()).isEqualTo(PrimitiveTypeName.BOOLEAN);
+        assertThat(schema.getType("name").getLogicalTypeAnnotation()).isEqualTo(LogicalTypeAnnotation.stringType());
+        assertThat(schema.getType("time").getLogicalTypeAnnotation())
+                .isEqualTo(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MILLIS));
+    }
+
+    @Test
+    void writesRowsThatReadBackWithTheSameValues() throws Exception {
+        List<Group> rows = writeAndRead(
+                new Object[]{1, 10L, 1.5, true, "发动机1", TIME},
+                new Object[]{2, 20L, -0.25, false, "发动机2", TIME.plusHours(1)});
+
+        assertThat(rows).hasSize(2);
+        Group first = rows.get(0);
+        assertThat(first.getInteger("id", 0)).isEqualTo(1);
+        assertThat(first.getLong("count", 0)).isEqualTo(10L);
+        assertThat(first.getDouble("value", 0)).isEqualTo(1.5);
+        assertThat(first.getBoolean("confirmed", 0)).isTrue();
+        assertThat(first.getString("name", 0)).isEqualTo("发动机1");
+        assertThat(first.getLong("time", 0)).isEqualTo(TIME.toInstant(ZoneOffset.UTC).toEpochMilli());
+        assertThat(rows.get(1).getDouble("value", 0)).isEqualTo(-0.25);
+    }
+
+    @Test
+    void skipsNullValues() throws Exception {
+        List<Group> rows = writeAndRead(new Object[]{3, null, null, null, "发动机3", null});
+
+        Group row = rows.get(0);
+        assertThat(row.getInteger("id", 0)).isEqualTo(3);
+        assertThat(row.getFieldRepetitionCount("count")).isZero();
+        assertThat(row.getFieldRepetitionCount("value")).isZero();
+        assertThat(row.getFieldRepetitionCount("time")).isZero();
+        assertThat(row.getString("name", 0)).isEqualTo("发动机3");
+    }
+
+    @Test
+    void leavesTheUnderlyingStreamOpen() throws Exception {
+        ClosingTrackingOutputStream out = new ClosingTrackingOutputStream();
+        try (ParquetRowWriter writer = new ParquetRowWriter(COLUMNS, out, CompressionCodecName.UNCOMPRESSED, 1024)) {
+            writer.writeRow(1, 1L, 1.0, true, "a", TIME);
+        }
+
+        assertThat(out.closed).isFalse();
+        assertThat(out.size()).isPositive();
+    }
+
+    private List<Group> writeAndRead(Object[]... rows) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParquetRowWriter writer = new ParquetRowWriter(COLUMNS, out, CompressionCodecName.SNAPPY, 1024 * 1024)) {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        Path file = tempDir.resolve("export.parquet");
+        Files.write(file, out.toByteArray());
+
+        List<Group> result = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file),
+                ParquetReadOptions.builder(new PlainParquetConfiguration()).build())) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            PageReadStore rowGroup;
+            while ((rowGroup = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(rowGroup, new GroupRecordConverter(schema));
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    result.add(records.read());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class ClosingTrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.software_management.Inference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class FlaskInferenceBackendTest {
+
+    @Test
+    void predictWithoutFileOrWindowIsRejectedBeforeAnyRequest() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        FlaskInferenceBackend backend = new FlaskInferenceBackend(restTemplate);
+
+        assertThatThrownBy(() -> backend.predict("CNN_LSTM", "model_127.model", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(restTemplate);
+    }
+}
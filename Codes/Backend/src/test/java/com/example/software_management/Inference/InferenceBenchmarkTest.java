@@ -0,0 +1,130 @@
+package com.example.software_management.Inference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 推理后端性能对比：对同一模型和数据文件分别调用本地 ONNX 后端和 Flask 服务，输出延迟分位数和吞吐量。
+ * 直接构造后端并调用，不启动 Spring 容器，也不经过熔断器和预测缓存；某个后端不可用时记录警告并跳过。
+ * 未指定模型文件时跳过。
+ * 例: mvn test -Dtest=InferenceBenchmarkTest -Dinference-benchmark.model-type=CNN_LSTM
+ *     -Dinference-benchmark.model-path=.../training_model/CNN_LSTM/model_127.model
+ *     -Dinference-benchmark.file-path=.../test_dataset.csv -Dinference-benchmark.flask-url=http://localhost:5000/predict
+ */
+@EnabledIfSystemProperty(named = "inference-benchmark.model-path", matches = ".+")
+class InferenceBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InferenceBenchmarkTest.class);
+
+    private static final String MODEL_TYPE = System.getProperty("inference-benchmark.model-type", "CNN_LSTM");
+    private static final String MODEL_PATH = System.getProperty("inference-benchmark.model-path");
+    private static final String FILE_PATH = System.getProperty("inference-benchmark.file-path");
+    private static final int SEQUENCE_LENGTH = Integer.getInteger("inference-benchmark.sequence-length", 30);
+    private static final int WARMUP = Integer.getInteger("inference-benchmark.warmup", 10);
+    private static final int ITERATIONS = Integer.getInteger("inference-benchmark.iterations", 200);
+    private static final int[] CONCURRENCY_LEVELS = Arrays.stream(
+            System.getProperty("inference-benchmark.concurrency", "1,4").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+    // 是否使用预先解析的输入窗口，对应导入时已解析数据的调用方式
+    private static final boolean USE_WINDOW = Boolean.getBoolean("inference-benchmark.use-window");
+
+    private static OnnxInferenceBackend onnxBackend;
+    private static FlaskInferenceBackend flaskBackend;
+
+    @BeforeAll
+    static void createBackends() {
+        // 与各配置项的默认值相同；predict 按传入的模型路径加载，不需要 ModelRepository
+        onnxBackend = new OnnxInferenceBackend(null);
+        ReflectionTestUtils.setField(onnxBackend, "maxSessions",
+                Long.getLong("inference-benchmark.onnx.max-sessions", 4));
+        ReflectionTestUtils.setField(onnxBackend, "intraOpThreads",
+                Integer.getInteger("inference-benchmark.onnx.intra-op-threads", 1));
+        ReflectionTestUtils.setField(onnxBackend, "sequenceLength", SEQUENCE_LENGTH);
+        onnxBackend.init();
+
+        flaskBackend = new FlaskInferenceBackend(new RestTemplate());
+        ReflectionTestUtils.setField(flaskBackend, "flaskApiUrl",
+                System.getProperty("inference-benchmark.flask-url", "http://localhost:5000/predict"));
+        ReflectionTestUtils.setField(flaskBackend, "flaskWindowApiUrl",
+                System.getProperty("inference-benchmark.flask-window-url", "http://localhost:5000/predict_window"));
+        ReflectionTestUtils.setField(flaskBackend, "payloadMode",
+                System.getProperty("inference-benchmark.flask-payload-mode", "file"));
+        ReflectionTestUtils.setField(flaskBackend, "sequenceLength", SEQUENCE_LENGTH);
+    }
+
+    @AfterAll
+    static void closeSessions() {
+        onnxBackend.destroy();
+    }
+
+    @Test
+    void compareBackends() throws Exception {
+        log.info("推理后端对比: 模型 {} ({}), 数据 {}, 预热 {} 次, 每轮 {} 次, 预先解析窗口 {}",
+                MODEL_PATH, MODEL_TYPE, FILE_PATH, WARMUP, ITERATIONS, USE_WINDOW);
+        FeatureWindow window = USE_WINDOW ? RulFeatures.readWindow(Paths.get(FILE_PATH), SEQUENCE_LENGTH) : null;
+        for (InferenceBackend backend : List.of(onnxBackend, flaskBackend)) {
+            try {
+                for (int i = 0; i < WARMUP; i++) {
+                    backend.predict(MODEL_TYPE, MODEL_PATH, FILE_PATH, window);
+                }
+                for (int concurrency : CONCURRENCY_LEVELS) {
+                    measure(backend, concurrency, window);
+                }
+            } catch (Exception e) {
+                log.warn("后端 {} 无法完成测试: {}", backend.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private static void measure(InferenceBackend backend, int concurrency, FeatureWindow window) throws Exception {
+        long[] latencies = new long[ITERATIONS];
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ITERATIONS);
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long callStart = System.nanoTime();
+                    backend.predict(MODEL_TYPE, MODEL_PATH, FILE_PATH, window);
+                    latencies[index] = System.nanoTime() - callStart;
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            log.info(String.format(Locale.ROOT,
+                    "%-6s 并发 %2d: p50 %8.2f ms, p95 %8.2f ms, p99 %8.2f ms, 吞吐量 %8.1f 次/秒",
+                    backend.getName(), concurrency,
+                    percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                    ITERATIONS / (elapsed / 1e9)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.software_management.Inference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PredictionCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void returnsStoredPredictionAndCountsHitsAndMisses() {
+        PredictionCache cache = cache(true, 100);
+        String key = PredictionCache.key(1, "v1", "abc");
+        CachedPrediction prediction = new CachedPrediction(Map.of("predicted_rul", 42.0), 7, 9);
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, prediction);
+
+        assertThat(cache.get(key)).isSameAs(prediction);
+        assertThat(cache.get(PredictionCache.key(2, "v1", "abc"))).isNull();
+        assertThat(cache.getStats())
+                .containsEntry("enabled", true)
+                .containsEntry("size", 1L)
+                .containsEntry("hits", 1L)
+                .containsEntry("misses", 2L);
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        PredictionCache cache = cache(false, 100);
+        String key = PredictionCache.key(1, "v1", "abc");
+
+        cache.put(key, new CachedPrediction(Map.of(), 1, 1));
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.getStats()).containsEntry("enabled", false).containsEntry("size", 0L);
+    }
+
+    @Test
+    void nullKeysAreIgnored() {
+        PredictionCache cache = cache(true, 100);
+
+        cache.put(null, new CachedPrediction(Map.of(), 1, 1));
+
+        assertThat(cache.get(null)).isNull();
+        assertThat(cache.getStats()).containsEntry("size", 0L);
+    }
+
+    @Test
+    void cachedPredictionIsAnUnmodifiableCopy() {
+        Map<String, Object> result = new HashMap<>(Map.of("predicted_rul", 42.0));
+        CachedPrediction prediction = new CachedPrediction(result, 7, null);
+        result.put("predicted_rul", 0.0);
+
+        assertThat(prediction.getPrediction()).containsEntry("predicted_rul", 42.0);
+        assertThatThrownBy(() -> prediction.getPrediction().put("status", "success"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(prediction.getForecastId()).isNull();
+    }
+
+    @Test
+    void keyCombinesModelVersionAndContentHash() {
+        assertThat(PredictionCache.key(3, "100-20", "ff00")).isEqualTo("3:100-20:ff00");
+    }
+
+    @Test
+    void modelVersionChangesWhenTheFileIsReplaced() throws Exception {
+        Path model = tempDir.resolve("model.onnx");
+        Files.writeString(model, "model-a");
+        Files.setLastModifiedTime(model, FileTime.fromMillis(1_000_000));
+        String original = PredictionCache.modelVersion(model);
+
+        Files.writeString(model, "model-bb");
+        Files.setLastModifiedTime(model, FileTime.fromMillis(2_000_000));
+
+        assertThat(original).isEqualTo("1000000-7");
+        assertThat(PredictionCache.modelVersion(model)).isEqualTo("2000000-8");
+    }
+
+    @Test
+    void hashFileMatchesDigestOfTheWholeContent() throws Exception {
+        // 超过一次读取的缓冲区大小，覆盖分块更新
+        byte[] content = "unit,cycle,nf\n1,1,2388.02\n".repeat(5000).getBytes(StandardCharsets.UTF_8);
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, content);
+
+        MessageDigest digest = PredictionCache.newDigest();
+        digest.update(content);
+
+        assertThat(PredictionCache.hashFile(file))
+                .hasSize(64)
+                .isEqualTo(PredictionCache.toHex(digest));
+    }
+
+    @Test
+    void identicalContentHashesTheSameRegardlessOfFileName() throws Exception {
+        Path first = Files.writeString(tempDir.resolve("a.csv"), "nf\n1\n");
+        Path second = Files.writeString(tempDir.resolve("b.csv"), "nf\n1\n");
+        Path different = Files.writeString(tempDir.resolve("c.csv"), "nf\n2\n");
+
+        assertThat(PredictionCache.hashFile(first)).isEqualTo(PredictionCache.hashFile(second));
+        assertThat(PredictionCache.hashFile(first)).isNotEqualTo(PredictionCache.hashFile(different));
+    }
+
+    private static PredictionCache cache(boolean enabled, long maxEntries) {
+        PredictionCache cache = new PredictionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 60L);
+        cache.init();
+        return cache;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.software_management.Inference;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelemetryWindowStoreTest {
+
+    private TelemetryWindowStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TelemetryWindowStore(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void componentWithoutCompleteWindowIsRejected() {
+        assertThatThrownBy(() -> store.getWindow(1)).isInstanceOf(InvalidPredictionInputException.class);
+    }
+
+    @Test
+    void returnsTheLastCompleteWindow() throws Exception {
+        FeatureWindow window = window(List.of(), 5);
+
+        store.put(1, window);
+
+        assertThat(store.getWindow(1)).isSameAs(window);
+        assertThatThrownBy(() -> store.getWindow(2)).isInstanceOf(InvalidPredictionInputException.class);
+    }
+
+    @Test
+    void windowWithMissingColumnsReplacesTheStoredWindowWithNothing() {
+        store.put(1, window(List.of(), 5));
+
+        store.put(1, window(List.of("Nf"), 5));
+
+        assertThatThrownBy(() -> store.getWindow(1)).isInstanceOf(InvalidPredictionInputException.class);
+    }
+
+    @Test
+    void channelOnlyDataEvictsTheWindow() {
+        store.put(1, window(List.of(), 5));
+
+        store.evict(1);
+
+        assertThatThrownBy(() -> store.getWindow(1)).isInstanceOf(InvalidPredictionInputException.class);
+    }
+
+    private static FeatureWindow window(List<String> missingColumns, int rows) {
+        FeatureWindowBuilder builder = new FeatureWindowBuilder(3);
+        builder.setMissingColumns(missingColumns);
+        for (int row = 0; row < rows; row++) {
+            builder.add(RulFeatures.MEANS.clone());
+        }
+        return builder.build();
+    }
+}
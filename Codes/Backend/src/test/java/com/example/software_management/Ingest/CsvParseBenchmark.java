@@ -0,0 +1,145 @@
+package com.example.software_management.Ingest;
+
+import com.example.software_management.Inference.RulFeatures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上传表格解析性能对比（JMH）：
+ * 生成 rows 行与 C-MAPSS 数据文件相同列结构的表格（保留4位小数），
+ * 分别用改为 TelemetryCsvParser 之前的 String.split + HashMap 逐格查找写法和 TelemetryCsvParser 解析完整文件。
+ * 数据在内存中，不经过磁盘和数据库；准备数据时核对两者解析出的8个通道值完全一致。
+ * 运行（JMH 在新的 JVM 中执行基准，需要以测试类路径启动）:
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main CsvParseBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class CsvParseBenchmark {
+
+    @Param("100000")
+    public int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = generate(rows);
+        double[] splitSums = parseWithSplit(new StringReader(csv));
+        double[] parserSums = parseWithParser(new StringReader(csv));
+        if (!Arrays.equals(splitSums, parserSums)) {
+            throw new IllegalStateException("两种写法解析结果不一致: " + Arrays.toString(splitSums)
+                    + " / " + Arrays.toString(parserSums));
+        }
+    }
+
+    @Benchmark
+    public double[] split() throws IOException {
+        return parseWithSplit(new StringReader(csv));
+    }
+
+    @Benchmark
+    public double[] parser() throws IOException {
+        return parseWithParser(new StringReader(csv));
+    }
+
+    /**
+     * 改为 TelemetryCsvParser 之前 DataIngestServiceImpl 的解析方式（去掉了逐格的控制台输出）
+     * @return 各通道值的和，用于核对结果
+     */
+    private static double[] parseWithSplit(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        String[] headers = reader.readLine().split(",");
+        Map<String, Integer> columnIndices = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            columnIndices.put(headers[i].trim().toLowerCase(), i);
+        }
+
+        double[] sums = new double[TelemetryChannel.COUNT];
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] values = line.split(",");
+            if (values.length < headers.length) {
+                continue;
+            }
+            for (TelemetryChannel channel : TelemetryChannel.values()) {
+                Integer index = columnIndices.get(channel.getHeader().toLowerCase());
+                if (index != null && index < values.length) {
+                    String value = values[index].trim();
+                    if (!value.isEmpty()) {
+                        try {
+                            sums[channel.ordinal()] += Double.parseDouble(value);
+                        } catch (NumberFormatException e) {
+                            // 与原写法一样按空值处理
+                        }
+                    }
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * @return 各通道值的和，用于核对结果
+     */
+    private static double[] parseWithParser(Reader reader) throws IOException {
+        TelemetryCsvParser parser = TelemetryCsvParser.forChannels(reader);
+        parser.readHeader();
+        double[] sums = new double[TelemetryChannel.COUNT];
+        double[] values = new double[TelemetryChannel.COUNT];
+        while (parser.nextRow(values)) {
+            for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+                if (!Double.isNaN(values[channel])) {
+                    sums[channel] += values[channel];
+                }
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * unit、cycle 两列加上31个特征列，特征值在训练均值附近随机取值
+     */
+    private static String generate(int rows) {
+        StringBuilder csv = new StringBuilder("unit,cycle");
+        for (String column : RulFeatures.FEATURE_COLUMNS) {
+            csv.append(',').append(column);
+        }
+        csv.append('\n');
+
+        Random random = new Random(42);
+        for (int i = 0; i < rows; i++) {
+            csv.append(i / 200 + 1).append(',').append(i % 200 + 1);
+            for (int feature = 0; feature < RulFeatures.FEATURE_COUNT; feature++) {
+                double value = 100 + random.nextGaussian() * 10;
+                csv.append(',').append(String.format(Locale.ROOT, "%.4f", value));
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.software_management.Ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelemetryCsvParserTest {
+
+    @Test
+    void mapsHeaderColumnsToRequestedSlotsIgnoringCaseAndOrder() throws Exception {
+        TelemetryCsvParser parser = parser("unit,NF,extra,Wf\n1,2.5,x,7\n", "wf", "nf");
+
+        assertThat(parser.readHeader()).containsExactly("unit", "NF", "extra", "Wf");
+        assertThat(parser.getMissingColumns()).isEmpty();
+        double[] values = new double[2];
+        assertThat(parser.nextRow(values)).isTrue();
+        assertThat(values).containsExactly(7.0, 2.5);
+        assertThat(parser.nextRow(values)).isFalse();
+    }
+
+    @Test
+    void reportsMissingColumnsAndLeavesTheirSlotsNaN() throws Exception {
+        TelemetryCsvParser parser = parser("nf\n1\n", "nf", "wf", "t24");
+
+        parser.readHeader();
+        assertThat(parser.getMissingColumns()).containsExactly("wf", "t24");
+        double[] values = new double[3];
+        parser.nextRow(values);
+        assertThat(values[0]).isEqualTo(1.0);
+        assertThat(values[1]).isNaN();
+        assertThat(values[2]).isNaN();
+    }
+
+    @Test
+    void stripsBomAndQuotesFromHeader() throws Exception {
+        TelemetryCsvParser parser = parser("\uFEFF\"nf\", \"w\"\"f\" \n1,2\n", "nf", "w\"f");
+
+        assertThat(parser.readHeader()).containsExactly("nf", "w\"f");
+        assertThat(parser.getMissingColumns()).isEmpty();
+    }
+
+    @Test
+    void acceptsLfCrlfAndCrLineEndingsAndNoTrailingNewline() throws Exception {
+        assertThat(parseAll("a,b\n1,2\n3,4\n", "a", "b")).containsExactly(new double[]{1, 2}, new double[]{3, 4});
+        assertThat(parseAll("a,b\r\n1,2\r\n3,4\r\n", "a", "b")).containsExactly(new double[]{1, 2}, new double[]{3, 4});
+        assertThat(parseAll("a,b\r1,2\r3,4\r", "a", "b")).containsExactly(new double[]{1, 2}, new double[]{3, 4});
+        assertThat(parseAll("a,b\n1,2\n3,4", "a", "b")).containsExactly(new double[]{1, 2}, new double[]{3, 4});
+    }
+
+    @Test
+    void keepsSeparatorsAndLineBreaksInsideQuotedFields() throws Exception {
+        String csv = "note,a,b\n"
+                + "\"x,y\",1,2\n"
+                + "\"multi\nline\r\nnote\",3,4\n"
+                + "\"say \"\"hi\"\"\",\" 5 \",\"6\"\n";
+
+        assertThat(parseAll(csv, "a", "b"))
+                .containsExactly(new double[]{1, 2}, new double[]{3, 4}, new double[]{5, 6});
+    }
+
+    @Test
+    void skipsRowsWithFewerFieldsThanTheHeader() throws Exception {
+        TelemetryCsvParser parser = parser("a,b,c\n1,2,3\n4,5\n\n6,7,8,9\n", "a", "c");
+
+        List<double[]> rows = parseAll(parser, 2);
+        assertThat(rows).containsExactly(new double[]{1, 3}, new double[]{6, 8});
+        assertThat(parser.getRowsParsed()).isEqualTo(2);
+        assertThat(parser.getRowsSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyFieldsAreNaNAndUnparseableFieldsAreCounted() throws Exception {
+        TelemetryCsvParser parser = parser("a,b,c\n, abc ,1e\n", "a", "b", "c");
+
+        double[] values = new double[3];
+        assertThat(parser.nextRow(values)).isTrue();
+        assertThat(values[0]).isNaN();
+        assertThat(values[1]).isNaN();
+        assertThat(values[2]).isNaN();
+        assertThat(parser.getParseFailures()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsNonFiniteValues() throws Exception {
+        TelemetryCsvParser parser = parser("a,b\nNaN,1e400\n", "a", "b");
+
+        double[] values = new double[2];
+        parser.nextRow(values);
+        assertThat(values[0]).isNaN();
+        assertThat(values[1]).isNaN();
+        assertThat(parser.getParseFailures()).isEqualTo(2);
+    }
+
+    @Test
+    void parsesNumbersExactlyLikeDoubleParseDouble() throws Exception {
+        List<String> literals = new ArrayList<>(List.of(
+                "0", "-0", "+0.0", "000123.4500", "1.", ".5", "-.5", "1e3", "1E-3", "-2.5e+10",
+                "123456789012345", "1234567890123456", "12345678901234567890", "0.1", "0.3",
+                "1e22", "1e23", "1e-22", "1e-23", "9007199254740993", "4.9e-324", "1.7976931348623157e308",
+                "518.67", "641.82", "1589.7", "-0.0007", "100.0000"));
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12) - 4);
+            literals.add(String.format(Locale.ROOT, "%." + random.nextInt(10) + "f", value));
+            literals.add(Double.toString(value));
+            literals.add(String.format(Locale.ROOT, "%.6e", value));
+        }
+
+        StringBuilder csv = new StringBuilder("v\n");
+        for (String literal : literals) {
+            csv.append(literal).append('\n');
+        }
+        List<double[]> rows = parseAll(csv.toString(), "v");
+
+        assertThat(rows).hasSize(literals.size());
+        for (int i = 0; i < literals.size(); i++) {
+            assertThat(Double.doubleToRawLongBits(rows.get(i)[0]))
+                    .as(literals.get(i))
+                    .isEqualTo(Double.doubleToRawLongBits(Double.parseDouble(literals.get(i))));
+        }
+    }
+
+    @Test
+    void recordsSpanningBufferRefillsParseTheSameAsOneBuffer() throws Exception {
+        StringBuilder csv = new StringBuilder("note,a,b\r\n");
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            // 长度不一的引号字段，使记录和 \r\n 落在缓冲区边界的不同位置
+            csv.append('"').append("x".repeat(random.nextInt(300))).append(",\r\n\"")
+                    .append(',').append(i).append('.').append(random.nextInt(100))
+                    .append(',').append(-i).append("\r\n");
+        }
+        // 单条记录超过缓冲区时扩容
+        csv.append('"').append("y".repeat(5000)).append("\",1,2\r\n");
+
+        List<double[]> small = parseAll(new TelemetryCsvParser(new StringReader(csv.toString()), 256, "a", "b"), 2);
+        List<double[]> large = parseAll(csv.toString(), "a", "b");
+
+        assertThat(small).hasSize(501);
+        assertThat(small).usingRecursiveComparison().isEqualTo(large);
+        assertThat(small.get(500)).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    void emptyInputIsRejected() {
+        assertThatThrownBy(() -> parser("", "a").readHeader())
+                .isInstanceOf(IOException.class)
+                .hasMessage("表格文件为空");
+    }
+
+    @Test
+    void forChannelsUsesChannelOrder() throws Exception {
+        StringBuilder header = new StringBuilder("unit");
+        StringBuilder row = new StringBuilder("1");
+        for (int i = TelemetryChannel.COUNT - 1; i >= 0; i--) {
+            header.append(',').append(TelemetryChannel.values()[i].getHeader());
+            row.append(',').append(i);
+        }
+        TelemetryCsvParser parser = TelemetryCsvParser.forChannels(new StringReader(header + "\n" + row + "\n"));
+
+        double[] values = new double[TelemetryChannel.COUNT];
+        assertThat(parser.nextRow(values)).isTrue();
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            assertThat(values[channel.ordinal()]).isEqualTo(channel.ordinal());
+        }
+    }
+
+    private static TelemetryCsvParser parser(String csv, String... columns) {
+        return new TelemetryCsvParser(new StringReader(csv), columns);
+    }
+
+    private static List<double[]> parseAll(String csv, String... columns) throws IOException {
+        return parseAll(parser(csv, columns), columns.length);
+    }
+
+    private static List<double[]> parseAll(TelemetryCsvParser parser, int columns) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        double[] values = new double[columns];
+        while (parser.nextRow(values)) {
+            rows.add(values.clone());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.Alert;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 未确认警报列表查询性能对比：对设备名称、时间范围的四种筛选组合，
+ * 分别执行原先 (:param IS NULL OR ...) 写法的 JPQL（列表 + 总数）和按条件组合的 Specification 查询，输出延迟分位数。
+ * 只读取库中已有的警报，不写入数据，也不执行迁移；需要已迁移到最新版本的 MySQL 库，未指定连接时跳过。
+ * 例: mvn test -Dtest=AlertQueryBenchmarkTest -Dalert-query-benchmark.url=jdbc:mysql://localhost:3306/software_management
+ *     -Dalert-query-benchmark.username=root -Dalert-query-benchmark.password=... -Dalert-query-benchmark.user-id=1
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "alert-query-benchmark.url", matches = ".+")
+class AlertQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertQueryBenchmarkTest.class);
+
+    // 改为 Specification 之前 findUnconfirmedAlerts 的列表查询和总数查询
+    private static final String OPTIONAL_FILTERS = "WHERE c.user.id = :userId " +
+            "AND a.isConfirmed = false " +
+            "AND (:deviceName IS NULL OR c.name LIKE CONCAT('%', :deviceName, '%')) " +
+            "AND (:startTime IS NULL OR a.alertTime >= :startTime) " +
+            "AND (:endTime IS NULL OR a.alertTime <= :endTime) ";
+    private static final String OLD_LIST_JPQL = "SELECT a FROM Alert a JOIN FETCH a.component c " +
+            "LEFT JOIN FETCH a.forecast LEFT JOIN FETCH a.confirmedBy " + OPTIONAL_FILTERS +
+            "ORDER BY a.alertTime DESC";
+    private static final String OLD_COUNT_JPQL = "SELECT COUNT(a) FROM Alert a JOIN a.component c " + OPTIONAL_FILTERS;
+
+    private static final int USER_ID = Integer.getInteger("alert-query-benchmark.user-id", 1);
+    // 按设备名称筛选时使用的关键字
+    private static final String DEVICE_NAME = System.getProperty("alert-query-benchmark.device-name", "1");
+    // 按时间筛选时的范围（最近若干天）
+    private static final int DAYS = Integer.getInteger("alert-query-benchmark.days", 7);
+    private static final int PAGE_SIZE = Integer.getInteger("alert-query-benchmark.page-size", 10);
+    private static final int WARMUP = Integer.getInteger("alert-query-benchmark.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("alert-query-benchmark.iterations", 50);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("alert-query-benchmark.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("alert-query-benchmark.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("alert-query-benchmark.password", ""));
+    }
+
+    @Test
+    void compareOptionalParametersWithSpecifications() {
+        LocalDateTime endTime = LocalDateTime.now();
+        LocalDateTime startTime = endTime.minusDays(DAYS);
+        log.info("未确认警报查询对比: 用户 {}, 设备名称 '{}', 最近 {} 天, 每页 {} 条, 预热 {} 次, 每轮 {} 次",
+                USER_ID, DEVICE_NAME, DAYS, PAGE_SIZE, WARMUP, ITERATIONS);
+
+        compare("无筛选", null, null, null);
+        compare("设备名称", DEVICE_NAME, null, null);
+        compare("时间范围", null, startTime, endTime);
+        compare("名称+时间", DEVICE_NAME, startTime, endTime);
+    }
+
+    private void compare(String name, String deviceName, LocalDateTime startTime, LocalDateTime endTime) {
+        measure(name + " 可选参数", () -> {
+            entityManager.createQuery(OLD_LIST_JPQL, Alert.class)
+                    .setParameter("userId", USER_ID)
+                    .setParameter("deviceName", deviceName)
+                    .setParameter("startTime", startTime)
+                    .setParameter("endTime", endTime)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            entityManager.createQuery(OLD_COUNT_JPQL, Long.class)
+                    .setParameter("userId", USER_ID)
+                    .setParameter("deviceName", deviceName)
+                    .setParameter("startTime", startTime)
+                    .setParameter("endTime", endTime)
+                    .getSingleResult();
+        });
+
+        Specification<Alert> filter = AlertSpecifications.unconfirmedOf(USER_ID);
+        if (deviceName != null) {
+            filter = filter.and(AlertSpecifications.deviceNameContains(deviceName));
+        }
+        if (startTime != null) {
+            filter = filter.and(AlertSpecifications.alertTimeFrom(startTime));
+        }
+        if (endTime != null) {
+            filter = filter.and(AlertSpecifications.alertTimeTo(endTime));
+        }
+        Specification<Alert> spec = filter;
+        measure(name + " 组合条件", () ->
+                alertRepository.findAll(spec, PageRequest.of(0, PAGE_SIZE, AlertSpecifications.NEWEST_FIRST)));
+    }
+
+    private void measure(String name, Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+            entityManager.clear();
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            latencies[i] = System.nanoTime() - start;
+            // 测试在同一事务中执行，清空持久化上下文，避免后续查询复用已加载的实体
+            entityManager.clear();
+        }
+        Arrays.sort(latencies);
+        log.info(String.format(Locale.ROOT, "%-12s: p50 %10.2f ms, p95 %10.2f ms, p99 %10.2f ms",
+                name, percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99)));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
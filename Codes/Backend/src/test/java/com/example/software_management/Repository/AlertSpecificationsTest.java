@@ -0,0 +1,45 @@
+package com.example.software_management.Repository;
+
+import com.example.software_management.Model.Alert;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlertSpecificationsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void afterSelectsRowsPastTheKeysetInNewestFirstOrder() {
+        Root<Alert> root = mock(Root.class);
+        CriteriaQuery<?> query = mock(CriteriaQuery.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Path<LocalDateTime> alertTime = mock(Path.class);
+        Path<Integer> id = mock(Path.class);
+        when(root.<LocalDateTime>get("alertTime")).thenReturn(alertTime);
+        when(root.<Integer>get("id")).thenReturn(id);
+
+        LocalDateTime time = LocalDateTime.of(2025, 3, 1, 8, 0);
+        Predicate notLater = mock(Predicate.class);
+        Predicate earlier = mock(Predicate.class);
+        Predicate smallerId = mock(Predicate.class);
+        Predicate earlierOrSmallerId = mock(Predicate.class);
+        Predicate keyset = mock(Predicate.class);
+        when(cb.lessThanOrEqualTo(alertTime, time)).thenReturn(notLater);
+        when(cb.lessThan(alertTime, time)).thenReturn(earlier);
+        when(cb.lessThan(id, 42)).thenReturn(smallerId);
+        when(cb.or(earlier, smallerId)).thenReturn(earlierOrSmallerId);
+        when(cb.and(notLater, earlierOrSmallerId)).thenReturn(keyset);
+
+        // alert_time <= t AND (alert_time < t OR id < 42)：同一时间的警报按ID继续向后翻页，可走 (alert_time) 索引范围扫描
+        assertThat(AlertSpecifications.after(time, 42).toPredicate(root, query, cb)).isSameAs(keyset);
+    }
+}
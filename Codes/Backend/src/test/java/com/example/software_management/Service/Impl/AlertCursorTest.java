@@ -0,0 +1,38 @@
+package com.example.software_management.Service.Impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlertCursorTest {
+
+    @Test
+    void decodeReturnsEncodedPosition() {
+        LocalDateTime alertTime = LocalDateTime.of(2025, 3, 1, 8, 30, 15, 123_000_000);
+        String cursor = new AlertServiceImpl.AlertCursor(alertTime, 42).encode();
+
+        AlertServiceImpl.AlertCursor decoded = AlertServiceImpl.AlertCursor.decode(cursor);
+
+        assertThat(decoded.alertTime).isEqualTo(alertTime);
+        assertThat(decoded.alertId).isEqualTo(42);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String cursor = new AlertServiceImpl.AlertCursor(LocalDateTime.of(2025, 12, 31, 23, 59, 59), 1_000_000).encode();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        assertThatThrownBy(() -> AlertServiceImpl.AlertCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("无效的分页游标");
+        assertThatThrownBy(() -> AlertServiceImpl.AlertCursor.decode("MjAyNS0wMS0wMQ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Cache.LatestReadingCache;
+import com.example.software_management.Inference.FeatureWindow;
+import com.example.software_management.Inference.RulFeatures;
+import com.example.software_management.Inference.TelemetryWindowStore;
+import com.example.software_management.Ingest.IngestMetrics;
+import com.example.software_management.Ingest.IngestResult;
+import com.example.software_management.Ingest.TelemetryChannel;
+import com.example.software_management.Ingest.TelemetryRow;
+import com.example.software_management.Model.Component;
+import com.example.software_management.Repository.DataBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DataIngestServiceImplTest {
+
+    private static final int SEQUENCE_LENGTH = 3;
+
+    private DataBatchRepository dataBatchRepository;
+    private TelemetryWindowStore windowStore;
+    private LatestReadingCache latestReadingCache;
+    private SimpleMeterRegistry registry;
+    private DataIngestServiceImpl service;
+    private Component component;
+    // insertBatch 收到的批次；服务写入后会清空并复用列表，这里保存副本
+    private final List<List<TelemetryRow>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataBatchRepository = mock(DataBatchRepository.class);
+        windowStore = mock(TelemetryWindowStore.class);
+        latestReadingCache = mock(LatestReadingCache.class);
+        registry = new SimpleMeterRegistry();
+        when(dataBatchRepository.insertBatch(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+            List<TelemetryRow> rows = invocation.getArgument(2);
+            batches.add(List.copyOf(rows));
+            return rows.size();
+        });
+
+        service = new DataIngestServiceImpl(dataBatchRepository, new IngestMetrics(registry),
+                windowStore, latestReadingCache);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "sequenceLength", SEQUENCE_LENGTH);
+
+        component = new Component();
+        component.setId(7);
+    }
+
+    @Test
+    void insertsRowsInBatchesOfTheConfiguredSize() throws Exception {
+        IngestResult result = service.ingestCsv(component, "data.csv", csv(5));
+
+        assertThat(result.getInsertedRows()).isEqualTo(5);
+        assertThat(result.getSkippedRows()).isZero();
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        verify(dataBatchRepository, times(3)).insertBatch(eq(7), eq("data.csv"), any(), eq(2));
+    }
+
+    @Test
+    void mapsFeatureColumnsToTelemetryChannels() throws Exception {
+        service.ingestCsv(component, "data.csv", csv(2));
+
+        TelemetryRow second = batches.get(0).get(1);
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            assertThat(second.get(channel))
+                    .as(channel.name())
+                    .isEqualTo(featureValue(1, RulFeatures.CHANNEL_FEATURES[channel.ordinal()]));
+        }
+    }
+
+    @Test
+    void buildsTheModelWindowFromTheLastRows() throws Exception {
+        FeatureWindow window = service.ingestCsv(component, "data.csv", csv(5)).getWindow();
+
+        assertThat(window.getRows()).isEqualTo(5);
+        assertThat(window.getSequenceLength()).isEqualTo(SEQUENCE_LENGTH);
+        assertThat(window.getMissingColumns()).isEmpty();
+        assertThat(window.getLastRow()[0]).isEqualTo(featureValue(4, 0));
+        assertThat(window.normalized()).hasSize(SEQUENCE_LENGTH * RulFeatures.FEATURE_COUNT);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updatesWindowStoreAndLatestReadingWithTheLastSequenceLengthRows() throws Exception {
+        FeatureWindow window = service.ingestCsv(component, "data.csv", csv(5)).getWindow();
+
+        verify(windowStore).put(7, window);
+        ArgumentCaptor<Collection<TelemetryRow>> latestRows = ArgumentCaptor.forClass(Collection.class);
+        verify(latestReadingCache).update(eq(7), latestRows.capture());
+        assertThat(latestRows.getValue())
+                .extracting(row -> row.get(TelemetryChannel.T24))
+                .containsExactly(featureValue(2, 0), featureValue(3, 0), featureValue(4, 0));
+    }
+
+    @Test
+    void countsSkippedRowsAndMissingChannelColumns() throws Exception {
+        List<String> columns = new ArrayList<>(Arrays.asList(RulFeatures.FEATURE_COLUMNS));
+        columns.remove("Nf");
+        String header = "unit,cycle," + String.join(",", columns);
+        String row = "1,1" + ",1.0".repeat(columns.size());
+        String csv = header + "\n" + row + "\n" + "1,2,3\n" + row + "\n";
+
+        IngestResult result = service.ingestCsv(component, "data.csv",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(result.getSkippedRows()).isEqualTo(1);
+        assertThat(result.getWindow().getMissingColumns()).containsExactly("Nf");
+        assertThat(registry.get("telemetry.ingest.columns.missing").tag("column", "nf").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("telemetry.ingest.rows.skipped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void emptyFileFailsBeforeAnyWrite() {
+        assertThatThrownBy(() -> service.ingestCsv(component, "data.csv", new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(IOException.class);
+        verifyNoInteractions(dataBatchRepository, windowStore, latestReadingCache);
+    }
+
+    /**
+     * unit、cycle 两列加上31个特征列，第 row 行第 feature 个特征的值为 featureValue(row, feature)
+     */
+    private static ByteArrayInputStream csv(int rows) {
+        StringBuilder csv = new StringBuilder("unit,cycle,")
+                .append(String.join(",", RulFeatures.FEATURE_COLUMNS)).append('\n');
+        for (int row = 0; row < rows; row++) {
+            int current = row;
+            csv.append("1,").append(row + 1).append(',')
+                    .append(IntStream.range(0, RulFeatures.FEATURE_COUNT)
+                            .mapToObj(feature -> String.valueOf(featureValue(current, feature)))
+                            .collect(Collectors.joining(",")))
+                    .append('\n');
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double featureValue(int row, int feature) {
+        return row * 100.0 + feature;
+    }
+}
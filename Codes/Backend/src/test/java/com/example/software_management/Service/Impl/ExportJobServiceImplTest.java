@@ -0,0 +1,263 @@
+package com.example.software_management.Service.Impl;
+
+import com.example.software_management.Exception.ResourceNotFoundException;
+import com.example.software_management.Export.ExportFormat;
+import com.example.software_management.Model.ExportJob;
+import com.example.software_management.Repository.ComponentRepository;
+import com.example.software_management.Repository.ExportJobRepository;
+import com.example.software_management.Service.AlertService;
+import com.example.software_management.Service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportJobServiceImplTest {
+
+    private static final int USER_ID = 1;
+    private static final int DEVICE_ID = 5;
+
+    @TempDir
+    Path spoolDir;
+
+    private final Map<String, ExportJob> jobs = new LinkedHashMap<>();
+    // 提交给线程池的任务，由测试按需执行
+    private final Queue<Runnable> executed = new ArrayDeque<>();
+    private ExportJobRepository exportJobRepository;
+    private ReportService reportService;
+    private ExportJobServiceImpl service;
+    private boolean rejectTasks;
+    private LocalDateTime clock = LocalDateTime.of(2025, 3, 1, 8, 0);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        exportJobRepository = inMemoryRepository();
+        ComponentRepository componentRepository = mock(ComponentRepository.class);
+        when(componentRepository.existsByIdAndUserId(DEVICE_ID, USER_ID)).thenReturn(true);
+        reportService = mock(ReportService.class);
+        when(reportService.exportDeviceHistory(any(), any(), any()))
+                .thenReturn(out -> out.write("history".getBytes(StandardCharsets.UTF_8)));
+        AlertService alertService = mock(AlertService.class);
+        when(alertService.exportUnconfirmedAlerts(any(), any()))
+                .thenReturn(out -> out.write("alerts".getBytes(StandardCharsets.UTF_8)));
+
+        service = new ExportJobServiceImpl(exportJobRepository, componentRepository, alertService, reportService,
+                task -> {
+                    if (rejectTasks) {
+                        throw new TaskRejectedException("队列已满");
+                    }
+                    executed.add(task);
+                });
+        ReflectionTestUtils.setField(service, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(service, "ttlHours", 24);
+        ReflectionTestUtils.setField(service, "maxRunningPerUser", 1);
+        ReflectionTestUtils.setField(service, "maxActivePerUser", 3);
+        service.init();
+    }
+
+    @Test
+    void rejectsDeviceExportsWithoutAnOwnedDevice() {
+        assertThatThrownBy(() -> service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, null, ExportFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, 99, ExportFormat.CSV))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(jobs).isEmpty();
+        verify(reportService, never()).exportDeviceHistory(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void runsOneJobPerUserAndQueuesTheRest() {
+        ExportJob first = service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, DEVICE_ID, ExportFormat.CSV);
+        ExportJob second = service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, DEVICE_ID, ExportFormat.CSV);
+
+        assertThat(first.getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+        assertThat(second.getStatus()).isEqualTo(ExportJob.Status.QUEUED);
+        assertThat(second.getDeviceId()).isNull();
+        assertThat(second.getFileName()).isEqualTo("unconfirmed_alerts_1.csv");
+        assertThat(executed).hasSize(1);
+
+        executed.poll().run();
+
+        assertThat(jobs.get(second.getId()).getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    void finishedJobHasADownloadableFile() throws Exception {
+        ExportJob job = service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, DEVICE_ID, ExportFormat.CSV);
+        executed.poll().run();
+
+        ExportJob finished = jobs.get(job.getId());
+        assertThat(finished.getStatus()).isEqualTo(ExportJob.Status.SUCCEEDED);
+        assertThat(finished.getFileName()).isEqualTo("device_history_5.csv");
+        assertThat(finished.getFileSize()).isEqualTo(7L);
+        assertThat(finished.getDownloadToken()).hasSize(43);
+        assertThat(finished.getExpiresTime()).isEqualTo(finished.getFinishedTime().plusHours(24));
+        assertThat(Files.readString(Paths.get(finished.getFilePath()))).isEqualTo("history");
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).noneMatch(file -> file.toString().endsWith(".part"));
+        }
+
+        assertThat(service.getDownload(finished.getDownloadToken())).isSameAs(finished);
+        assertThat(service.getJobStatus(job.getId(), USER_ID))
+                .containsEntry("status", "SUCCEEDED")
+                .containsEntry("downloadUrl", "/api/exports/download/" + finished.getDownloadToken());
+        assertThatThrownBy(() -> service.getJobStatus(job.getId(), USER_ID + 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void failedWriteMarksTheJobFailedAndStartsTheNext() {
+        when(reportService.exportDeviceHistory(any(), any(), any()))
+                .thenReturn(out -> out.write('x'))
+                .thenReturn(out -> {
+                    out.write('x');
+                    throw new IOException("磁盘已满");
+                });
+        ExportJob job = service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, DEVICE_ID, ExportFormat.CSV);
+        ExportJob next = service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV);
+
+        executed.poll().run();
+
+        ExportJob failed = jobs.get(job.getId());
+        assertThat(failed.getStatus()).isEqualTo(ExportJob.Status.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("磁盘已满");
+        assertThat(failed.getDownloadToken()).isNull();
+        assertThat(spoolDir).isEmptyDirectory();
+        assertThat(jobs.get(next.getId()).getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+    }
+
+    @Test
+    void rejectsSubmissionsBeyondTheActiveLimit() {
+        for (int i = 0; i < 3; i++) {
+            service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV);
+        }
+
+        assertThatThrownBy(() -> service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV))
+                .isInstanceOf(TaskRejectedException.class);
+        assertThat(jobs).hasSize(3);
+    }
+
+    @Test
+    void jobStaysQueuedWhenTheExecutorIsFull() {
+        rejectTasks = true;
+        ExportJob job = service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV);
+        assertThat(job.getStatus()).isEqualTo(ExportJob.Status.QUEUED);
+
+        rejectTasks = false;
+        service.maintain();
+
+        assertThat(jobs.get(job.getId()).getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    void recoveryFailsInterruptedJobsAndRestartsQueuedOnes() throws Exception {
+        ExportJob interrupted = service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV);
+        ExportJob queued = service.submitJob(USER_ID, ExportJob.Type.UNCONFIRMED_ALERTS, null, ExportFormat.CSV);
+        Path part = Files.writeString(spoolDir.resolve(interrupted.getId() + ".csv.part"), "partial");
+        executed.clear();
+
+        service.recoverJobs();
+
+        assertThat(jobs.get(interrupted.getId()).getStatus()).isEqualTo(ExportJob.Status.FAILED);
+        assertThat(part).doesNotExist();
+        assertThat(jobs.get(queued.getId()).getStatus()).isEqualTo(ExportJob.Status.RUNNING);
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    void expiredFilesAreDeletedAndTheirLinksInvalidated() {
+        ExportJob job = service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, DEVICE_ID, ExportFormat.CSV);
+        executed.poll().run();
+        ExportJob finished = jobs.get(job.getId());
+        String token = finished.getDownloadToken();
+        Path file = Paths.get(finished.getFilePath());
+        finished.setExpiresTime(LocalDateTime.now().minusMinutes(1));
+
+        assertThatThrownBy(() -> service.getDownload(token)).isInstanceOf(ResourceNotFoundException.class);
+        service.maintain();
+
+        assertThat(finished.getStatus()).isEqualTo(ExportJob.Status.EXPIRED);
+        assertThat(finished.getDownloadToken()).isNull();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void downloadFailsWhenTheFileIsGone() throws Exception {
+        ExportJob job = service.submitJob(USER_ID, ExportJob.Type.DEVICE_HISTORY, DEVICE_ID, ExportFormat.CSV);
+        executed.poll().run();
+        ExportJob finished = jobs.get(job.getId());
+        Files.delete(Paths.get(finished.getFilePath()));
+
+        assertThatThrownBy(() -> service.getDownload(finished.getDownloadToken()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getDownload("unknown")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    /**
+     * 以 Map 保存任务的仓库，只实现服务用到的查询
+     */
+    @SuppressWarnings("unchecked")
+    private ExportJobRepository inMemoryRepository() {
+        ExportJobRepository repository = mock(ExportJobRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ExportJob job = invocation.getArgument(0);
+            if (job.getCreatedTime() == null) {
+                clock = clock.plusSeconds(1);
+                job.setCreatedTime(clock);
+            }
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        when(repository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(jobs.get((String) invocation.getArgument(0))));
+        when(repository.countByUserIdAndStatusIn(any(), any())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> job.getUserId().equals(invocation.getArgument(0)))
+                .filter(job -> ((Collection<ExportJob.Status>) invocation.getArgument(1)).contains(job.getStatus()))
+                .count());
+        when(repository.findFirstByUserIdAndStatusOrderByCreatedTimeAsc(any(), any()))
+                .thenAnswer(invocation -> jobs.values().stream()
+                        .filter(job -> job.getUserId().equals(invocation.getArgument(0)))
+                        .filter(job -> job.getStatus() == invocation.getArgument(1))
+                        .min(Comparator.comparing(ExportJob::getCreatedTime)));
+        when(repository.findByStatusInOrderByCreatedTimeAsc(any())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> ((Collection<ExportJob.Status>) invocation.getArgument(0)).contains(job.getStatus()))
+                .sorted(Comparator.comparing(ExportJob::getCreatedTime))
+                .toList());
+        when(repository.findByStatusAndExpiresTimeBefore(any(), any())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> job.getStatus() == invocation.getArgument(0))
+                .filter(job -> job.getExpiresTime() != null
+                        && job.getExpiresTime().isBefore(invocation.getArgument(1)))
+                .toList());
+        when(repository.findByDownloadToken(any())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> invocation.getArgument(0).equals(job.getDownloadToken()))
+                .findFirst());
+        return repository;
+    }
+}
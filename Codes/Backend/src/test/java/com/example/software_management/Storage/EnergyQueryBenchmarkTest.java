@@ -0,0 +1,200 @@
+package com.example.software_management.Storage;
+
+import com.example.software_management.Ingest.TelemetryChannel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 能耗查询性能对比：分别执行原先直接扫描 device_data 的两条查询和读取天汇总的查询，输出延迟分位数。
+ * 需要已迁移到最新版本的 MySQL 库，未指定连接时跳过。
+ * 默认只读取库中已有的数据；指定 seed-rows 时先写入模拟数据（均匀分布在最近 seed-days 天内，并生成小时和天汇总），
+ * 为避免写入正式库，只有 device_data 为空时才会写入，否则测试失败。
+ * 例: mvn test -Dtest=EnergyQueryBenchmarkTest -Denergy-benchmark.url=jdbc:mysql://localhost:3306/energy_benchmark
+ *     -Denergy-benchmark.username=root -Denergy-benchmark.password=... -Denergy-benchmark.seed-rows=10000000
+ */
+@EnabledIfSystemProperty(named = "energy-benchmark.url", matches = ".+")
+class EnergyQueryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EnergyQueryBenchmarkTest.class);
+
+    // 改为汇总表之前 getDeviceEnergyData 执行的两条查询
+    private static final String RAW_TREND_SQL = "SELECT DATE(d.time) as date, AVG(d.wf) as energy_consumption " +
+            "FROM device_data d WHERE d.component_id = ? " +
+            "AND d.time >= DATE_SUB(CURRENT_DATE(), INTERVAL 7 DAY) " +
+            "GROUP BY DATE(d.time) ORDER BY DATE(d.time)";
+    private static final String RAW_COST_SQL = "SELECT AVG(d.wf) as energy_cost FROM device_data d " +
+            "WHERE d.component_id = ? AND DATE(d.time) = CURRENT_DATE()";
+    // ComponentRepository.getComponentEnergyTrendWithDates
+    private static final String ROLLUP_TREND_SQL = "SELECT DATE(r.bucket_start) as date, " +
+            "r.wf_sum / r.wf_count as energy_consumption " +
+            "FROM device_data_rollup r " +
+            "WHERE r.component_id = ? " +
+            "AND r.granularity = 'DAY' " +
+            "AND r.bucket_start >= DATE_SUB(CURRENT_DATE(), INTERVAL 6 DAY) " +
+            "AND r.wf_count > 0 " +
+            "ORDER BY r.bucket_start";
+
+    private static JdbcTemplate jdbcTemplate;
+
+    // 写入的数据行数，默认0表示只使用已有数据
+    private static final long SEED_ROWS = Long.getLong("energy-benchmark.seed-rows", 0);
+    private static final int SEED_DAYS = Integer.getInteger("energy-benchmark.seed-days", 30);
+    private static final int BATCH_SIZE = Integer.getInteger("energy-benchmark.batch-size", 5000);
+    private static final int WARMUP = Integer.getInteger("energy-benchmark.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("energy-benchmark.iterations", 50);
+
+    @BeforeAll
+    static void connect() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("energy-benchmark.url"),
+                System.getProperty("energy-benchmark.username", "root"),
+                System.getProperty("energy-benchmark.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void compareRawScanWithDailyRollup() {
+        int componentId;
+        if (SEED_ROWS > 0) {
+            assertThat(jdbcTemplate.queryForList("SELECT 1 FROM device_data LIMIT 1"))
+                    .as("energy-benchmark.seed-rows 只能用于空库，device_data 中已有数据")
+                    .isEmpty();
+            componentId = createComponent();
+            seed(componentId);
+        } else {
+            Integer configured = Integer.getInteger("energy-benchmark.component-id");
+            componentId = configured != null ? configured
+                    : jdbcTemplate.queryForObject("SELECT component_id FROM device_data ORDER BY id LIMIT 1", Integer.class);
+        }
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM device_data WHERE component_id = ?", Long.class, componentId);
+        log.info("能耗查询对比: 组件 {} 共 {} 行原始数据, 预热 {} 次, 每轮 {} 次", componentId, rows, WARMUP, ITERATIONS);
+
+        measure("原始数据", () -> {
+            jdbcTemplate.queryForList(RAW_TREND_SQL, componentId);
+            jdbcTemplate.queryForObject(RAW_COST_SQL, Double.class, componentId);
+        });
+        measure("天汇总", () -> jdbcTemplate.queryForList(ROLLUP_TREND_SQL, componentId));
+    }
+
+    /**
+     * 空库中没有用户和组件，为模拟数据建一个
+     */
+    private static int createComponent() {
+        KeyHolder userKey = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO `user` (username, hashed_password, phone) VALUES (?, '-', ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            String name = "energy-benchmark-" + System.currentTimeMillis();
+            ps.setString(1, name);
+            ps.setString(2, name);
+            return ps;
+        }, userKey);
+        KeyHolder componentKey = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO component (name, status, user_id) VALUES ('energy-benchmark', 1, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, userKey.getKey().intValue());
+            return ps;
+        }, componentKey);
+        return componentKey.getKey().intValue();
+    }
+
+    /**
+     * 分批写入模拟数据，时间从 seed-days 天前均匀递增到当前；
+     * 写完后与 V6__backfill_rollups.sql 一样按小时和按天汇总一次，不逐批累加
+     */
+    private static void seed(int componentId) {
+        long start = System.nanoTime();
+        LocalDateTime first = LocalDateTime.now().minusDays(SEED_DAYS);
+        long stepNanos = SEED_DAYS * 86_400_000_000_000L / SEED_ROWS;
+        Random random = new Random(42);
+
+        StringBuilder columns = new StringBuilder("component_id, file, time");
+        StringBuilder placeholders = new StringBuilder("?, 'energy-benchmark', ?");
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            columns.append(", ").append(channel.getColumn());
+            placeholders.append(", ?");
+        }
+        String insertSql = "INSERT INTO device_data (" + columns + ") VALUES (" + placeholders + ")";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long i = 0; i < SEED_ROWS; i++) {
+            Object[] row = new Object[2 + TelemetryChannel.COUNT];
+            row[0] = componentId;
+            row[1] = Timestamp.valueOf(first.plusNanos(i * stepNanos));
+            for (int channel = 0; channel < TelemetryChannel.COUNT; channel++) {
+                row[2 + channel] = random.nextGaussian();
+            }
+            row[2 + TelemetryChannel.WF.ordinal()] = 2.3 + 0.5 * random.nextGaussian();
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insertSql, batch);
+                batch.clear();
+            }
+            if ((i + 1) % 1_000_000 == 0) {
+                log.info("已写入 {} 行", i + 1);
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, batch);
+        }
+        rollup(componentId, "HOUR", "DATE_FORMAT(time, '%Y-%m-%d %H:00:00')");
+        rollup(componentId, "DAY", "DATE(time)");
+        log.info("写入 {} 行并生成汇总完成，耗时 {} s", SEED_ROWS, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private static void rollup(int componentId, String granularity, String bucket) {
+        StringBuilder columns = new StringBuilder("component_id, granularity, bucket_start, row_count");
+        StringBuilder aggregates = new StringBuilder("component_id, '" + granularity + "', " + bucket + ", COUNT(*)");
+        for (TelemetryChannel channel : TelemetryChannel.values()) {
+            String column = channel.getColumn().toLowerCase(Locale.ROOT);
+            columns.append(", ").append(column).append("_min, ").append(column).append("_max, ")
+                    .append(column).append("_sum, ").append(column).append("_count");
+            aggregates.append(", MIN(").append(column).append("), MAX(").append(column).append("), COALESCE(SUM(")
+                    .append(column).append("), 0), COUNT(").append(column).append(")");
+        }
+        jdbcTemplate.update("INSERT INTO device_data_rollup (" + columns + ") SELECT " + aggregates
+                + " FROM device_data WHERE component_id = ? GROUP BY component_id, " + bucket, componentId);
+    }
+
+    private static void measure(String name, Runnable query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.run();
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        log.info(String.format(Locale.ROOT, "%-6s: p50 %10.2f ms, p95 %10.2f ms, p99 %10.2f ms",
+                name, percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99)));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.software_management.Storage;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 查询计划检查：对 DataRepository、AlertRepository、ComponentRepository 等热点查询对应的 SQL 执行 EXPLAIN，
+ * 任一查询出现全表扫描（type = ALL）时失败。需要已迁移到最新版本的 MySQL 库，未指定连接时跳过。
+ * 数据量很小时优化器可能认为全表扫描更快，应在有一定数据量的本地库上运行。
+ * 例: mvn test -Dtest=QueryPlanCheckTest -Dquery-plan-check.url=jdbc:mysql://localhost:3306/software_management
+ *     -Dquery-plan-check.username=root -Dquery-plan-check.password=...
+ */
+@EnabledIfSystemProperty(named = "query-plan-check.url", matches = ".+")
+class QueryPlanCheckTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanCheckTest.class);
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void connect() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty("query-plan-check.url"),
+                System.getProperty("query-plan-check.username", "root"),
+                System.getProperty("query-plan-check.password", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> hotQueriesUseIndexes() {
+        Integer componentId = firstValue("SELECT id FROM component ORDER BY id LIMIT 1");
+        Integer userId = firstValue("SELECT user_id FROM component ORDER BY id LIMIT 1");
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusDays(30);
+
+        return queries(componentId, userId, start, end).entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(name(query.getKey()), () -> {
+                    List<String> fullScans = new ArrayList<>();
+                    for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + query.getKey(),
+                            query.getValue())) {
+                        log.info("{} | table={} type={} key={} rows={} extra={}", name(query.getKey()),
+                                row.get("table"), row.get("type"), row.get("key"), row.get("rows"), row.get("Extra"));
+                        // 派生表是子查询的物化结果（如计数上限的 LIMIT 子查询），整表读取是预期的
+                        String table = String.valueOf(row.get("table"));
+                        if ("ALL".equals(row.get("type")) && !table.startsWith("<derived")) {
+                            fullScans.add(table);
+                        }
+                    }
+                    assertThat(fullScans).as("全表扫描的表").isEmpty();
+                }));
+    }
+
+    /**
+     * 各仓库方法生成的 SQL 的等价写法，键为 SQL，值为参数
+     */
+    private static Map<String, Object[]> queries(Integer componentId, Integer userId,
+                                                 LocalDateTime start, LocalDateTime end) {
+        Map<String, Object[]> queries = new LinkedHashMap<>();
+        // DataRepository.getLatestComponentData / findFirstByComponentIdOrderByTimeDesc
+        queries.put("SELECT * FROM device_data WHERE component_id = ? ORDER BY time DESC LIMIT 1",
+                new Object[]{componentId});
+        // DataRepository.getComponentMetricData
+        queries.put("SELECT * FROM device_data WHERE component_id = ? ORDER BY time DESC LIMIT 20 OFFSET 0",
+                new Object[]{componentId});
+        // DataRepository.findLatestByComponentIds
+        queries.put("SELECT d.* FROM device_data d JOIN (SELECT component_id, MAX(time) AS time FROM device_data "
+                + "WHERE component_id IN (?) GROUP BY component_id) latest "
+                + "ON d.component_id = latest.component_id AND d.time = latest.time", new Object[]{componentId});
+        // 组件最新的预测健康指数
+        queries.put("SELECT forecast_time, health_index FROM forecast WHERE component_id = ? "
+                + "ORDER BY forecast_time DESC LIMIT 1", new Object[]{componentId});
+        // 未确认警报列表（AlertSpecifications），各筛选条件组合
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 "
+                + "ORDER BY a.alert_time DESC, a.id DESC LIMIT 10", new Object[]{userId});
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 AND c.name LIKE ? "
+                + "ORDER BY a.alert_time DESC, a.id DESC LIMIT 10", new Object[]{userId, "%1%"});
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 AND a.alert_time >= ? AND a.alert_time <= ? "
+                + "ORDER BY a.alert_time DESC, a.id DESC LIMIT 10", new Object[]{userId, start, end});
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 AND c.name LIKE ? "
+                + "AND a.alert_time >= ? AND a.alert_time <= ? "
+                + "ORDER BY a.alert_time DESC, a.id DESC LIMIT 10", new Object[]{userId, "%1%", start, end});
+        // 游标分页（AlertSpecifications.after）
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 AND a.alert_time <= ? "
+                + "AND (a.alert_time < ? OR a.id < ?) ORDER BY a.alert_time DESC, a.id DESC LIMIT 11",
+                new Object[]{userId, end, end, Integer.MAX_VALUE});
+        // AlertRepositoryCustomImpl.countUnconfirmedUpTo（countMode=estimated）
+        queries.put("SELECT COUNT(*) FROM (SELECT 1 FROM alert a JOIN component c ON c.id = a.component_id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = false LIMIT 10001) counted", new Object[]{userId});
+        // AlertRepository.findUnconfirmedAlertsForExportAfter
+        queries.put("SELECT a.* FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.is_confirmed = 0 AND a.alert_time <= ? "
+                + "AND (a.alert_time < ? OR a.id < ?) ORDER BY a.alert_time DESC, a.id DESC LIMIT 1000",
+                new Object[]{userId, end, end, Integer.MAX_VALUE});
+        // AlertRepository.getAlertStatusSummary
+        queries.put("SELECT a.status, COUNT(*) FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? GROUP BY a.status", new Object[]{userId});
+        // AlertRepository.getAlertStatsByTimeRange
+        queries.put("SELECT a.is_confirmed, COUNT(*) FROM alert a JOIN component c ON a.component_id = c.id "
+                + "WHERE c.user_id = ? AND a.alert_time BETWEEN ? AND ? GROUP BY a.is_confirmed",
+                new Object[]{userId, start, end});
+        // AlertRepository.getDailyAlertStats
+        queries.put("SELECT DATE(a.alert_time), a.is_confirmed, COUNT(*) FROM alert a "
+                + "JOIN component c ON a.component_id = c.id WHERE c.user_id = ? "
+                + "AND a.alert_time BETWEEN ? AND ? GROUP BY DATE(a.alert_time), a.is_confirmed "
+                + "ORDER BY DATE(a.alert_time)", new Object[]{userId, start, end});
+        // ComponentRepository.findByUserId / countByUserId
+        queries.put("SELECT * FROM component WHERE user_id = ? LIMIT 10", new Object[]{userId});
+        // ComponentRepository.existsByIdAndUserId
+        queries.put("SELECT COUNT(*) > 0 FROM component WHERE id = ? AND user_id = ?",
+                new Object[]{componentId, userId});
+        // ComponentRepository.getComponentStatusSummary
+        queries.put("SELECT status, COUNT(*) FROM component WHERE user_id = ? GROUP BY status",
+                new Object[]{userId});
+        // ComponentRepository.findDefectiveComponents
+        queries.put("SELECT * FROM component WHERE user_id = ? AND status != 1", new Object[]{userId});
+        // ComponentRepository.getComponentHealthTrendWithDates
+        queries.put("SELECT day, health_sum / health_count FROM forecast_health_daily WHERE component_id = ? "
+                + "AND day > DATE_SUB(CURRENT_DATE(), INTERVAL 7 DAY) AND health_count > 0 ORDER BY day",
+                new Object[]{componentId});
+        // ComponentRepository.getComponentEnergyTrendWithDates
+        queries.put("SELECT DATE(bucket_start), wf_sum / wf_count FROM device_data_rollup WHERE component_id = ? "
+                + "AND granularity = 'DAY' AND bucket_start >= DATE_SUB(CURRENT_DATE(), INTERVAL 6 DAY) "
+                + "AND wf_count > 0 ORDER BY bucket_start", new Object[]{componentId});
+        // SimulationJobRepository.findByStatusInOrderByCreatedTimeAsc
+        queries.put("SELECT * FROM simulation_job WHERE status IN ('QUEUED', 'RUNNING') ORDER BY created_time",
+                new Object[0]);
+        // ExportJobRepository.findFirstByUserIdAndStatusOrderByCreatedTimeAsc
+        queries.put("SELECT * FROM export_job WHERE user_id = ? AND status = 'QUEUED' ORDER BY created_time LIMIT 1",
+                new Object[]{userId});
+        // ExportJobRepository.findByStatusAndExpiresTimeBefore
+        queries.put("SELECT * FROM export_job WHERE status = 'SUCCEEDED' AND expires_time < ?", new Object[]{end});
+        return queries;
+    }
+
+    private static Integer firstValue(String sql) {
+        List<Integer> values = jdbcTemplate.queryForList(sql, Integer.class);
+        // 没有组件时用不存在的ID，执行计划同样反映索引的使用
+        return values.isEmpty() ? 0 : values.get(0);
+    }
+
+    private static String name(String sql) {
+        return sql.length() > 60 ? sql.substring(0, 60) + "..." : sql;
+    }
+}